@@ -0,0 +1,72 @@
+package gruppe2.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gruppe2.backend.dto.OrderDashboardDTO;
+import gruppe2.backend.dto.OrderDetailsWithStatusDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.StatusDefinition;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the dashboard response with an object mapper configured like Spring Boot's.
+ * Every order has {@value #LINES_PER_ORDER} lines of {@value #STEPS} steps.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class DashboardSerializationBenchmark {
+    private static final int LINES_PER_ORDER = 3;
+    private static final int STEPS = 6;
+
+    @Param({"100", "10000", "100000"})
+    private int orders;
+
+    private ObjectWriter writer;
+    private List<OrderDashboardDTO> dashboard;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build()
+            .writerFor(List.class);
+
+        List<Long> steps = Fixtures.steps(STEPS);
+        StatusDefinition[] definitions = Fixtures.statusDefinitions(steps).values().toArray(StatusDefinition[]::new);
+        Item[] items = new Item[50];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = Fixtures.item(i);
+        }
+
+        dashboard = new ArrayList<>(orders);
+        long lineId = 1;
+        for (int order = 1; order <= orders; order++) {
+            OrderDashboardDTO dto = new OrderDashboardDTO((long) order, Fixtures.CREATED.plusMinutes(order),
+                order % 10 == 0, "Customer " + order, "Notes for order " + order);
+            List<OrderDetailsWithStatusDTO> lines = new ArrayList<>(LINES_PER_ORDER);
+            for (int line = 0; line < LINES_PER_ORDER; line++) {
+                int currentStepIndex = (order + line) % STEPS;
+                lines.add(new OrderDetailsWithStatusDTO(lineId++, (long) order, items[(order + line) % items.length],
+                    1 + line, "Product type", currentStepIndex, definitions, Fixtures.updates(steps, currentStepIndex)));
+            }
+            dto.setItems(lines);
+            dashboard.add(dto);
+        }
+    }
+
+    @Benchmark
+    public void writeDashboard() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), dashboard);
+    }
+}
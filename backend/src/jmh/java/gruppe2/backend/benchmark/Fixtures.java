@@ -0,0 +1,91 @@
+package gruppe2.backend.benchmark;
+
+import gruppe2.backend.domain.CustomerInfo;
+import gruppe2.backend.domain.Order;
+import gruppe2.backend.domain.OrderEstimation;
+import gruppe2.backend.domain.OrderId;
+import gruppe2.backend.domain.OrderItem;
+import gruppe2.backend.domain.OrderStatus;
+import gruppe2.backend.domain.OrderTimeline;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.StatusDefinition;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Builds domain objects shaped like the ones the services restore from the database.
+ * Step ids start at 1, item ids at 1000 and every item uses product type 1.
+ */
+final class Fixtures {
+    static final LocalDateTime CREATED = LocalDateTime.of(2024, 11, 1, 8, 0);
+
+    private Fixtures() {
+    }
+
+    static List<Long> steps(int count) {
+        return LongStream.rangeClosed(1, count).boxed().toList();
+    }
+
+    static Map<Long, StatusDefinition> statusDefinitions(List<Long> steps) {
+        Map<Long, StatusDefinition> definitions = new HashMap<>();
+        for (Long step : steps) {
+            definitions.put(step, new StatusDefinition(step, "Step " + step, "Description of step " + step, "step-" + step + ".png"));
+        }
+        return definitions;
+    }
+
+    /**
+     * @return Timestamps for every step up to and including the current one, a minute apart
+     */
+    static Map<Long, LocalDateTime> updates(List<Long> steps, int currentStepIndex) {
+        Map<Long, LocalDateTime> updates = new HashMap<>();
+        for (int i = 0; i <= currentStepIndex; i++) {
+            updates.put(steps.get(i), CREATED.plusMinutes(i));
+        }
+        return updates;
+    }
+
+    static OrderStatus status(List<Long> steps, int currentStepIndex) {
+        return new OrderStatus(steps, currentStepIndex, updates(steps, currentStepIndex));
+    }
+
+    static Item item(int index) {
+        return new Item(1000L + index, "Item " + index, 1L);
+    }
+
+    static Order order(int items, List<Long> steps) {
+        Set<OrderItem> orderItems = new HashSet<>();
+        Map<Long, Integer> quantities = new HashMap<>();
+        Map<Long, Integer> processingTimes = new HashMap<>();
+        OrderTimeline timeline = timeline(items, steps, 1);
+        for (int i = 0; i < items; i++) {
+            Item item = item(i);
+            orderItems.add(new OrderItem(item, 2, "Product type", status(steps, 1)));
+            quantities.put(item.getId(), 2);
+            processingTimes.put(item.getId(), 15 + i % 30);
+        }
+        return new Order.Builder()
+            .withId(new OrderId(1L))
+            .withCustomerInfo(new CustomerInfo("Customer", "Notes", false))
+            .withItems(orderItems)
+            .withTimeline(timeline)
+            .withEstimation(new OrderEstimation(quantities, processingTimes, false))
+            .restored()
+            .build();
+    }
+
+    static OrderTimeline timeline(int items, List<Long> steps, int currentStepIndex) {
+        OrderTimeline timeline = new OrderTimeline(CREATED, false);
+        for (int i = 0; i < items; i++) {
+            Long itemId = item(i).getId();
+            updates(steps, currentStepIndex).forEach((step, timestamp) -> timeline.recordItemStatus(itemId, step, timestamp));
+        }
+        return timeline;
+    }
+}
@@ -0,0 +1,60 @@
+package gruppe2.backend.benchmark;
+
+import gruppe2.backend.domain.Order;
+import gruppe2.backend.domain.OrderItem;
+import gruppe2.backend.domain.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The order aggregate as used per request: restored from its lines, one item looked up and moved.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderBenchmark {
+    private static final int STEPS = 6;
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private List<Long> steps;
+    private Order order;
+    private Long itemId;
+    private OrderStatus[] targets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        steps = Fixtures.steps(STEPS);
+        order = Fixtures.order(items, steps);
+        itemId = Fixtures.item(items - 1).getId();
+        // The item starts on step 1 and alternates between steps 2 and 1
+        targets = new OrderStatus[] {Fixtures.status(steps, 2), Fixtures.status(steps, 1)};
+    }
+
+    @Benchmark
+    public Order restore() {
+        return Fixtures.order(items, steps);
+    }
+
+    @Benchmark
+    public Optional<OrderItem> findItem() {
+        return order.findItem(itemId);
+    }
+
+    @Benchmark
+    public Order updateItemStatus() {
+        order.updateItemStatus(itemId, targets[next]);
+        next ^= 1;
+        // The services drain the events after every command
+        order.clearEvents();
+        return order;
+    }
+}
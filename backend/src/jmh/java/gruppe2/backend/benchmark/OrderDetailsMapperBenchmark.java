@@ -0,0 +1,63 @@
+package gruppe2.backend.benchmark;
+
+import gruppe2.backend.dto.OrderDetailsDTO;
+import gruppe2.backend.dto.OrderDetailsWithStatusDTO;
+import gruppe2.backend.mapper.OrderDetailsMapper;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.StatusDefinition;
+import gruppe2.backend.model.StepPlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping one order line to its dashboard DTO, from the entity and from the JDBC read model.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderDetailsMapperBenchmark {
+    @Param({"3", "10", "30"})
+    private int steps;
+
+    // The cache is only used for whole orders, not for single lines
+    private final OrderDetailsMapper mapper = new OrderDetailsMapper(null);
+    private Map<Long, StatusDefinition> statusDefinitions;
+    private OrderDetails entity;
+    private OrderDetailsDTO readModel;
+
+    @Setup
+    public void setUp() {
+        List<Long> stepIds = Fixtures.steps(steps);
+        int currentStepIndex = steps / 2;
+        statusDefinitions = Fixtures.statusDefinitions(stepIds);
+
+        entity = new OrderDetails();
+        entity.setId(1L);
+        entity.setOrderId(1L);
+        entity.setItem(Fixtures.item(0));
+        entity.setItemAmount(2);
+        entity.setProduct_type("Product type");
+        entity.setStepPlan(StepPlan.of(stepIds));
+        entity.setCurrentStepIndex(currentStepIndex);
+        entity.setUpdated(Fixtures.updates(stepIds, currentStepIndex));
+
+        readModel = new OrderDetailsDTO(1L, 1L, Fixtures.item(0), 2, "Product type", currentStepIndex,
+            stepIds, Fixtures.updates(stepIds, currentStepIndex));
+    }
+
+    @Benchmark
+    public OrderDetailsWithStatusDTO fromEntity() {
+        return mapper.toOrderDetailsDTO(entity, statusDefinitions);
+    }
+
+    @Benchmark
+    public OrderDetailsWithStatusDTO fromReadModel() {
+        return mapper.toOrderDetailsDTO(readModel, statusDefinitions);
+    }
+}
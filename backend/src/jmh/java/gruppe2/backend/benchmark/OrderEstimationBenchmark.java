@@ -0,0 +1,76 @@
+package gruppe2.backend.benchmark;
+
+import gruppe2.backend.domain.OrderEstimation;
+import gruppe2.backend.domain.OrderTimeline;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimation and timeline queries for an order whose items have all reached the middle step.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderEstimationBenchmark {
+    private static final int STEPS = 6;
+
+    @Param({"1", "10", "100"})
+    private int items;
+
+    private OrderEstimation estimation;
+    private OrderTimeline timeline;
+    private Long lastItemId;
+
+    @Setup
+    public void setUp() {
+        Map<Long, Integer> quantities = new HashMap<>();
+        Map<Long, Integer> processingTimes = new HashMap<>();
+        for (int i = 0; i < items; i++) {
+            quantities.put(Fixtures.item(i).getId(), 1 + i % 5);
+            processingTimes.put(Fixtures.item(i).getId(), 15 + i % 30);
+        }
+        estimation = new OrderEstimation(quantities, processingTimes, true);
+        List<Long> steps = Fixtures.steps(STEPS);
+        timeline = Fixtures.timeline(items, steps, STEPS / 2);
+        lastItemId = Fixtures.item(items - 1).getId();
+    }
+
+    @Benchmark
+    public int calculateTotalEstimatedTime() {
+        return estimation.calculateTotalEstimatedTime();
+    }
+
+    @Benchmark
+    public Map<Long, Boolean> getItemDelayStatus() {
+        return estimation.getItemDelayStatus(timeline);
+    }
+
+    @Benchmark
+    public LocalDateTime getItemDeadline() {
+        return estimation.getItemDeadline(lastItemId, timeline);
+    }
+
+    @Benchmark
+    public Duration timelineTotalDuration() {
+        return timeline.getTotalDuration();
+    }
+
+    @Benchmark
+    public LocalDateTime timelineLatestUpdate() {
+        return timeline.getLatestUpdate();
+    }
+
+    @Benchmark
+    public List<Map.Entry<Long, LocalDateTime>> timelineItemStatusesSorted() {
+        return timeline.getItemStatusesSorted(lastItemId);
+    }
+}
@@ -0,0 +1,68 @@
+package gruppe2.backend.benchmark;
+
+import gruppe2.backend.domain.OrderProgress;
+import gruppe2.backend.domain.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Step transitions the way the services make them: the line's status is restored, copied and moved.
+ * The getters copy their collections, so they are measured as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class OrderStatusBenchmark {
+    @Param({"3", "10", "30"})
+    private int steps;
+
+    private List<Long> stepIds;
+    private OrderStatus status;
+
+    @Setup
+    public void setUp() {
+        stepIds = Fixtures.steps(steps);
+        status = Fixtures.status(stepIds, 0);
+    }
+
+    @Benchmark
+    public OrderStatus nextStep() {
+        OrderStatus next = new OrderStatus(status.getSteps(), status.getCurrentStepIndex(), status.getStatusUpdates());
+        next.moveToNextStep();
+        return next;
+    }
+
+    @Benchmark
+    public OrderStatus jumpToLastStep() {
+        OrderStatus next = new OrderStatus(status.getSteps(), status.getCurrentStepIndex(), status.getStatusUpdates());
+        next.moveToStep(steps - 1);
+        return next;
+    }
+
+    @Benchmark
+    public OrderStatus restore() {
+        return new OrderStatus(stepIds, 0, status.getStatusUpdates());
+    }
+
+    @Benchmark
+    public Map<Long, LocalDateTime> getStatusUpdates() {
+        return status.getStatusUpdates();
+    }
+
+    @Benchmark
+    public Long[] getSteps() {
+        return status.getSteps();
+    }
+
+    @Benchmark
+    public OrderProgress toProgress() {
+        return status.toProgress();
+    }
+}
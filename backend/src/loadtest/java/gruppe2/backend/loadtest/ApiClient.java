@@ -0,0 +1,106 @@
+package gruppe2.backend.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Sends requests to the backend and records each of them under its endpoint template,
+ * for example {@code GET /api/orders/{orderId}}.
+ */
+final class ApiClient {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private final ObjectMapper json = new ObjectMapper();
+    private final URI base;
+    private final Results results;
+
+    ApiClient(URI base, Results results) {
+        this.base = base;
+        this.results = results;
+    }
+
+    Response get(String endpoint, String path, long dueNanos) {
+        return send(endpoint, request(path).GET().build(), dueNanos);
+    }
+
+    Response post(String endpoint, String path, Object body, long dueNanos) {
+        return send(endpoint, request(path)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(write(body)))
+            .build(), dueNanos);
+    }
+
+    Response put(String endpoint, String path, String idempotencyKey, long dueNanos) {
+        return send(endpoint, request(path)
+            .header("Idempotency-Key", idempotencyKey)
+            .PUT(HttpRequest.BodyPublishers.noBody())
+            .build(), dueNanos);
+    }
+
+    /**
+     * @param dueNanos When the request should have been sent; the latency is measured from then, so time
+     *                 spent waiting for a client is included
+     */
+    private Response send(String endpoint, HttpRequest request, long dueNanos) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            results.record(endpoint, System.nanoTime() - dueNanos, response.statusCode());
+            return new Response(response.statusCode(), response.body(), json);
+        } catch (IOException e) {
+            results.record(endpoint, System.nanoTime() - dueNanos, 0);
+            return new Response(0, "", json);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, "", json);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(base.resolve(path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private String write(Object body) {
+        try {
+            return json.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request body cannot be written as JSON", e);
+        }
+    }
+
+    record Response(int status, String body, ObjectMapper mapper) {
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return mapper.readTree(body);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * For the requests the run cannot continue without, such as seeding the catalog.
+         */
+        Response expectOk(String action) {
+            if (!ok()) {
+                throw new IllegalStateException(action + " failed with status " + status + ": " + body);
+            }
+            return this;
+        }
+    }
+}
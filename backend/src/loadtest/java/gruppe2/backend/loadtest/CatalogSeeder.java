@@ -0,0 +1,61 @@
+package gruppe2.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Creates status definitions, product types and items through the API, the way they are set up
+ * from the dashboard. Product types use 3 to 7 consecutive status definitions, like a production line.
+ */
+final class CatalogSeeder {
+    /** Items get WooCommerce product ids from here on */
+    static final long FIRST_ITEM_ID = 1_000_000L;
+
+    private static final String SEEDING = "seeding";
+
+    private final ApiClient api;
+    private final LoadTestSettings settings;
+
+    CatalogSeeder(ApiClient api, LoadTestSettings settings) {
+        this.api = api;
+        this.settings = settings;
+    }
+
+    /**
+     * @return The ids of the seeded items
+     */
+    List<Long> seed(Random random) {
+        List<Long> statusDefinitions = new ArrayList<>();
+        for (int i = 0; i < settings.statusDefinitions(); i++) {
+            statusDefinitions.add(api.post(SEEDING, "/api/create-status-definition",
+                    Map.of("name", "Step " + (i + 1), "description", "Load test step " + (i + 1), "image", "step.png"),
+                    System.nanoTime())
+                .expectOk("Creating a status definition")
+                .json().path("id").asLong());
+        }
+
+        List<Long> productTypes = new ArrayList<>();
+        for (int i = 0; i < settings.productTypes(); i++) {
+            int steps = Math.min(3 + random.nextInt(5), statusDefinitions.size());
+            int first = random.nextInt(statusDefinitions.size() - steps + 1);
+            productTypes.add(api.post(SEEDING, "/api/create-product-type",
+                    Map.of("name", "Product type " + (i + 1), "differentSteps", statusDefinitions.subList(first, first + steps)),
+                    System.nanoTime())
+                .expectOk("Creating a product type")
+                .json().path("id").asLong());
+        }
+
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < settings.items(); i++) {
+            long id = FIRST_ITEM_ID + i;
+            api.post(SEEDING, "/api/create-item",
+                    Map.of("id", id, "name", "Item " + (i + 1), "productTypeId", productTypes.get(i % productTypes.size()), "isDeleted", false),
+                    System.nanoTime())
+                .expectOk("Creating an item");
+            items.add(id);
+        }
+        return items;
+    }
+}
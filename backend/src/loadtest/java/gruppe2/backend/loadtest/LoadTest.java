@@ -0,0 +1,192 @@
+package gruppe2.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import gruppe2.backend.BackendApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays webhook bursts, floor step changes, dashboard polling and tracking page reads against the
+ * backend and reports throughput, latency percentiles and error rates per endpoint as JSON.
+ * <p>
+ * The backend is started in this JVM with its main configuration, against an in-memory H2 database in
+ * PostgreSQL mode or the PostgreSQL database given as {@code url}; with {@code target} a running backend
+ * is used instead. The options are described on {@link LoadTestSettings}.
+ */
+public final class LoadTest {
+    private static final String H2_URL = "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+    private static final Duration INBOX_TIMEOUT = Duration.ofMinutes(5);
+
+    private final LoadTestSettings settings;
+    private final Results results = new Results();
+    private final ApiClient api;
+    private final OrderLines lines = new OrderLines();
+    private volatile boolean running;
+
+    private LoadTest(LoadTestSettings settings, URI base) {
+        this.settings = settings;
+        this.api = new ApiClient(base, results);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        ConfigurableApplicationContext backend = settings.target().isEmpty() ? startBackend(settings) : null;
+        LoadTestReport report;
+        try {
+            URI base = backend != null
+                ? URI.create("http://localhost:" + ((WebServerApplicationContext) backend).getWebServer().getPort())
+                : URI.create(settings.target());
+            report = new LoadTest(settings, base).run();
+        } finally {
+            if (backend != null) {
+                SpringApplication.exit(backend);
+            }
+        }
+
+        if (settings.output().getParent() != null) {
+            Files.createDirectories(settings.output().getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(settings.output().toFile(), report);
+        print(report);
+        System.out.println("Results written to " + settings.output().toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext startBackend(LoadTestSettings settings) throws URISyntaxException {
+        // Devtools would restart the backend in its own class loader, through this main method
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> properties = new ArrayList<>(List.of(
+            // The test resources are on the class path too; the backend runs with its main configuration
+            "--spring.config.location=" + BackendApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI().resolve("application.properties"),
+            "--server.port=0"));
+        if (settings.url().isEmpty()) {
+            properties.addAll(List.of(
+                "--spring.datasource.url=" + H2_URL,
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                // As in the tests: the schema is created by Hibernate, the migrations are PostgreSQL-specific
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false"));
+        } else {
+            properties.addAll(List.of(
+                "--spring.datasource.url=" + settings.url(),
+                "--spring.datasource.username=" + settings.username(),
+                "--spring.datasource.password=" + settings.password()));
+        }
+        return new SpringApplication(BackendApplication.class).run(properties.toArray(String[]::new));
+    }
+
+    private LoadTestReport run() throws InterruptedException {
+        Random random = new Random(settings.seed());
+        List<Long> items = new CatalogSeeder(api, settings).seed(random);
+        Traffic traffic = new Traffic(api, lines, items, settings.webhookBurst());
+
+        for (int i = 0; i < settings.initialOrders(); i++) {
+            traffic.sendWebhook(random, System.nanoTime());
+        }
+        awaitEmptyInbox();
+        lines.update(api.get(Traffic.DASHBOARD, "/api/orders/dashboard", System.nanoTime())
+            .expectOk("Reading the dashboard").json());
+        if (lines.size() == 0) {
+            throw new IllegalStateException("The initial orders have no lines with more than one step");
+        }
+        System.out.printf("Seeded %d items and %d order lines; warming up for %s%n", items.size(), lines.size(), settings.warmup());
+
+        Instant startedAt = Instant.now();
+        running = true;
+        ExecutorService clients = Executors.newFixedThreadPool(settings.threads());
+        for (int client = 0; client < settings.threads(); client++) {
+            int index = client;
+            clients.execute(() -> client(traffic, index));
+        }
+        Thread.sleep(settings.warmup().toMillis());
+        results.start();
+        Thread.sleep(settings.duration().toMillis());
+        results.stop();
+        running = false;
+        clients.shutdown();
+        if (!clients.awaitTermination(1, TimeUnit.MINUTES)) {
+            clients.shutdownNow();
+        }
+
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        settings.mix().weights().forEach((operation, weight) -> mix.put(operation.key(), weight));
+        return new LoadTestReport(
+            startedAt.toString(),
+            settings.target().isEmpty() ? "in-process" : settings.target(),
+            settings.target().isEmpty() ? (settings.url().isEmpty() ? H2_URL : settings.url()) : "",
+            settings.threads(),
+            settings.rate(),
+            settings.warmup().toString(),
+            settings.duration().toString(),
+            mix,
+            settings.webhookBurst(),
+            results.totals(),
+            results.endpoints());
+    }
+
+    /**
+     * Sends operations until the run ends. With a rate, each client has its share of it and sends
+     * on a fixed schedule, whether or not the previous response was slow.
+     */
+    private void client(Traffic traffic, int index) {
+        Random random = new Random(settings.seed() + index + 1);
+        long interval = settings.rate() > 0 ? (long) (settings.threads() * 1e9 / settings.rate()) : 0;
+        long due = System.nanoTime() + interval * index / settings.threads();
+        while (running) {
+            if (interval > 0) {
+                LockSupport.parkNanos(due - System.nanoTime());
+            } else {
+                due = System.nanoTime();
+            }
+            try {
+                traffic.run(settings.mix().pick(random), random, due);
+            } catch (RuntimeException e) {
+                // A response the client could not read; the request itself is already recorded
+                System.err.println("Client " + index + ": " + e);
+            }
+            due += interval;
+        }
+    }
+
+    private void awaitEmptyInbox() throws InterruptedException {
+        long deadline = System.nanoTime() + INBOX_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            JsonNode stats = api.get("inbox", "/webhooks/inbox/stats", System.nanoTime())
+                .expectOk("Reading the webhook inbox").json();
+            if (stats.path("depth").asLong() == 0) {
+                return;
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("The webhook inbox was not empty after " + INBOX_TIMEOUT);
+    }
+
+    private static void print(LoadTestReport report) {
+        System.out.printf("%n%-46s %9s %10s %8s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        report.endpoints().forEach((endpoint, result) -> System.out.printf("%-46s %9d %10.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n",
+            endpoint, result.requests(), result.throughput(), result.errorRate() * 100,
+            result.latencyMs().p50(), result.latencyMs().p99(), result.latencyMs().p999(), result.latencyMs().max()));
+        System.out.printf("%-46s %9d %10.1f %7.2f%%%n%n", "total", report.totals().requests(),
+            report.totals().throughput(), report.totals().errorRate() * 100);
+    }
+}
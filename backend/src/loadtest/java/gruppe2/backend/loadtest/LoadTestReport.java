@@ -0,0 +1,39 @@
+package gruppe2.backend.loadtest;
+
+import java.util.Map;
+
+/**
+ * The machine-readable result of a run. Latencies are in milliseconds, throughput in requests per second.
+ */
+record LoadTestReport(
+    String startedAt,
+    String target,
+    String database,
+    int threads,
+    double rate,
+    String warmup,
+    String duration,
+    Map<String, Integer> mix,
+    int webhookBurst,
+    Totals totals,
+    Map<String, EndpointResult> endpoints
+) {
+    record Totals(long requests, long errors, double errorRate, double throughput) {
+    }
+
+    /**
+     * @param statuses Requests per response status; requests without a response are counted as "no response"
+     */
+    record EndpointResult(
+        long requests,
+        double throughput,
+        long errors,
+        double errorRate,
+        Map<String, Long> statuses,
+        Latency latencyMs
+    ) {
+    }
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+}
@@ -0,0 +1,88 @@
+package gruppe2.backend.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of a load test run, given as {@code name=value} arguments.
+ *
+ * @param target       Base URL of a running backend; when empty the backend is started in-process
+ * @param url          JDBC URL of the database for the in-process backend; when empty an in-memory H2
+ *                     database in PostgreSQL mode is used
+ * @param threads      Concurrent clients
+ * @param rate         Operations per second over all clients; 0 sends as fast as the clients can. With a
+ *                     rate, latencies are measured from when a request was due, so a backend that falls
+ *                     behind shows it in the percentiles
+ * @param warmup       Traffic that is sent but not recorded, before the measurement
+ * @param webhookBurst Webhooks per webhook operation
+ * @param initialOrders Orders created through webhooks before the warmup, so the floor has lines to move
+ */
+record LoadTestSettings(
+    String target,
+    String url,
+    String username,
+    String password,
+    int threads,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    Operation.Mix mix,
+    int webhookBurst,
+    int statusDefinitions,
+    int productTypes,
+    int items,
+    int initialOrders,
+    long seed,
+    Path output
+) {
+    private static final Set<String> NAMES = Set.of("target", "url", "username", "password", "threads", "rate",
+        "warmup", "duration", "mix", "webhook-burst", "status-definitions", "product-types", "items",
+        "initial-orders", "seed", "output");
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0 || !NAMES.contains(arg.substring(0, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg + ", expected name=value with a name out of " + NAMES);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestSettings settings = new LoadTestSettings(
+            options.getOrDefault("target", ""),
+            options.getOrDefault("url", ""),
+            options.getOrDefault("username", "postgres"),
+            options.getOrDefault("password", ""),
+            Integer.parseInt(options.getOrDefault("threads", "8")),
+            Double.parseDouble(options.getOrDefault("rate", "0")),
+            Duration.parse(options.getOrDefault("warmup", "PT15S")),
+            Duration.parse(options.getOrDefault("duration", "PT1M")),
+            options.containsKey("mix") ? Operation.Mix.parse(options.get("mix")) : Operation.Mix.defaults(),
+            Integer.parseInt(options.getOrDefault("webhook-burst", "10")),
+            Integer.parseInt(options.getOrDefault("status-definitions", "12")),
+            Integer.parseInt(options.getOrDefault("product-types", "8")),
+            Integer.parseInt(options.getOrDefault("items", "200")),
+            Integer.parseInt(options.getOrDefault("initial-orders", "200")),
+            Long.parseLong(options.getOrDefault("seed", "42")),
+            Path.of(options.getOrDefault("output", "loadtest-result.json"))
+        );
+        settings.validate();
+        return settings;
+    }
+
+    private void validate() {
+        if (threads <= 0 || rate < 0 || webhookBurst <= 0 || items <= 0 || productTypes <= 0 || initialOrders <= 0) {
+            throw new IllegalArgumentException("threads, webhook-burst, items, product-types and initial-orders must be positive, rate must not be negative");
+        }
+        if (statusDefinitions < 3) {
+            throw new IllegalArgumentException("At least 3 status definitions are needed for the product types");
+        }
+        if (duration.isNegative() || duration.isZero() || warmup.isNegative()) {
+            throw new IllegalArgumentException("duration must be positive and warmup must not be negative");
+        }
+    }
+}
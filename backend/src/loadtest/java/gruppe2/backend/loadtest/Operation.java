@@ -0,0 +1,90 @@
+package gruppe2.backend.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The kinds of traffic the load test replays, with their default share of the mix.
+ */
+enum Operation {
+    /** A burst of WooCommerce order webhooks */
+    WEBHOOK("webhook", 5),
+    /** A worker sets a line to any step, as from the dashboard's step picker */
+    UPDATE_STEP("update-step", 15),
+    NEXT_STEP("next-step", 15),
+    PREV_STEP("prev-step", 5),
+    /** The dashboard's poll: all orders and the statistics */
+    DASHBOARD("dashboard", 5),
+    DASHBOARD_PAGE("dashboard-page", 15),
+    /** A customer opening the tracking page of an order */
+    TRACKING("tracking", 40);
+
+    private final String key;
+    private final int defaultWeight;
+
+    Operation(String key, int defaultWeight) {
+        this.key = key;
+        this.defaultWeight = defaultWeight;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    /**
+     * Weighted choice between operations.
+     */
+    record Mix(Map<Operation, Integer> weights) {
+        Mix {
+            weights = new EnumMap<>(weights);
+            if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+                throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+            }
+        }
+
+        static Mix defaults() {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (Operation operation : values()) {
+                weights.put(operation, operation.defaultWeight);
+            }
+            return new Mix(weights);
+        }
+
+        /**
+         * @param mix For example {@code webhook:5,next-step:20,tracking:75}; operations not named are not sent
+         */
+        static Mix parse(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : mix.split(",")) {
+                String[] parts = entry.trim().split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Expected operation:weight, got " + entry);
+                }
+                weights.put(fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            }
+            return new Mix(weights);
+        }
+
+        Operation pick(Random random) {
+            int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+            int point = random.nextInt(total);
+            for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+                point -= entry.getValue();
+                if (point < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Weights changed while picking");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package gruppe2.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The order lines known to the clients, learned from the dashboard responses. Their current step is
+ * the clients' view; lines moved by other clients may be out of date, just as on a busy floor.
+ */
+final class OrderLines {
+    private final Map<Long, Line> lines = new ConcurrentHashMap<>();
+    private volatile Line[] snapshot = new Line[0];
+
+    /**
+     * @param orders Orders as returned by the dashboard, with their lines under {@code items}
+     */
+    void update(JsonNode orders) {
+        boolean added = false;
+        for (JsonNode order : orders) {
+            long orderId = order.path("orderId").asLong();
+            for (JsonNode line : order.path("items")) {
+                int steps = line.path("differentSteps").size();
+                int currentStepIndex = line.path("currentStepIndex").asInt();
+                Line known = lines.get(line.path("id").asLong());
+                if (known != null) {
+                    known.currentStepIndex = currentStepIndex;
+                } else if (steps > 1) {
+                    lines.put(line.path("id").asLong(), new Line(line.path("id").asLong(), orderId, steps, currentStepIndex));
+                    added = true;
+                }
+            }
+        }
+        if (added) {
+            synchronized (this) {
+                snapshot = lines.values().toArray(Line[]::new);
+            }
+        }
+    }
+
+    /**
+     * @return A random line, or null while none are known
+     */
+    Line random(Random random) {
+        Line[] current = snapshot;
+        return current.length == 0 ? null : current[random.nextInt(current.length)];
+    }
+
+    int size() {
+        return snapshot.length;
+    }
+
+    static final class Line {
+        final long id;
+        final long orderId;
+        final int steps;
+        volatile int currentStepIndex;
+
+        Line(long id, long orderId, int steps, int currentStepIndex) {
+            this.id = id;
+            this.orderId = orderId;
+            this.steps = steps;
+            this.currentStepIndex = currentStepIndex;
+        }
+
+        boolean isLastStep() {
+            return currentStepIndex >= steps - 1;
+        }
+    }
+}
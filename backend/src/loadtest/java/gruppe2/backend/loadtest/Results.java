@@ -0,0 +1,109 @@
+package gruppe2.backend.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies and response statuses per endpoint, recorded only between {@link #start()} and {@link #stop()}.
+ * Every latency is kept, so the percentiles are exact rather than taken from a histogram.
+ */
+final class Results {
+    private final Map<String, EndpointLog> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * @param status The HTTP status, or 0 when no response was received
+     */
+    void record(String endpoint, long latencyNanos, int status) {
+        if (recording) {
+            endpoints.computeIfAbsent(endpoint, name -> new EndpointLog()).record(latencyNanos, status);
+        }
+    }
+
+    LoadTestReport.Totals totals() {
+        double seconds = measuredSeconds();
+        long requests = 0;
+        long errors = 0;
+        for (EndpointLog log : endpoints.values()) {
+            synchronized (log) {
+                requests += log.count;
+                errors += log.errors;
+            }
+        }
+        return new LoadTestReport.Totals(requests, errors, rate(errors, requests), requests / seconds);
+    }
+
+    Map<String, LoadTestReport.EndpointResult> endpoints() {
+        double seconds = measuredSeconds();
+        Map<String, LoadTestReport.EndpointResult> results = new TreeMap<>();
+        endpoints.forEach((endpoint, log) -> results.put(endpoint, log.result(seconds)));
+        return results;
+    }
+
+    private double measuredSeconds() {
+        long end = recording ? System.nanoTime() : stopNanos;
+        return Math.max(end - startNanos, 1) / 1e9;
+    }
+
+    private static double rate(long part, long total) {
+        return total == 0 ? 0 : (double) part / total;
+    }
+
+    private static final class EndpointLog {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private final Map<String, Long> statuses = new TreeMap<>();
+
+        synchronized void record(long latencyNanos, int status) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (status == 0 || status >= 400) {
+                errors++;
+            }
+            statuses.merge(status == 0 ? "no response" : String.valueOf(status), 1L, Long::sum);
+        }
+
+        synchronized LoadTestReport.EndpointResult result(double seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            LoadTestReport.Latency latency = new LoadTestReport.Latency(
+                millis((long) Arrays.stream(sorted).average().orElse(0)),
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.90)),
+                millis(percentile(sorted, 0.99)),
+                millis(percentile(sorted, 0.999)),
+                millis(count == 0 ? 0 : sorted[count - 1]));
+            return new LoadTestReport.EndpointResult(count, count / seconds, errors, rate(errors, count),
+                new TreeMap<>(statuses), latency);
+        }
+
+        // Nearest rank: the smallest latency that at least the given share of requests did not exceed
+        private static long percentile(long[] sorted, double share) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.max((int) Math.ceil(share * sorted.length) - 1, 0)];
+        }
+
+        private static double millis(long nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package gruppe2.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The requests behind each {@link Operation}. Dashboard responses feed the known order lines,
+ * so lines of orders created by webhooks during the run are moved as well.
+ */
+final class Traffic {
+    static final String WEBHOOK = "POST /webhooks/wooOrder";
+    static final String UPDATE_STEP = "POST /api/update-step";
+    static final String NEXT_STEP = "PUT /api/order-product-types/{id}/next-step";
+    static final String PREV_STEP = "PUT /api/order-product-types/{id}/prev-step";
+    static final String DASHBOARD = "GET /api/orders/dashboard";
+    static final String STATISTICS = "GET /api/orders/statistics";
+    static final String DASHBOARD_PAGE = "GET /api/orders/dashboard/page";
+    static final String TRACKING = "GET /api/orders/{orderId}";
+
+    // Picking a line that can still move the wanted way gives up after this many tries
+    private static final int LINE_PICKS = 10;
+    private static final int DASHBOARD_PAGE_SIZE = 50;
+
+    private final ApiClient api;
+    private final OrderLines lines;
+    private final List<Long> items;
+    private final int webhookBurst;
+    // WooCommerce order ids; unique per run, so a database is not told a webhook was already processed
+    private final AtomicLong webhookIds = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    Traffic(ApiClient api, OrderLines lines, List<Long> items, int webhookBurst) {
+        this.api = api;
+        this.lines = lines;
+        this.items = items;
+        this.webhookBurst = webhookBurst;
+    }
+
+    void run(Operation operation, Random random, long dueNanos) {
+        switch (operation) {
+            case WEBHOOK -> {
+                sendWebhook(random, dueNanos);
+                for (int i = 1; i < webhookBurst; i++) {
+                    sendWebhook(random, System.nanoTime());
+                }
+            }
+            case UPDATE_STEP -> updateStep(random, dueNanos);
+            case NEXT_STEP -> moveStep(random, dueNanos, true);
+            case PREV_STEP -> moveStep(random, dueNanos, false);
+            case DASHBOARD -> {
+                ApiClient.Response dashboard = api.get(DASHBOARD, "/api/orders/dashboard", dueNanos);
+                if (dashboard.ok()) {
+                    lines.update(dashboard.json());
+                }
+                api.get(STATISTICS, "/api/orders/statistics", System.nanoTime());
+            }
+            case DASHBOARD_PAGE -> {
+                ApiClient.Response page = api.get(DASHBOARD_PAGE, "/api/orders/dashboard/page?limit=" + DASHBOARD_PAGE_SIZE, dueNanos);
+                if (page.ok()) {
+                    lines.update(page.json().path("orders"));
+                }
+            }
+            case TRACKING -> {
+                OrderLines.Line line = lines.random(random);
+                if (line != null) {
+                    api.get(TRACKING, "/api/orders/" + line.orderId, dueNanos);
+                }
+            }
+        }
+    }
+
+    /**
+     * An order of 1 to 4 different items, 1 to 3 of each; one in ten is from a company.
+     */
+    void sendWebhook(Random random, long dueNanos) {
+        List<Map<String, Object>> lineItems = new ArrayList<>();
+        int first = random.nextInt(items.size());
+        int count = 1 + random.nextInt(Math.min(4, items.size()));
+        for (int i = 0; i < count; i++) {
+            long item = items.get((first + i) % items.size());
+            lineItems.add(Map.of("name", "Item " + item, "product_id", item, "quantity", 1 + random.nextInt(3)));
+        }
+        long id = webhookIds.incrementAndGet();
+        Map<String, Object> billing = Map.of(
+            "first_name", "Customer",
+            "last_name", String.valueOf(id % 100_000),
+            "company", random.nextInt(10) == 0 ? "Company " + id % 100 : "");
+        api.post(WEBHOOK, "/webhooks/wooOrder", Map.of("id", id, "billing", billing, "line_items", lineItems), dueNanos);
+    }
+
+    private void updateStep(Random random, long dueNanos) {
+        OrderLines.Line line = lines.random(random);
+        if (line == null) {
+            return;
+        }
+        // Any other step than the current one
+        int newStepIndex = random.nextInt(line.steps - 1);
+        if (newStepIndex >= line.currentStepIndex) {
+            newStepIndex++;
+        }
+        ApiClient.Response response = api.post(UPDATE_STEP, "/api/update-step",
+            Map.of("orderDetailsId", line.id, "newStepIndex", newStepIndex), dueNanos);
+        if (response.ok()) {
+            line.currentStepIndex = newStepIndex;
+        }
+    }
+
+    private void moveStep(Random random, long dueNanos, boolean forward) {
+        OrderLines.Line line = null;
+        for (int pick = 0; pick < LINE_PICKS; pick++) {
+            line = lines.random(random);
+            if (line == null || (forward ? !line.isLastStep() : line.currentStepIndex > 0)) {
+                break;
+            }
+        }
+        if (line == null) {
+            return;
+        }
+        ApiClient.Response response = api.put(forward ? NEXT_STEP : PREV_STEP,
+            "/api/order-product-types/" + line.id + (forward ? "/next-step" : "/prev-step"),
+            UUID.randomUUID().toString(), dueNanos);
+        if (response.ok()) {
+            line.currentStepIndex = response.json().path("currentStep").asInt(line.currentStepIndex);
+        }
+    }
+}
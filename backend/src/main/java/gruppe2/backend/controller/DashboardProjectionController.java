@@ -0,0 +1,53 @@
+package gruppe2.backend.controller;
+
+import gruppe2.backend.dto.DashboardProjectionReportDTO;
+import gruppe2.backend.service.DashboardProjectionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/admin/dashboard-projection")
+public class DashboardProjectionController {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardProjectionController.class);
+    private final DashboardProjectionService dashboardProjectionService;
+
+    public DashboardProjectionController(DashboardProjectionService dashboardProjectionService) {
+        this.dashboardProjectionService = dashboardProjectionService;
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        try {
+            return ResponseEntity.ok(Map.of("projectedOrders", dashboardProjectionService.rebuild()));
+        } catch (RuntimeException e) {
+            logger.error("Failed to rebuild dashboard projection", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostMapping("/repair")
+    public ResponseEntity<Map<String, Integer>> repair() {
+        try {
+            return ResponseEntity.ok(Map.of("repairedOrders", dashboardProjectionService.repair()));
+        } catch (RuntimeException e) {
+            logger.error("Failed to repair dashboard projection", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/consistency")
+    public ResponseEntity<DashboardProjectionReportDTO> checkConsistency() {
+        try {
+            return ResponseEntity.ok(dashboardProjectionService.checkConsistency());
+        } catch (RuntimeException e) {
+            logger.error("Failed to check dashboard projection consistency", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package gruppe2.backend.controller;
+
+import gruppe2.backend.dto.ItemStatusEventDTO;
+import gruppe2.backend.service.ItemStatusEventLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/status-events")
+public class ItemStatusEventController {
+    private static final Logger logger = LoggerFactory.getLogger(ItemStatusEventController.class);
+    private static final int MAX_EVENTS = 1000;
+    private final ItemStatusEventLog itemStatusEventLog;
+
+    public ItemStatusEventController(ItemStatusEventLog itemStatusEventLog) {
+        this.itemStatusEventLog = itemStatusEventLog;
+    }
+
+    // Example: /api/status-events?from=2024-05-01T08:00:00&to=2024-05-01T12:00:00
+    @GetMapping
+    public ResponseEntity<List<ItemStatusEventDTO>> getEventsBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "" + MAX_EVENTS) int limit) {
+        if (limit <= 0 || limit > MAX_EVENTS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            return ResponseEntity.ok(itemStatusEventLog.findBetween(from, to, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Error fetching status events", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // Transitions into a step on one day, today unless a date is given
+    @GetMapping("/step/{statusDefinitionId}")
+    public ResponseEntity<List<ItemStatusEventDTO>> getTransitionsInto(
+            @PathVariable Long statusDefinitionId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "" + MAX_EVENTS) int limit) {
+        if (limit <= 0 || limit > MAX_EVENTS) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            LocalDate day = date != null ? date : LocalDate.now();
+            return ResponseEntity.ok(itemStatusEventLog.findTransitionsInto(statusDefinitionId, day, limit));
+        } catch (RuntimeException e) {
+            logger.error("Error fetching status events for step {}", statusDefinitionId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/order/{orderId}")
+    public ResponseEntity<List<ItemStatusEventDTO>> getOrderHistory(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.ok(itemStatusEventLog.findByOrder(orderId));
+        } catch (RuntimeException e) {
+            logger.error("Error fetching status events for order {}", orderId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
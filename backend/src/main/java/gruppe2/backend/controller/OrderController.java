@@ -6,6 +6,7 @@ import gruppe2.backend.model.*;
 import gruppe2.backend.repository.ItemProjection;
 import gruppe2.backend.repository.ProductTypeProjection;
 import gruppe2.backend.service.*;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,20 +19,33 @@ import org.slf4j.LoggerFactory;
 @RequestMapping("/api")
 public class OrderController {
     private static final Logger logger = LoggerFactory.getLogger(OrderController.class);
+    private static final int DEFAULT_DASHBOARD_PAGE_SIZE = 50;
+    private static final int MAX_DASHBOARD_PAGE_SIZE = 200;
+    private static final int MAX_BULK_STEP_UPDATES = 500;
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
     private final OrderService orderService;
     private final ItemService itemService;
     private final ProductTypeService productTypeService;
     private final OrderProgressService orderProgressService;
+    private final DashboardStatisticsService dashboardStatisticsService;
+    private final OrderDelayMonitor orderDelayMonitor;
+    private final ProcessingTimeEstimator processingTimeEstimator;
 
     public OrderController(
             OrderService orderService,
             ItemService itemService,
             ProductTypeService productTypeService,
-            OrderProgressService orderProgressService) {
+            OrderProgressService orderProgressService,
+            DashboardStatisticsService dashboardStatisticsService,
+            OrderDelayMonitor orderDelayMonitor,
+            ProcessingTimeEstimator processingTimeEstimator) {
         this.orderService = orderService;
         this.itemService = itemService;
         this.productTypeService = productTypeService;
         this.orderProgressService = orderProgressService;
+        this.dashboardStatisticsService = dashboardStatisticsService;
+        this.orderDelayMonitor = orderDelayMonitor;
+        this.processingTimeEstimator = processingTimeEstimator;
     }
 
     @PostMapping("/create-item")
@@ -111,28 +125,36 @@ public class OrderController {
     }
 
     @PutMapping("/order-product-types/{id}/next-step")
-    public ResponseEntity<OrderProgress> moveToNextStep(@PathVariable Long id) {
-        if (id == null) {
+    public ResponseEntity<OrderProgress> moveToNextStep(
+            @PathVariable Long id,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (id == null || !isValidIdempotencyKey(idempotencyKey)) {
             return ResponseEntity.badRequest().build();
         }
         try {
-            return ResponseEntity.ok(orderProgressService.moveToNextStep(id));
+            return ResponseEntity.ok(orderProgressService.moveToNextStep(id, idempotencyKey));
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
     @PutMapping("/order-product-types/{id}/prev-step")
-    public ResponseEntity<OrderProgress> moveToPrevStep(@PathVariable Long id) {
-        if (id == null) {
+    public ResponseEntity<OrderProgress> moveToPrevStep(
+            @PathVariable Long id,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (id == null || !isValidIdempotencyKey(idempotencyKey)) {
             return ResponseEntity.badRequest().build();
         }
         try {
-            return ResponseEntity.ok(orderProgressService.moveToPreviousStep(id));
+            return ResponseEntity.ok(orderProgressService.moveToPreviousStep(id, idempotencyKey));
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -151,6 +173,55 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/orders/dashboard/page")
+    public ResponseEntity<DashboardPageDTO> getDashboardPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_DASHBOARD_PAGE_SIZE) int limit,
+            @RequestParam(required = false) Boolean priority,
+            @RequestParam(required = false) String customerName,
+            @RequestParam(required = false) Long productTypeId,
+            @RequestParam(required = false) String status) {
+        if (limit <= 0 || limit > MAX_DASHBOARD_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            DashboardFilterDTO filter = new DashboardFilterDTO(
+                priority,
+                customerName,
+                productTypeId,
+                DashboardStatusFilter.from(status)
+            );
+            return ResponseEntity.ok(orderService.getDashboardPage(filter, DashboardCursor.decode(cursor), limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Error fetching dashboard page", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/orders/statistics")
+    public ResponseEntity<DashboardStatisticsDTO> getStatistics() {
+        try {
+            return ResponseEntity.ok(dashboardStatisticsService.getStatistics());
+        } catch (RuntimeException e) {
+            logger.error("Error computing dashboard statistics", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    // Kept up to date in the background; live alerts arrive as ITEM_DELAYED on /orders/stream
+    @GetMapping("/orders/delayed")
+    public ResponseEntity<List<DelayedOrderDTO>> getDelayedOrders() {
+        return ResponseEntity.ok(orderDelayMonitor.getDelayedOrders());
+    }
+
+    // Learned minutes per unit behind the estimated completion times
+    @GetMapping("/orders/estimates")
+    public ResponseEntity<ProcessingTimeEstimatesDTO> getProcessingTimeEstimates() {
+        return ResponseEntity.ok(processingTimeEstimator.getEstimates());
+    }
+
     @GetMapping("/get-all-items")
     public ResponseEntity<List<ItemProjection>> getAllItems() {
         try {
@@ -245,11 +316,29 @@ public class OrderController {
             return ResponseEntity.ok(orderProgressService.moveToStep(dto.getOrderDetailsId(), dto.getNewStepIndex()));
         } catch (IllegalStateException e) {
             return ResponseEntity.badRequest().build();
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @PostMapping("/update-steps")
+    public ResponseEntity<List<StepUpdateResultDTO>> moveToSteps(@RequestBody List<UpdateStepDTO> updates) {
+        if (updates == null || updates.isEmpty() || updates.size() > MAX_BULK_STEP_UPDATES) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            // Lines that fail are reported per line; the others are still saved
+            return ResponseEntity.ok(orderProgressService.moveToSteps(updates));
+        } catch (ConcurrencyFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            logger.error("Error applying bulk step update", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/get-all-status-definitions")
     public ResponseEntity<List<StatusDefinition>> getAllStatusDefinitions() {
         try {
@@ -260,4 +349,9 @@ public class OrderController {
         }
     }
 
+    // Clients send a fresh key (e.g. a UUID) per click and the same key when retrying it
+    private static boolean isValidIdempotencyKey(String idempotencyKey) {
+        return idempotencyKey == null
+            || (!idempotencyKey.isBlank() && idempotencyKey.length() <= MAX_IDEMPOTENCY_KEY_LENGTH);
+    }
 }
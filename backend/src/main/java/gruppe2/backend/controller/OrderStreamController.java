@@ -0,0 +1,22 @@
+package gruppe2.backend.controller;
+
+import gruppe2.backend.service.OrderStreamHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api")
+public class OrderStreamController {
+    private final OrderStreamHub orderStreamHub;
+
+    public OrderStreamController(OrderStreamHub orderStreamHub) {
+        this.orderStreamHub = orderStreamHub;
+    }
+
+    @GetMapping(value = "/orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@RequestParam(required = false) Long orderId) {
+        return orderStreamHub.subscribe(orderId);
+    }
+}
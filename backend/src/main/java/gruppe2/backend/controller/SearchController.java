@@ -0,0 +1,67 @@
+package gruppe2.backend.controller;
+
+import gruppe2.backend.dto.ItemSearchHitDTO;
+import gruppe2.backend.dto.OrderSearchHitDTO;
+import gruppe2.backend.dto.SearchMatchesDTO;
+import gruppe2.backend.dto.SearchPageDTO;
+import gruppe2.backend.service.SearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@CrossOrigin(origins = "http://localhost:5173")
+@RequestMapping("/api/search")
+public class SearchController {
+    private static final Logger logger = LoggerFactory.getLogger(SearchController.class);
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping("/orders")
+    public ResponseEntity<SearchPageDTO<OrderSearchHitDTO>> searchOrders(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(searchService.searchOrders(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Error searching orders", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/items")
+    public ResponseEntity<SearchPageDTO<ItemSearchHitDTO>> searchItems(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(searchService.searchItems(q, page, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Error searching items", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/matches")
+    public ResponseEntity<SearchMatchesDTO> findMatches(@RequestParam String q) {
+        try {
+            return ResponseEntity.ok(searchService.findMatches(q));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (RuntimeException e) {
+            logger.error("Error finding search matches", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+}
@@ -1,25 +1,32 @@
 package gruppe2.backend.controller;
 
+import gruppe2.backend.dto.WebhookInboxEntryDTO;
+import gruppe2.backend.dto.WebhookInboxStatsDTO;
 import gruppe2.backend.service.webhook.WebhookPayload;
+import gruppe2.backend.service.WebhookInboxService;
 import gruppe2.backend.service.WebhookService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/webhooks")
 public class WebhookController {
 
     private static final Logger log = LoggerFactory.getLogger(WebhookController.class);
+    private static final int MAX_DEAD_LETTERS = 500;
+    private final WebhookInboxService webhookInboxService;
     private final WebhookService webhookService;
 
     @Autowired
-    public WebhookController(WebhookService webhookService) {
+    public WebhookController(WebhookInboxService webhookInboxService, WebhookService webhookService) {
+        this.webhookInboxService = webhookInboxService;
         this.webhookService = webhookService;
     }
 
@@ -35,11 +42,62 @@ public class WebhookController {
                 return ResponseEntity.badRequest().body(null);
             }
 
-            webhookService.createOrderInDatabase(payload);
-            return ResponseEntity.ok(payload);
+            // Redeliveries of an applied payload are acknowledged without queueing them again
+            if (webhookService.isAlreadyProcessed(payload)) {
+                return ResponseEntity.ok(payload);
+            }
+
+            // Only persist the payload here; the inbox workers create the order
+            webhookInboxService.enqueue(payload);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(payload);
         } catch (Exception e) {
-            log.error("Error processing webhook payload: ", e);
+            log.error("Error queueing webhook payload: ", e);
             return ResponseEntity.status(500).body(null);
         }
     }
+
+    @GetMapping("/inbox/stats")
+    public ResponseEntity<WebhookInboxStatsDTO> getInboxStats() {
+        try {
+            return ResponseEntity.ok(webhookInboxService.getStats());
+        } catch (RuntimeException e) {
+            log.error("Error reading webhook inbox stats: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/inbox/dead")
+    public ResponseEntity<List<WebhookInboxEntryDTO>> getDeadLetters(
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_DEAD_LETTERS) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(webhookInboxService.findDeadLetters(limit));
+        } catch (RuntimeException e) {
+            log.error("Error reading webhook dead letters: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @PostMapping("/inbox/{id}/replay")
+    public ResponseEntity<WebhookInboxEntryDTO> replay(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(webhookInboxService.replay(id));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    @PostMapping("/inbox/dead/replay")
+    public ResponseEntity<Map<String, Integer>> replayDeadLetters() {
+        try {
+            return ResponseEntity.ok(Map.of("replayed", webhookInboxService.replayDeadLetters()));
+        } catch (RuntimeException e) {
+            log.error("Error replaying webhook dead letters: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
 }
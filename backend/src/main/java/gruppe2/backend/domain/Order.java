@@ -15,6 +15,11 @@ public class Order {
 
     public Order(OrderId id, CustomerInfo customerInfo, Set<OrderItem> items, 
                 OrderTimeline timeline, OrderEstimation estimation) {
+        this(id, customerInfo, items, timeline, estimation, true);
+    }
+
+    private Order(OrderId id, CustomerInfo customerInfo, Set<OrderItem> items,
+                OrderTimeline timeline, OrderEstimation estimation, boolean isNew) {
         this.id = id;
         this.customerInfo = customerInfo;
         this.items = new HashSet<>(items);
@@ -22,7 +27,9 @@ public class Order {
         this.estimation = estimation;
         this.events = new ArrayList<>();
         validateInvariants();
-        raiseEvent(new OrderCreatedEvent(id.getValue()));
+        if (isNew) {
+            raiseEvent(new OrderCreatedEvent(id.getValue()));
+        }
     }
 
     private void validateInvariants() {
@@ -48,6 +55,13 @@ public class Order {
         raiseEvent(new ItemAddedEvent(id.getValue(), item));
     }
 
+    public void removeItem(Long itemId) {
+        findItem(itemId).ifPresent(item -> {
+            items.remove(item);
+            raiseEvent(new ItemRemovedEvent(id.getValue(), itemId));
+        });
+    }
+
     public void updateItemStatus(Long itemId, OrderStatus newStatus) {
         findItem(itemId).ifPresent(item -> {
             OrderStatus oldStatus = item.getStatus();
@@ -56,7 +70,8 @@ public class Order {
                 OrderItem updatedItem = item.withStatus(newStatus);
                 items.add(updatedItem);
                 timeline.recordItemStatus(itemId, newStatus.getCurrentStepId(), LocalDateTime.now());
-                raiseEvent(new ItemStatusChangedEvent(id.getValue(), itemId, oldStatus, newStatus));
+                raiseEvent(new ItemStatusChangedEvent(id.getValue(), itemId, item.getItem().getProductTypeId(),
+                    item.getQuantity(), customerInfo.isPriority(), oldStatus, newStatus));
             } else {
                 throw new InvalidStatusTransitionException(itemId, oldStatus, newStatus);
             }
@@ -135,12 +150,17 @@ public class Order {
         return Collections.unmodifiableList(events);
     }
 
+    public void clearEvents() {
+        events.clear();
+    }
+
     public static class Builder {
         private OrderId id;
         private CustomerInfo customerInfo;
         private Set<OrderItem> items = new HashSet<>();
         private OrderTimeline timeline;
         private OrderEstimation estimation;
+        private boolean restored;
 
         public Builder withId(OrderId id) {
             this.id = id;
@@ -167,11 +187,19 @@ public class Order {
             return this;
         }
 
+        /**
+         * Marks the order as loaded from persistence, so no OrderCreatedEvent is raised.
+         */
+        public Builder restored() {
+            this.restored = true;
+            return this;
+        }
+
         public Order build() {
             if (id == null || customerInfo == null || timeline == null || estimation == null) {
                 throw new IllegalStateException("Cannot build Order: missing required fields");
             }
-            return new Order(id, customerInfo, items, timeline, estimation);
+            return new Order(id, customerInfo, items, timeline, estimation, !restored);
         }
     }
 }
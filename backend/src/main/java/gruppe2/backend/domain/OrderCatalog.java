@@ -0,0 +1,75 @@
+package gruppe2.backend.domain;
+
+import gruppe2.backend.dto.ProductTypeSnapshotDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.StepPlan;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The items of an order and their product types, resolved once before the order is built.
+ */
+public class OrderCatalog {
+    // Estimated minutes per step of a product type until durations have been learned
+    public static final int MINUTES_PER_STEP = 10;
+
+    private final Map<Long, Item> items;
+    private final Map<Long, ProductTypeSnapshotDTO> productTypes;
+    // Keyed by product type id
+    private final Map<Long, StepPlan> stepPlans;
+
+    public OrderCatalog(
+            Map<Long, Item> items,
+            Map<Long, ProductTypeSnapshotDTO> productTypes,
+            Map<Long, StepPlan> stepPlans) {
+        this.items = Map.copyOf(items);
+        this.productTypes = productTypes;
+        this.stepPlans = Map.copyOf(stepPlans);
+    }
+
+    /**
+     * @throws RuntimeException if the item does not exist or is deleted
+     */
+    public Item getItem(Long itemId) {
+        Item item = items.get(itemId);
+        if (item == null) {
+            throw new RuntimeException("Item not found: " + itemId);
+        }
+        if (item.isDeleted()) {
+            throw new RuntimeException("Item is deleted. Use another item ID: " + itemId);
+        }
+        return item;
+    }
+
+    public ProductTypeSnapshotDTO getProductType(Long itemId) {
+        Item item = getItem(itemId);
+        ProductTypeSnapshotDTO productType = productTypes.get(item.getProductTypeId());
+        if (productType == null) {
+            throw new RuntimeException("Product type not found: " + item.getProductTypeId());
+        }
+        return productType;
+    }
+
+    public StepPlan getStepPlan(Long itemId) {
+        ProductTypeSnapshotDTO productType = getProductType(itemId);
+        StepPlan stepPlan = stepPlans.get(productType.id());
+        if (stepPlan == null) {
+            throw new RuntimeException("No step plan for product type: " + productType.id());
+        }
+        return stepPlan;
+    }
+
+    /**
+     * @return The estimated minutes per unit of each item
+     */
+    public Map<Long, Integer> getProcessingTimes(Set<Long> itemIds, ProcessingTimeModel model) {
+        Map<Long, Integer> processingTimes = new HashMap<>();
+        itemIds.forEach(itemId -> {
+            ProductTypeSnapshotDTO productType = getProductType(itemId);
+            processingTimes.put(itemId, model.minutesPerUnit(productType.id(), productType.steps()));
+        });
+        return processingTimes;
+    }
+}
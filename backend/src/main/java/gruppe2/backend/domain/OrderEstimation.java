@@ -9,13 +9,23 @@ public class OrderEstimation {
     private final Map<Long, Integer> itemQuantities;
     private final Map<Long, Integer> itemProcessingTimes;
     private final boolean isPriority;
+    private final double priorityMultiplier;
     private static final int DEFAULT_PROCESSING_TIME = 10; // minutes per item
-    private static final double PRIORITY_MULTIPLIER = 0.75; // 25% faster for priority orders
+    public static final double DEFAULT_PRIORITY_MULTIPLIER = 0.75; // 25% faster for priority orders
 
     public OrderEstimation(Map<Long, Integer> itemQuantities, Map<Long, Integer> itemProcessingTimes, boolean isPriority) {
+        this(itemQuantities, itemProcessingTimes, isPriority, DEFAULT_PRIORITY_MULTIPLIER);
+    }
+
+    /**
+     * @param priorityMultiplier How long a priority order takes relative to a regular one
+     */
+    public OrderEstimation(Map<Long, Integer> itemQuantities, Map<Long, Integer> itemProcessingTimes,
+                           boolean isPriority, double priorityMultiplier) {
         this.itemQuantities = new HashMap<>(itemQuantities);
         this.itemProcessingTimes = new HashMap<>(itemProcessingTimes);
         this.isPriority = isPriority;
+        this.priorityMultiplier = priorityMultiplier;
     }
 
     public int calculateTotalEstimatedTime() {
@@ -27,7 +37,7 @@ public class OrderEstimation {
             .sum();
 
         return isPriority ? 
-            (int) (totalMinutes * PRIORITY_MULTIPLIER) : 
+            (int) (totalMinutes * priorityMultiplier) : 
             totalMinutes;
     }
 
@@ -37,19 +47,19 @@ public class OrderEstimation {
 
     public Map<Long, Duration> getItemEstimations() {
         Map<Long, Duration> estimations = new HashMap<>();
-        
-        itemQuantities.forEach((itemId, quantity) -> {
-            int processingTime = itemProcessingTimes.getOrDefault(itemId, DEFAULT_PROCESSING_TIME);
-            int totalTime = quantity * processingTime;
-            if (isPriority) {
-                totalTime = (int) (totalTime * PRIORITY_MULTIPLIER);
-            }
-            estimations.put(itemId, Duration.ofMinutes(totalTime));
-        });
-
+        itemQuantities.keySet().forEach(itemId -> estimations.put(itemId, getItemEstimation(itemId)));
         return estimations;
     }
 
+    private Duration getItemEstimation(Long itemId) {
+        int processingTime = itemProcessingTimes.getOrDefault(itemId, DEFAULT_PROCESSING_TIME);
+        int totalTime = itemQuantities.getOrDefault(itemId, 0) * processingTime;
+        if (isPriority) {
+            totalTime = (int) (totalTime * priorityMultiplier);
+        }
+        return Duration.ofMinutes(totalTime);
+    }
+
     public Duration getEstimatedDuration() {
         return Duration.ofMinutes(calculateTotalEstimatedTime());
     }
@@ -68,17 +78,20 @@ public class OrderEstimation {
 
     public Map<Long, Boolean> getItemDelayStatus(OrderTimeline timeline) {
         Map<Long, Boolean> delayStatus = new HashMap<>();
-        Map<Long, Duration> itemEstimations = getItemEstimations();
-        
-        itemEstimations.forEach((itemId, estimatedDuration) -> {
-            LocalDateTime startTime = timeline.getItemTimeline(itemId).values().stream()
-                .min(LocalDateTime::compareTo)
-                .orElse(timeline.getOrderCreated());
-                
-            LocalDateTime estimatedCompletion = startTime.plus(estimatedDuration);
-            delayStatus.put(itemId, LocalDateTime.now().isAfter(estimatedCompletion));
-        });
-
+        LocalDateTime now = LocalDateTime.now();
+        itemQuantities.keySet().forEach(itemId ->
+            delayStatus.put(itemId, now.isAfter(getItemDeadline(itemId, timeline))));
         return delayStatus;
     }
+
+    /**
+     * @return When the item should be done: its estimated duration after its earliest recorded
+     *         status, or after the order was created if it has none
+     */
+    public LocalDateTime getItemDeadline(Long itemId, OrderTimeline timeline) {
+        LocalDateTime startTime = timeline.getItemTimeline(itemId).values().stream()
+            .min(LocalDateTime::compareTo)
+            .orElse(timeline.getOrderCreated());
+        return startTime.plus(getItemEstimation(itemId));
+    }
 }
@@ -1,6 +1,7 @@
 package gruppe2.backend.domain;
 
 import gruppe2.backend.model.Item;
+import java.util.Arrays;
 import java.util.Objects;
 
 public class OrderItem {
@@ -43,11 +44,16 @@ public class OrderItem {
             return false;
         }
         
+        // The new status must belong to the same step sequence
+        if (!Arrays.equals(status.getSteps(), newStatus.getSteps())) {
+            return false;
+        }
+
         int currentIndex = status.getCurrentStepIndex();
         int newIndex = newStatus.getCurrentStepIndex();
-        
-        // Can only move one step at a time, forward or backward
-        return Math.abs(newIndex - currentIndex) == 1;
+
+        // Any other step may be targeted, forward or backward; OrderStatus stamps the steps in between
+        return newIndex != currentIndex && newStatus.canMoveToStep(newIndex);
     }
 
     public OrderItem withStatus(OrderStatus newStatus) {
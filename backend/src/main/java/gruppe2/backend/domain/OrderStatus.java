@@ -45,13 +45,26 @@ public class OrderStatus {
         recordCurrentStep();
     }
 
+    public boolean canMoveToStep(int newStepIndex) {
+        return newStepIndex >= 0 && newStepIndex < steps.length;
+    }
+
+    /**
+     * Jumps directly to the given step. Every step passed on the way is stamped with the
+     * same time, exactly as if the steps had been taken one at a time.
+     * @param newStepIndex Index of the target step
+     */
     public void moveToStep(int newStepIndex) {
-        //LAV ERROR HANDELING
-        //if (!canMoveToNextStep()) {
-        //    throw new IllegalStateException("Failed in trying to update the step");
-        //}
-        currentStepIndex = newStepIndex ;
-        recordCurrentStep();
+        if (!canMoveToStep(newStepIndex)) {
+            throw new IllegalStateException(
+                String.format("Cannot move to step %d: product type has %d steps", newStepIndex, steps.length));
+        }
+        int direction = Integer.signum(newStepIndex - currentStepIndex);
+        LocalDateTime now = LocalDateTime.now();
+        while (currentStepIndex != newStepIndex) {
+            currentStepIndex += direction;
+            statusUpdates.put(getCurrentStepId(), now);
+        }
     }
 
     public void moveToPreviousStep() {
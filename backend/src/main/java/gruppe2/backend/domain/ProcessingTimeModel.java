@@ -0,0 +1,33 @@
+package gruppe2.backend.domain;
+
+import java.util.List;
+
+/**
+ * Estimates how long items take to go through their steps.
+ */
+public interface ProcessingTimeModel {
+    /**
+     * Ten minutes per step and a quarter less for priority orders, used when nothing has been learned.
+     */
+    ProcessingTimeModel FIXED = new ProcessingTimeModel() {
+        @Override
+        public int minutesPerUnit(Long productTypeId, List<Long> steps) {
+            return steps.size() * OrderCatalog.MINUTES_PER_STEP;
+        }
+
+        @Override
+        public double priorityMultiplier() {
+            return OrderEstimation.DEFAULT_PRIORITY_MULTIPLIER;
+        }
+    };
+
+    /**
+     * @return Minutes one unit of an item of the product type takes through all of the steps
+     */
+    int minutesPerUnit(Long productTypeId, List<Long> steps);
+
+    /**
+     * @return How long a priority order takes relative to a regular one
+     */
+    double priorityMultiplier();
+}
@@ -4,7 +4,10 @@ import gruppe2.backend.dto.ProductTypeDTO;
 import gruppe2.backend.model.ProductType;
 import gruppe2.backend.repository.ProductTypeRepository;
 import gruppe2.backend.repository.StatusDefinitionRepository;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 public class CreateProductTypeCommand {
     private final ProductTypeDTO productTypeDTO;
@@ -34,13 +37,18 @@ public class CreateProductTypeCommand {
         if (stepIds == null || stepIds.isEmpty()) {
             throw new IllegalArgumentException("Product type must have at least one step");
         }
-        
+        if (stepIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Step ID cannot be null");
+        }
+
+        // One query for all steps instead of one per step
+        Set<Long> found = new HashSet<>();
+        statusDefinitionRepository.findAllById(new HashSet<>(stepIds))
+                .forEach(statusDefinition -> found.add(statusDefinition.getId()));
         for (Long stepId : stepIds) {
-            if (stepId == null) {
-                throw new IllegalArgumentException("Step ID cannot be null");
+            if (!found.contains(stepId)) {
+                throw new RuntimeException("Status definition not found: " + stepId);
             }
-            statusDefinitionRepository.findById(stepId)
-                    .orElseThrow(() -> new RuntimeException("Status definition not found: " + stepId));
         }
     }
 }
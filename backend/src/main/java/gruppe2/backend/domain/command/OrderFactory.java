@@ -15,9 +15,19 @@ public class OrderFactory {
             Map<Long, Integer> items,
             Map<Long, Integer> processingTimes,
             boolean priority) {
-        
+        return createOrder(id, customerInfo, items, processingTimes, priority, OrderEstimation.DEFAULT_PRIORITY_MULTIPLIER);
+    }
+
+    public static Order createOrder(
+            OrderId id,
+            CustomerInfo customerInfo,
+            Map<Long, Integer> items,
+            Map<Long, Integer> processingTimes,
+            boolean priority,
+            double priorityMultiplier) {
+
         OrderTimeline timeline = new OrderTimeline(LocalDateTime.now(), priority);
-        OrderEstimation estimation = new OrderEstimation(items, processingTimes, priority);
+        OrderEstimation estimation = new OrderEstimation(items, processingTimes, priority, priorityMultiplier);
 
         return new Order.Builder()
             .withId(id)
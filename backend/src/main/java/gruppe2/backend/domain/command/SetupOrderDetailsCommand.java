@@ -1,64 +1,67 @@
 package gruppe2.backend.domain.command;
 
-import gruppe2.backend.model.Item;
+import gruppe2.backend.domain.OrderCatalog;
+import gruppe2.backend.dto.ProductTypeSnapshotDTO;
 import gruppe2.backend.model.OrderDetails;
-import gruppe2.backend.model.ProductType;
-import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.model.StepPlan;
 import gruppe2.backend.repository.OrderProductTypeRepository;
-import gruppe2.backend.repository.ProductTypeRepository;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
+/**
+ * Creates the order lines for an order from an already resolved catalog and saves them
+ * together, so the number of round-trips does not grow with the number of lines.
+ */
 public class SetupOrderDetailsCommand {
     private final Long orderId;
     private final Map<Long, Integer> items;
-    private final ItemRepository itemRepository;
-    private final ProductTypeRepository productTypeRepository;
+    private final OrderCatalog catalog;
     private final OrderProductTypeRepository orderProductTypeRepository;
 
     public SetupOrderDetailsCommand(
             Long orderId,
             Map<Long, Integer> items,
-            ItemRepository itemRepository,
-            ProductTypeRepository productTypeRepository,
+            OrderCatalog catalog,
             OrderProductTypeRepository orderProductTypeRepository) {
         this.orderId = orderId;
         this.items = items;
-        this.itemRepository = itemRepository;
-        this.productTypeRepository = productTypeRepository;
+        this.catalog = catalog;
         this.orderProductTypeRepository = orderProductTypeRepository;
     }
 
-    public void execute() {
-        items.forEach((itemId, quantity) -> {
-            Item item = itemRepository.findById(itemId)
-                    .orElseThrow(() -> new RuntimeException("Item not found: " + itemId));
+    /**
+     * @return The created lines
+     */
+    public List<OrderDetails> execute() {
+        if (items.isEmpty()) {
+            return List.of();
+        }
 
-            ProductType productType = productTypeRepository.findById(item.getProductTypeId())
-                    .orElseThrow(() -> new RuntimeException("Product type not found: " + item.getProductTypeId()));
+        // All lines of one order start at the same moment
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderDetails> lines = new ArrayList<>(items.size());
+        items.forEach((itemId, quantity) -> {
+            ProductTypeSnapshotDTO productType = catalog.getProductType(itemId);
 
             // Create OrderDetails with initial status
             OrderDetails orderDetails = new OrderDetails();
             orderDetails.setOrderId(orderId);
-            orderDetails.setItem(item);
-            orderDetails.setProduct_type(productType.getName());
+            orderDetails.setItem(catalog.getItem(itemId));
+            orderDetails.setProduct_type(productType.name());
             orderDetails.setItemAmount(quantity);
 
-            // Set up steps
-            List<Long> steps = productType.getDifferentSteps();
-            orderDetails.setDifferentSteps(steps);
+            // Set up steps from the shared plan
+            StepPlan stepPlan = catalog.getStepPlan(itemId);
+            orderDetails.setStepPlan(stepPlan);
             orderDetails.setCurrentStepIndex(0);
 
             // Initialize status updates
-            Map<Long, LocalDateTime> statusUpdates = new HashMap<>();
-            statusUpdates.put(steps.get(0), LocalDateTime.now());
-            orderDetails.setUpdated(statusUpdates);
+            orderDetails.setUpdated(Map.of(stepPlan.getStep(0), now));
 
-            orderProductTypeRepository.save(orderDetails);
+            lines.add(orderDetails);
         });
+
+        return orderProductTypeRepository.saveAll(lines);
     }
 }
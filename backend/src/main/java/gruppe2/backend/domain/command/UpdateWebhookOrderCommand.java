@@ -0,0 +1,109 @@
+package gruppe2.backend.domain.command;
+
+import gruppe2.backend.domain.*;
+import gruppe2.backend.domain.exception.WebhookProcessingException;
+import gruppe2.backend.mapper.WebhookMapper;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.repository.OrderRepository;
+import gruppe2.backend.service.webhook.WebhookPayload;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a changed WooCommerce payload to an order that already exists.
+ * Lines keep their progress; only quantities change, new products get a fresh line
+ * and products no longer in the payload are removed. The estimated time is recalculated
+ * for the new contents.
+ */
+public class UpdateWebhookOrderCommand {
+    private final WebhookPayload payload;
+    private final OrderCatalog catalog;
+    private final ProcessingTimeModel processingTimeModel;
+    private final OrderRepository orderRepository;
+    private final OrderProductTypeRepository orderProductTypeRepository;
+    private final WebhookMapper webhookMapper;
+
+    public UpdateWebhookOrderCommand(
+            WebhookPayload payload,
+            OrderCatalog catalog,
+            ProcessingTimeModel processingTimeModel,
+            OrderRepository orderRepository,
+            OrderProductTypeRepository orderProductTypeRepository,
+            WebhookMapper webhookMapper) {
+        this.payload = payload;
+        this.catalog = catalog;
+        this.processingTimeModel = processingTimeModel;
+        this.orderRepository = orderRepository;
+        this.orderProductTypeRepository = orderProductTypeRepository;
+        this.webhookMapper = webhookMapper;
+    }
+
+    /**
+     * @return The updated order, with an event for every added and removed line
+     */
+    public Order execute() {
+        try {
+            gruppe2.backend.model.Order order = orderRepository.findById(payload.getId())
+                    .orElseThrow(() -> new RuntimeException("Order not found: " + payload.getId()));
+            order.setCustomerName(webhookMapper.toCustomerInfo(payload).getName());
+
+            Map<Long, Integer> quantities = webhookMapper.toItemQuantities(payload);
+            OrderEstimation estimation = new OrderEstimation(
+                quantities,
+                catalog.getProcessingTimes(quantities.keySet(), processingTimeModel),
+                order.isPriority(),
+                processingTimeModel.priorityMultiplier()
+            );
+            order.setTotalEstimatedTime(estimation.calculateTotalEstimatedTime());
+
+            List<OrderDetails> existing = orderProductTypeRepository.findAllForUpdateByOrderId(order.getId());
+            Order domainOrder = new Order.Builder()
+                .withId(new OrderId(order.getId()))
+                .withCustomerInfo(new CustomerInfo(order.getCustomerName(), order.getNotes(), order.isPriority()))
+                .withItems(existing.stream().map(UpdateWebhookOrderCommand::toOrderItem).collect(Collectors.toSet()))
+                .withTimeline(new OrderTimeline(order.getOrderCreated(), order.isPriority()))
+                .withEstimation(estimation)
+                .restored()
+                .build();
+
+            // What is left after matching the existing lines are the new products
+            Map<Long, Integer> items = new HashMap<>(quantities);
+            for (OrderDetails line : existing) {
+                Integer quantity = items.remove(line.getItem().getId());
+                if (quantity == null) {
+                    orderProductTypeRepository.delete(line);
+                    domainOrder.removeItem(line.getItem().getId());
+                } else if (!quantity.equals(line.getItemAmount())) {
+                    line.setItemAmount(quantity);
+                }
+            }
+
+            new SetupOrderDetailsCommand(
+                order.getId(),
+                items,
+                catalog,
+                orderProductTypeRepository
+            ).execute().forEach(line -> domainOrder.addItem(toOrderItem(line)));
+            return domainOrder;
+        } catch (Exception e) {
+            throw new WebhookProcessingException(
+                payload.getId(),
+                "Failed to update order from webhook payload",
+                e
+            );
+        }
+    }
+
+    private static OrderItem toOrderItem(OrderDetails details) {
+        return new OrderItem(
+            details.getItem(),
+            details.getItemAmount(),
+            details.getProduct_type(),
+            new OrderStatus(details.getDifferentSteps(), details.getCurrentStepIndex(), details.getUpdated())
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package gruppe2.backend.domain.event;
+
+public class ItemRemovedEvent extends OrderEvent {
+    private final Long itemId;
+
+    public ItemRemovedEvent(Long orderId, Long itemId) {
+        super(orderId);
+        this.itemId = itemId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    @Override
+    public String getEventType() {
+        return "ITEM_REMOVED";
+    }
+}
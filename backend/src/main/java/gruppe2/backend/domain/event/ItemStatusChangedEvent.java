@@ -4,12 +4,19 @@ import gruppe2.backend.domain.OrderStatus;
 
 public class ItemStatusChangedEvent extends OrderEvent {
     private final Long itemId;
+    private final Long productTypeId;
+    private final int quantity;
+    private final boolean priority;
     private final OrderStatus oldStatus;
     private final OrderStatus newStatus;
 
-    public ItemStatusChangedEvent(Long orderId, Long itemId, OrderStatus oldStatus, OrderStatus newStatus) {
+    public ItemStatusChangedEvent(Long orderId, Long itemId, Long productTypeId, int quantity, boolean priority,
+                                  OrderStatus oldStatus, OrderStatus newStatus) {
         super(orderId);
         this.itemId = itemId;
+        this.productTypeId = productTypeId;
+        this.quantity = quantity;
+        this.priority = priority;
         this.oldStatus = oldStatus;
         this.newStatus = newStatus;
     }
@@ -18,6 +25,18 @@ public class ItemStatusChangedEvent extends OrderEvent {
         return itemId;
     }
 
+    public Long getProductTypeId() {
+        return productTypeId;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public boolean isPriority() {
+        return priority;
+    }
+
     public OrderStatus getOldStatus() {
         return oldStatus;
     }
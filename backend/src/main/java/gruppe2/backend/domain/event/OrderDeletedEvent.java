@@ -0,0 +1,12 @@
+package gruppe2.backend.domain.event;
+
+public class OrderDeletedEvent extends OrderEvent {
+    public OrderDeletedEvent(Long orderId) {
+        super(orderId);
+    }
+
+    @Override
+    public String getEventType() {
+        return "ORDER_DELETED";
+    }
+}
@@ -0,0 +1,15 @@
+package gruppe2.backend.domain.event;
+
+/**
+ * The order was changed as a whole, e.g. by a changed WooCommerce payload.
+ */
+public class OrderUpdatedEvent extends OrderEvent {
+    public OrderUpdatedEvent(Long orderId) {
+        super(orderId);
+    }
+
+    @Override
+    public String getEventType() {
+        return "ORDER_UPDATED";
+    }
+}
@@ -0,0 +1,25 @@
+package gruppe2.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An order line that has not reached its final step, with what is needed to estimate its deadline.
+ */
+public record ActiveOrderLineDTO(
+        Long id,
+        Long orderId,
+        Long itemId,
+        Long productTypeId,
+        int itemAmount,
+        boolean priority,
+        LocalDateTime orderCreated,
+        int currentStepIndex,
+        List<Long> steps,
+        Map<Long, LocalDateTime> updated
+) {
+    public Long getCurrentStepId() {
+        return steps.get(currentStepIndex);
+    }
+}
@@ -0,0 +1,39 @@
+package gruppe2.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the dashboard ordering (orderCreated ASC with nulls last, id ASC).
+ * Encoded as an opaque URL-safe token so clients never build cursors themselves.
+ */
+public record DashboardCursor(LocalDateTime orderCreated, Long orderId) {
+
+    public static DashboardCursor after(OrderDashboardDTO order) {
+        return new DashboardCursor(order.getOrderCreated(), order.getOrderId());
+    }
+
+    public String encode() {
+        // An order without a creation time is encoded with an empty one
+        String raw = (orderCreated != null ? orderCreated.toString() : "") + "|" + orderId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DashboardCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            String created = raw.substring(0, separator);
+            return new DashboardCursor(
+                created.isEmpty() ? null : LocalDateTime.parse(created),
+                Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid dashboard cursor: " + token);
+        }
+    }
+}
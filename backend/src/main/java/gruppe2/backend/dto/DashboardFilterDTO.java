@@ -0,0 +1,14 @@
+package gruppe2.backend.dto;
+
+public record DashboardFilterDTO(
+    Boolean priority,
+    String customerName,
+    Long productTypeId,
+    DashboardStatusFilter status
+) {
+    public DashboardFilterDTO {
+        // Ensure blank search terms and a missing status don't turn into filters
+        customerName = customerName != null && !customerName.isBlank() ? customerName.trim() : null;
+        status = status != null ? status : DashboardStatusFilter.ALL;
+    }
+}
@@ -0,0 +1,16 @@
+package gruppe2.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DashboardPageDTO(
+    List<OrderDashboardDTO> orders,
+    String nextCursor,
+    boolean hasMore
+) {
+    public DashboardPageDTO {
+        orders = orders != null ? List.copyOf(orders) : List.of();
+    }
+}
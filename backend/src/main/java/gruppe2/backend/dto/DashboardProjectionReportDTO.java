@@ -0,0 +1,20 @@
+package gruppe2.backend.dto;
+
+import java.util.List;
+
+public record DashboardProjectionReportDTO(
+    long checkedOrders,
+    List<Long> missingOrderIds,     // orders without a projection row
+    List<Long> staleOrderIds,       // rows whose content differs from the normalized tables
+    List<Long> orphanedOrderIds     // rows for orders that no longer exist
+) {
+    public DashboardProjectionReportDTO {
+        missingOrderIds = List.copyOf(missingOrderIds);
+        staleOrderIds = List.copyOf(staleOrderIds);
+        orphanedOrderIds = List.copyOf(orphanedOrderIds);
+    }
+
+    public boolean isConsistent() {
+        return missingOrderIds.isEmpty() && staleOrderIds.isEmpty() && orphanedOrderIds.isEmpty();
+    }
+}
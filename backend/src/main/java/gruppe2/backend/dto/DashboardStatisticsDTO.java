@@ -0,0 +1,18 @@
+package gruppe2.backend.dto;
+
+import java.util.List;
+
+// Field names match the props of the frontend StatisticsGrid component
+public record DashboardStatisticsDTO(
+    long totalOrders,
+    long activeOrders,
+    long completedOrders,
+    long priorityOrders,
+    long ordersCompletedToday,
+    double averageProcessingTime,   // days from order creation to the last line reaching its final step
+    List<ProductTypeCountDTO> productTypeStats
+) {
+    public DashboardStatisticsDTO {
+        productTypeStats = productTypeStats != null ? List.copyOf(productTypeStats) : List.of();
+    }
+}
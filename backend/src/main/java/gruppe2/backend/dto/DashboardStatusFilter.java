@@ -0,0 +1,22 @@
+package gruppe2.backend.dto;
+
+/**
+ * Completion filter for the dashboard, mirroring the "Aktive / Afsluttede / Alle" toggle in the frontend.
+ * An order is completed when every order line has reached its final step.
+ */
+public enum DashboardStatusFilter {
+    ALL,
+    ACTIVE,
+    COMPLETED;
+
+    public static DashboardStatusFilter from(String value) {
+        if (value == null || value.isBlank()) {
+            return ALL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status filter: " + value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package gruppe2.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * An order with at least one line past its estimated completion.
+ */
+public record DelayedOrderDTO(
+        Long orderId,
+        LocalDateTime earliestDeadline,
+        List<DelayedOrderLineDTO> lines
+) {}
@@ -0,0 +1,12 @@
+package gruppe2.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record DelayedOrderLineDTO(
+        Long orderDetailsId,
+        Long itemId,
+        int currentStepIndex,
+        int totalSteps,
+        Long currentStepId,
+        LocalDateTime deadline
+) {}
@@ -0,0 +1,8 @@
+package gruppe2.backend.dto;
+
+public record ItemSearchHitDTO(
+        Long id,
+        String name,
+        Long productTypeId,
+        String image
+) {}
@@ -0,0 +1,27 @@
+package gruppe2.backend.dto;
+
+import gruppe2.backend.model.ItemStatusEvent;
+
+import java.time.LocalDateTime;
+
+public record ItemStatusEventDTO(
+        Long id,
+        Long orderId,
+        Long itemId,
+        Long statusDefinitionId,
+        int stepIndex,
+        Long previousStatusDefinitionId,
+        LocalDateTime occurredAt
+) {
+    public static ItemStatusEventDTO from(ItemStatusEvent event) {
+        return new ItemStatusEventDTO(
+            event.getId(),
+            event.getOrderId(),
+            event.getItemId(),
+            event.getStatusDefinitionId(),
+            event.getStepIndex(),
+            event.getPreviousStatusDefinitionId(),
+            event.getOccurredAt()
+        );
+    }
+}
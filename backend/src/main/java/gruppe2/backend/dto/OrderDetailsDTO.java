@@ -1,7 +1,6 @@
 package gruppe2.backend.dto;
 
 import gruppe2.backend.model.Item;
-import gruppe2.backend.model.StatusDefinition;
 import java.time.LocalDateTime;
 import java.util.Map;
 import java.util.List;
@@ -13,6 +12,7 @@ public record OrderDetailsDTO(
     Long orderId,
     Item item,
     Integer itemAmount,
+    String productType,
     Integer currentStepIndex,
     List<Long> differentSteps,
     Map<Long, LocalDateTime> updated
@@ -0,0 +1,11 @@
+package gruppe2.backend.dto;
+
+import java.time.LocalDateTime;
+
+public record OrderSearchHitDTO(
+        Long orderId,
+        String customerName,
+        String notes,
+        boolean priority,
+        LocalDateTime orderCreated
+) {}
@@ -0,0 +1,59 @@
+package gruppe2.backend.dto;
+
+import gruppe2.backend.domain.OrderStatus;
+import gruppe2.backend.domain.event.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Delta pushed to stream subscribers. Only the fields relevant for the event type are set.
+ */
+public record OrderStreamEventDTO(
+        String type,
+        Long orderId,
+        Long itemId,
+        Integer currentStepIndex,
+        Integer totalSteps,
+        Long currentStepId,
+        Map<Long, LocalDateTime> updated,
+        Long oldProductTypeId,
+        Long newProductTypeId,
+        LocalDateTime timestamp
+) {
+    public static OrderStreamEventDTO from(OrderEvent event) {
+        if (event instanceof ItemStatusChangedEvent statusChanged) {
+            OrderStatus status = statusChanged.getNewStatus();
+            return new OrderStreamEventDTO(event.getEventType(), event.getOrderId(), statusChanged.getItemId(),
+                status.getCurrentStepIndex(), status.getSteps().length, status.getCurrentStepId(),
+                status.getStatusUpdates(), null, null, event.getTimestamp());
+        }
+        if (event instanceof ItemAddedEvent itemAdded) {
+            OrderStatus status = itemAdded.getItem().getStatus();
+            return new OrderStreamEventDTO(event.getEventType(), event.getOrderId(), itemAdded.getItem().getItem().getId(),
+                status.getCurrentStepIndex(), status.getSteps().length,
+                status.getSteps().length > 0 ? status.getCurrentStepId() : null,
+                status.getStatusUpdates(), null, itemAdded.getItem().getItem().getProductTypeId(), event.getTimestamp());
+        }
+        if (event instanceof ProductTypeChangedEvent productTypeChanged) {
+            return new OrderStreamEventDTO(event.getEventType(), event.getOrderId(), productTypeChanged.getItemId(),
+                null, null, null, null,
+                productTypeChanged.getOldProductTypeId(), productTypeChanged.getNewProductTypeId(), event.getTimestamp());
+        }
+        if (event instanceof ItemRemovedEvent itemRemoved) {
+            return new OrderStreamEventDTO(event.getEventType(), event.getOrderId(), itemRemoved.getItemId(),
+                null, null, null, null, null, null, event.getTimestamp());
+        }
+        return new OrderStreamEventDTO(event.getEventType(), event.getOrderId(), null,
+            null, null, null, null, null, null, event.getTimestamp());
+    }
+
+    /**
+     * An order line passed its estimated completion. The timestamp is the deadline it missed.
+     */
+    public static OrderStreamEventDTO delayed(Long orderId, DelayedOrderLineDTO line) {
+        return new OrderStreamEventDTO("ITEM_DELAYED", orderId, line.itemId(),
+            line.currentStepIndex(), line.totalSteps(), line.currentStepId(),
+            null, null, null, line.deadline());
+    }
+}
@@ -0,0 +1,12 @@
+package gruppe2.backend.dto;
+
+/**
+ * Learned minutes per unit for a step (status definition) or for a whole product type.
+ */
+public record ProcessingTimeEstimateDTO(
+        Long id,
+        long samples,
+        double averageMinutes,
+        double medianMinutes,
+        double p90Minutes
+) {}
@@ -0,0 +1,9 @@
+package gruppe2.backend.dto;
+
+import java.util.List;
+
+public record ProcessingTimeEstimatesDTO(
+        List<ProcessingTimeEstimateDTO> steps,
+        List<ProcessingTimeEstimateDTO> productTypes,
+        double priorityMultiplier
+) {}
@@ -0,0 +1,6 @@
+package gruppe2.backend.dto;
+
+public record ProductTypeCountDTO(
+    String type,
+    long count
+) {}
@@ -0,0 +1,16 @@
+package gruppe2.backend.dto;
+
+import java.util.List;
+
+/**
+ * Immutable copy of a product type and its step ids, safe to share from a cache.
+ */
+public record ProductTypeSnapshotDTO(
+    Long id,
+    String name,
+    List<Long> steps
+) {
+    public ProductTypeSnapshotDTO {
+        steps = List.copyOf(steps);
+    }
+}
@@ -0,0 +1,16 @@
+package gruppe2.backend.dto;
+
+import java.util.List;
+
+/**
+ * The ids of every order and item that matches a search, for filtering lists that are already loaded.
+ */
+public record SearchMatchesDTO(
+    List<Long> orderIds,
+    List<Long> itemIds
+) {
+    public SearchMatchesDTO {
+        orderIds = orderIds != null ? List.copyOf(orderIds) : List.of();
+        itemIds = itemIds != null ? List.copyOf(itemIds) : List.of();
+    }
+}
@@ -0,0 +1,17 @@
+package gruppe2.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first.
+ */
+public record SearchPageDTO<T>(
+    List<T> results,
+    int page,
+    int size,
+    boolean hasMore
+) {
+    public SearchPageDTO {
+        results = results != null ? List.copyOf(results) : List.of();
+    }
+}
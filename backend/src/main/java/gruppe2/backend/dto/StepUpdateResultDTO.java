@@ -0,0 +1,18 @@
+package gruppe2.backend.dto;
+
+import gruppe2.backend.domain.OrderProgress;
+
+public record StepUpdateResultDTO(
+        Long orderDetailsId,
+        boolean success,
+        OrderProgress progress,
+        String error
+) {
+    public static StepUpdateResultDTO succeeded(Long orderDetailsId, OrderProgress progress) {
+        return new StepUpdateResultDTO(orderDetailsId, true, progress, null);
+    }
+
+    public static StepUpdateResultDTO failed(Long orderDetailsId, String error) {
+        return new StepUpdateResultDTO(orderDetailsId, false, null, error);
+    }
+}
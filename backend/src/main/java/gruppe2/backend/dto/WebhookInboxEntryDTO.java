@@ -0,0 +1,28 @@
+package gruppe2.backend.dto;
+
+import gruppe2.backend.model.WebhookInboxEntry;
+import gruppe2.backend.model.WebhookInboxStatus;
+
+import java.time.LocalDateTime;
+
+public record WebhookInboxEntryDTO(
+        Long id,
+        Long wooOrderId,
+        WebhookInboxStatus status,
+        int attempts,
+        LocalDateTime receivedAt,
+        LocalDateTime nextAttemptAt,
+        String lastError
+) {
+    public static WebhookInboxEntryDTO from(WebhookInboxEntry entry) {
+        return new WebhookInboxEntryDTO(
+            entry.getId(),
+            entry.getWooOrderId(),
+            entry.getStatus(),
+            entry.getAttempts(),
+            entry.getReceivedAt(),
+            entry.getNextAttemptAt(),
+            entry.getLastError()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package gruppe2.backend.dto;
+
+/**
+ * Inbox health: depth is pending + processing, lag is the age of the oldest unprocessed webhook.
+ */
+public record WebhookInboxStatsDTO(
+        long depth,
+        long pending,
+        long processing,
+        long done,
+        long dead,
+        int activeWorkers,
+        long lagSeconds
+) {}
@@ -0,0 +1,78 @@
+package gruppe2.backend.mapper;
+
+import gruppe2.backend.dto.OrderDashboardDTO;
+import gruppe2.backend.dto.OrderDetailsDTO;
+import gruppe2.backend.dto.OrderDetailsWithStatusDTO;
+import gruppe2.backend.dto.ProductTypeSnapshotDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.StatusDefinition;
+import gruppe2.backend.repository.OrderDetailsReadRepository;
+import gruppe2.backend.service.ReferenceDataCache;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Fills dashboard rows with their order lines, bulk loading the details for exactly
+ * those rows. Product types and status definitions come from the reference data cache.
+ */
+@Component
+public class OrderDashboardMapper {
+    private final OrderDetailsReadRepository orderDetailsReadRepository;
+    private final ReferenceDataCache referenceDataCache;
+
+    public OrderDashboardMapper(
+            OrderDetailsReadRepository orderDetailsReadRepository,
+            ReferenceDataCache referenceDataCache) {
+        this.orderDetailsReadRepository = orderDetailsReadRepository;
+        this.referenceDataCache = referenceDataCache;
+    }
+
+    public void attachItems(List<OrderDashboardDTO> dashboardDTOs) {
+        if (dashboardDTOs.isEmpty()) {
+            return;
+        }
+
+
+        // Bulk load all order details in a single statement, without hydrating entities
+        Map<Long, List<OrderDetailsDTO>> orderDetailsMap = orderDetailsReadRepository.findByOrderIdsGrouped(
+            dashboardDTOs.stream()
+                .map(OrderDashboardDTO::getOrderId)
+                .collect(Collectors.toList())
+        );
+        
+        Map<Long, ProductTypeSnapshotDTO> productTypeMap = referenceDataCache.getProductTypes();
+        Map<Long, StatusDefinition> statusDefinitionsMap = referenceDataCache.getStatusDefinitions();
+        
+        // Map order details to DTOs and set them in the dashboard DTOs
+        dashboardDTOs.forEach(dto -> {
+            List<OrderDetailsDTO> orderDetails = orderDetailsMap.getOrDefault(dto.getOrderId(), Collections.emptyList());
+            List<OrderDetailsWithStatusDTO> items = orderDetails.stream()
+                    .map(details -> {
+                        // Get product type info if available
+                        String productTypeName = Optional.ofNullable(details.item())
+                            .map(Item::getProductTypeId)
+                            .map(productTypeMap::get)
+                            .map(ProductTypeSnapshotDTO::name)
+                            .orElse(null);
+                            
+                        return new OrderDetailsWithStatusDTO(
+                            details.id(),
+                            details.orderId(),
+                            details.item(),
+                            details.itemAmount(),
+                            productTypeName,
+                            details.currentStepIndex(),
+                            details.differentSteps().stream()
+                                .map(statusDefinitionsMap::get)
+                                .toArray(StatusDefinition[]::new),
+                            details.updated()
+                        );
+                    })
+                    .collect(Collectors.toList());
+            dto.setItems(items);
+        });
+    }
+
+}
@@ -3,10 +3,11 @@ package gruppe2.backend.mapper;
 import gruppe2.backend.domain.OrderItem;
 import gruppe2.backend.domain.OrderStatus;
 import gruppe2.backend.dto.OrderDashboardDTO;
+import gruppe2.backend.dto.OrderDetailsDTO;
 import gruppe2.backend.dto.OrderDetailsWithStatusDTO;
 import gruppe2.backend.model.OrderDetails;
 import gruppe2.backend.model.StatusDefinition;
-import gruppe2.backend.repository.StatusDefinitionRepository;
+import gruppe2.backend.service.ReferenceDataCache;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -14,10 +15,10 @@ import java.util.stream.Collectors;
 
 @Component
 public class OrderDetailsMapper {
-    private final StatusDefinitionRepository statusDefinitionRepository;
+    private final ReferenceDataCache referenceDataCache;
 
-    public OrderDetailsMapper(StatusDefinitionRepository statusDefinitionRepository) {
-        this.statusDefinitionRepository = statusDefinitionRepository;
+    public OrderDetailsMapper(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
     }
 
     public OrderDetailsWithStatusDTO toOrderDetailsDTO(OrderDetails details, Map<Long, StatusDefinition> statusDefinitionsMap) {
@@ -60,6 +61,27 @@ public class OrderDetailsMapper {
         );
     }
 
+    /**
+     * Same as {@link #toOrderDetailsDTO(OrderDetails, Map)} for a line read without its entity.
+     */
+    public OrderDetailsWithStatusDTO toOrderDetailsDTO(OrderDetailsDTO details, Map<Long, StatusDefinition> statusDefinitionsMap) {
+        StatusDefinition[] statusDefinitions = details.differentSteps().stream()
+                .map(stepId -> statusDefinitionsMap.getOrDefault(stepId,
+                    new StatusDefinition(stepId, "Unknown", "Status not found", "placeholder.png")))
+                .toArray(StatusDefinition[]::new);
+
+        return new OrderDetailsWithStatusDTO(
+            details.id(),
+            details.orderId(),
+            details.item(),
+            details.itemAmount(),
+            details.productType(),
+            details.currentStepIndex(),
+            statusDefinitions,
+            details.updated()
+        );
+    }
+
     public OrderDashboardDTO toOrderDashboardDTO(gruppe2.backend.model.Order orderEntity, List<OrderDetails> orderDetails) {
         // Create the DTO with basic order information
         OrderDashboardDTO dto = new OrderDashboardDTO(
@@ -70,19 +92,7 @@ public class OrderDetailsMapper {
             orderEntity.getNotes()
         );
         
-        // Get all unique status definition IDs from all order details
-        Set<Long> allStatusIds = orderDetails.stream()
-                .flatMap(details -> details.getDifferentSteps().stream())
-                .collect(Collectors.toSet());
-        
-        // Fetch all status definitions in a single query
-        Map<Long, StatusDefinition> statusDefinitionsMap = statusDefinitionRepository.findAllById(allStatusIds)
-                .stream()
-                .collect(Collectors.toMap(
-                    StatusDefinition::getId,
-                    sd -> sd,
-                    (existing, replacement) -> existing
-                ));
+        Map<Long, StatusDefinition> statusDefinitionsMap = referenceDataCache.getStatusDefinitions();
 
         // Set the items after mapping them
         List<OrderDetailsWithStatusDTO> items = orderDetails.stream()
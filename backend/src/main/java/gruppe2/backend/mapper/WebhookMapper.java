@@ -1,9 +1,13 @@
 package gruppe2.backend.mapper;
 
 import gruppe2.backend.domain.CustomerInfo;
+import gruppe2.backend.dto.ItemDTO;
+import gruppe2.backend.service.webhook.LineItem;
 import gruppe2.backend.service.webhook.WebhookPayload;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 @Component
@@ -25,4 +29,31 @@ public class WebhookMapper {
             false // Priority
         );
     }
+
+    /**
+     * @return Quantity per WooCommerce product id
+     */
+    public Map<Long, Integer> toItemQuantities(WebhookPayload payload) {
+        Map<Long, Integer> items = new HashMap<>();
+        payload.getItems().forEach(item -> items.put(item.getProduct_id(), item.getQuantity()));
+        return items;
+    }
+
+    /**
+     * @return An item with the generic product type for every product in the payload,
+     *         used for products that are not known yet
+     */
+    public Map<Long, ItemDTO> toGenericItems(WebhookPayload payload) {
+        Map<Long, ItemDTO> items = new HashMap<>();
+        for (LineItem item : payload.getItems()) {
+            items.put(item.getProduct_id(), new ItemDTO(
+                item.getName(),
+                item.getProduct_id(),
+                0L, // Generic product type
+                item.getImg() != null ? item.getImg().getSrc() : null,
+                false
+            ));
+        }
+        return items;
+    }
 }
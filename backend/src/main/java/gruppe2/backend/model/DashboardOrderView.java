@@ -0,0 +1,109 @@
+package gruppe2.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Denormalized dashboard row, one per order. Kept up to date by the write paths
+ * so the dashboard can be served without touching the normalized order tables.
+ */
+@Entity
+@Table(
+    name = "dashboard_order_view",
+    indexes = @Index(name = "idx_dashboard_order_view_created", columnList = "order_created, order_id")
+)
+public class DashboardOrderView {
+    @Id
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(name = "order_created")
+    private LocalDateTime orderCreated;
+
+    @Column(name = "priority")
+    private boolean priority;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Column(name = "notes")
+    private String notes;
+
+    @Column(name = "completed")
+    private boolean completed;
+
+    // Serialized List<OrderDetailsWithStatusDTO>
+    @Column(name = "items_json", columnDefinition = "text")
+    private String itemsJson;
+
+    @Column(name = "refreshed_at")
+    private LocalDateTime refreshedAt;
+
+    public DashboardOrderView() {}
+
+    public DashboardOrderView(Long orderId, LocalDateTime orderCreated, boolean priority, String customerName,
+                              String notes, boolean completed, String itemsJson) {
+        this.orderId = orderId;
+        this.orderCreated = orderCreated;
+        this.priority = priority;
+        this.customerName = customerName;
+        this.notes = notes;
+        this.completed = completed;
+        this.itemsJson = itemsJson;
+        this.refreshedAt = LocalDateTime.now();
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public LocalDateTime getOrderCreated() {
+        return orderCreated;
+    }
+
+    public boolean isPriority() {
+        return priority;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public String getItemsJson() {
+        return itemsJson;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void refreshFrom(DashboardOrderView source) {
+        this.orderCreated = source.orderCreated;
+        this.priority = source.priority;
+        this.customerName = source.customerName;
+        this.notes = source.notes;
+        this.completed = source.completed;
+        this.itemsJson = source.itemsJson;
+        this.refreshedAt = LocalDateTime.now();
+    }
+
+    public boolean hasSameContentAs(DashboardOrderView other) {
+        return other != null &&
+               Objects.equals(orderId, other.orderId) &&
+               Objects.equals(orderCreated, other.orderCreated) &&
+               priority == other.priority &&
+               Objects.equals(customerName, other.customerName) &&
+               Objects.equals(notes, other.notes) &&
+               completed == other.completed &&
+               Objects.equals(itemsJson, other.itemsJson);
+    }
+}
@@ -0,0 +1,83 @@
+package gruppe2.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One step an order line entered. Rows are only ever appended, so moving back and forth
+ * keeps every visit, unlike the per-status timestamps on {@link OrderDetails}.
+ */
+@Entity
+@Table(
+    name = "item_status_events",
+    indexes = {
+        @Index(name = "idx_item_status_events_occurred_at", columnList = "occurred_at"),
+        @Index(name = "idx_item_status_events_status_occurred_at", columnList = "status_definition_id, occurred_at"),
+        @Index(name = "idx_item_status_events_order_occurred_at", columnList = "order_id, occurred_at")
+    }
+)
+public class ItemStatusEvent {
+    // A sequence (unlike IDENTITY) lets Hibernate batch the inserts of a bulk step update
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_status_events_seq")
+    @SequenceGenerator(name = "item_status_events_seq", sequenceName = "item_status_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "status_definition_id", nullable = false)
+    private Long statusDefinitionId;
+
+    @Column(name = "step_index", nullable = false)
+    private int stepIndex;
+
+    @Column(name = "previous_status_definition_id")
+    private Long previousStatusDefinitionId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    public ItemStatusEvent() {}
+
+    public ItemStatusEvent(Long orderId, Long itemId, Long statusDefinitionId, int stepIndex,
+                           Long previousStatusDefinitionId, LocalDateTime occurredAt) {
+        this.orderId = orderId;
+        this.itemId = itemId;
+        this.statusDefinitionId = statusDefinitionId;
+        this.stepIndex = stepIndex;
+        this.previousStatusDefinitionId = previousStatusDefinitionId;
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public Long getItemId() {
+        return itemId;
+    }
+
+    public Long getStatusDefinitionId() {
+        return statusDefinitionId;
+    }
+
+    public int getStepIndex() {
+        return stepIndex;
+    }
+
+    public Long getPreviousStatusDefinitionId() {
+        return previousStatusDefinitionId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -30,23 +30,19 @@ public class OrderDetails {
     @Column(name = "current_step_index")
     private Integer currentStepIndex;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-            name = "order_product_type_steps",
-            joinColumns = @JoinColumn(name = "order_product_type_id", nullable = true)
-    )
-    @Column(name = "step_id")
-    @OrderColumn(name = "step_order")
-    private List<Long> differentSteps = new ArrayList<>();
-
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-            name = "order_product_type_updated",
-            joinColumns = @JoinColumn(name = "order_product_type_id", nullable = true)
-    )
-    @MapKeyColumn(name = "status_definition_id")
-    @Column(name = "updated")
-    private Map<Long, LocalDateTime> updated = new HashMap<>();
+    // Shared with every other line that has the same steps
+    @ManyToOne(fetch = FetchType.EAGER)
+    @JoinColumn(name = "step_plan_id")
+    private StepPlan stepPlan;
+
+    // When each step of the plan was last reached, at the same index as the step; null if never
+    @Column(name = "step_timestamps")
+    private LocalDateTime[] stepTimestamps;
+
+    // Checked and incremented on every update, so concurrent step changes cannot overwrite each other
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
 
     // Getters and Setters
 
@@ -70,12 +66,33 @@ public class OrderDetails {
         return currentStepIndex;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public StepPlan getStepPlan() {
+        return stepPlan;
+    }
+
     public List<Long> getDifferentSteps() {
-        return differentSteps != null ? differentSteps : new ArrayList<>();
+        return stepPlan != null ? stepPlan.getSteps() : new ArrayList<>();
     }
 
+    /**
+     * @return A copy of the step timestamps keyed by status definition; changes have to be
+     *         written back with {@link #setUpdated}
+     */
     public Map<Long, LocalDateTime> getUpdated() {
-        return updated != null ? updated : new HashMap<>();
+        Map<Long, LocalDateTime> updated = new HashMap<>();
+        if (stepPlan == null || stepTimestamps == null) {
+            return updated;
+        }
+        for (int i = 0; i < stepTimestamps.length && i < stepPlan.getStepCount(); i++) {
+            if (stepTimestamps[i] != null) {
+                updated.put(stepPlan.getStep(i), stepTimestamps[i]);
+            }
+        }
+        return updated;
     }
 
     public String getProduct_type() {
@@ -106,11 +123,31 @@ public class OrderDetails {
         this.currentStepIndex = currentStepIndex;
     }
 
-    public void setDifferentSteps(List<Long> differentSteps) {
-        this.differentSteps = differentSteps != null ? differentSteps : new ArrayList<>();
+    /**
+     * Switches the line to another plan. Timestamps are positional, so they are cleared
+     * and have to be set again for the new plan.
+     */
+    public void setStepPlan(StepPlan stepPlan) {
+        this.stepPlan = stepPlan;
+        this.stepTimestamps = stepPlan != null ? new LocalDateTime[stepPlan.getStepCount()] : null;
     }
 
+    /**
+     * Stores the timestamps at the positions of their steps in the plan.
+     * Status definitions that are not part of the plan are ignored, so a line without
+     * a plan (one that never had any steps) keeps no timestamps.
+     */
     public void setUpdated(Map<Long, LocalDateTime> updated) {
-        this.updated = updated != null ? updated : new HashMap<>();
+        if (stepPlan == null) {
+            return;
+        }
+        // Always a new array, so the change is picked up by dirty checking
+        LocalDateTime[] timestamps = new LocalDateTime[stepPlan.getStepCount()];
+        if (updated != null) {
+            for (int i = 0; i < timestamps.length; i++) {
+                timestamps[i] = updated.get(stepPlan.getStep(i));
+            }
+        }
+        this.stepTimestamps = timestamps;
     }
 }
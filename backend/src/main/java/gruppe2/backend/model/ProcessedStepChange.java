@@ -0,0 +1,45 @@
+package gruppe2.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A step change that has been applied, identified by the Idempotency-Key sent with it.
+ * Written in the same transaction as the change, so a key is only recorded if its change committed.
+ */
+@Entity
+@Table(
+    name = "processed_step_changes",
+    indexes = @Index(name = "idx_processed_step_changes_processed_at", columnList = "processed_at")
+)
+public class ProcessedStepChange {
+    @Id
+    @Column(name = "idempotency_key", length = 64)
+    private String idempotencyKey;
+
+    @Column(name = "order_details_id", nullable = false)
+    private Long orderDetailsId;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    public ProcessedStepChange() {}
+
+    public ProcessedStepChange(String idempotencyKey, Long orderDetailsId, LocalDateTime processedAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.orderDetailsId = orderDetailsId;
+        this.processedAt = processedAt;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public Long getOrderDetailsId() {
+        return orderDetailsId;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package gruppe2.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * The last WooCommerce payload applied for an order, identified by its SHA-256 hash.
+ */
+@Entity
+@Table(name = "processed_webhook_events")
+public class ProcessedWebhookEvent {
+    @Id
+    @Column(name = "woo_order_id")
+    private Long wooOrderId;
+
+    @Column(name = "payload_hash", length = 64, nullable = false)
+    private String payloadHash;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+
+    @Column(name = "date_modified")
+    private LocalDateTime dateModified;
+
+    public ProcessedWebhookEvent() {}
+
+    public ProcessedWebhookEvent(Long wooOrderId, String payloadHash, LocalDateTime processedAt, LocalDateTime dateModified) {
+        this.wooOrderId = wooOrderId;
+        this.payloadHash = payloadHash;
+        this.processedAt = processedAt;
+        this.dateModified = dateModified;
+    }
+
+    public void update(String payloadHash, LocalDateTime processedAt, LocalDateTime dateModified) {
+        this.payloadHash = payloadHash;
+        this.processedAt = processedAt;
+        this.dateModified = dateModified;
+    }
+
+    public Long getWooOrderId() {
+        return wooOrderId;
+    }
+
+    public String getPayloadHash() {
+        return payloadHash;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    /**
+     * @return The WooCommerce date_modified of the applied payload, if it had one
+     */
+    public LocalDateTime getDateModified() {
+        return dateModified;
+    }
+}
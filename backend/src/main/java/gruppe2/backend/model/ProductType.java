@@ -1,6 +1,8 @@
 package gruppe2.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -8,6 +10,7 @@ import java.util.stream.Collectors;
 
 @Entity
 @Table(name = "product_types")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProductType {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -18,6 +21,7 @@ public class ProductType {
 
     @OneToMany(mappedBy = "productType", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("differentStepsOrder ASC, stepOrder ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<ProductTypeStep> steps = new ArrayList<>();
 
     public ProductType() {}
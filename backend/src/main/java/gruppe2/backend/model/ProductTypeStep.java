@@ -1,9 +1,12 @@
 package gruppe2.backend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "product_type_steps")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class ProductTypeStep {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,86 @@
+package gruppe2.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * An ordered list of status definitions an order line goes through, snapshotted from its
+ * product type when the line is created.
+ * <p>
+ * Plans are content-addressed by a hash of their step ids and never change, so every line
+ * with the same steps shares one row, and later edits to the product type do not affect
+ * lines that already exist.
+ */
+@Entity
+@Immutable
+@Table(name = "step_plans")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+public class StepPlan {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "plan_hash", nullable = false, unique = true, length = 64)
+    private String planHash;
+
+    @Column(name = "step_ids", nullable = false)
+    private Long[] stepIds;
+
+    // Kept next to the array so queries can compare against it without unnesting
+    @Column(name = "step_count", nullable = false)
+    private int stepCount;
+
+    protected StepPlan() {}
+
+    private StepPlan(String planHash, Long[] stepIds) {
+        this.planHash = planHash;
+        this.stepIds = stepIds;
+        this.stepCount = stepIds.length;
+    }
+
+    public static StepPlan of(List<Long> steps) {
+        if (steps == null || steps.isEmpty()) {
+            throw new IllegalArgumentException("A step plan needs at least one step");
+        }
+        return new StepPlan(hash(steps), steps.toArray(new Long[0]));
+    }
+
+    public static String hash(List<Long> steps) {
+        String key = steps.stream().map(String::valueOf).collect(Collectors.joining(","));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getPlanHash() {
+        return planHash;
+    }
+
+    public List<Long> getSteps() {
+        return List.of(stepIds);
+    }
+
+    public Long getStep(int index) {
+        return stepIds[index];
+    }
+
+    public int getStepCount() {
+        return stepCount;
+    }
+}
@@ -0,0 +1,132 @@
+package gruppe2.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * A received WooCommerce webhook waiting to be turned into an order.
+ * Rows are appended by the webhook endpoint and drained by the inbox workers.
+ */
+@Entity
+@Table(
+    name = "webhook_inbox",
+    indexes = {
+        @Index(name = "idx_webhook_inbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_webhook_inbox_status_processed_at", columnList = "status, processed_at")
+    }
+)
+public class WebhookInboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "woo_order_id")
+    private Long wooOrderId;
+
+    @Column(name = "payload", columnDefinition = "text", nullable = false)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", length = 16, nullable = false)
+    private WebhookInboxStatus status;
+
+    @Column(name = "attempts")
+    private int attempts;
+
+    @Column(name = "received_at", nullable = false)
+    private LocalDateTime receivedAt;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    @Column(name = "last_error", length = 2000)
+    private String lastError;
+
+    // Node id of the instance that claimed the entry (orders.id.node-id)
+    @Column(name = "claimed_by")
+    private Integer claimedBy;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    public WebhookInboxEntry() {}
+
+    public WebhookInboxEntry(Long wooOrderId, String payload, LocalDateTime receivedAt) {
+        this.wooOrderId = wooOrderId;
+        this.payload = payload;
+        this.status = WebhookInboxStatus.PENDING;
+        this.receivedAt = receivedAt;
+        this.nextAttemptAt = receivedAt;
+    }
+
+    public void markDone(LocalDateTime now) {
+        this.status = WebhookInboxStatus.DONE;
+        this.processedAt = now;
+        this.lastError = null;
+    }
+
+    /**
+     * Records a failed attempt.
+     * @param nextAttemptAt When to try again, or null to move the entry to the dead letters
+     */
+    public void markFailed(String error, LocalDateTime nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error != null && error.length() > 2000 ? error.substring(0, 2000) : error;
+        this.status = nextAttemptAt != null ? WebhookInboxStatus.PENDING : WebhookInboxStatus.DEAD;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void resetForReplay(LocalDateTime now) {
+        this.status = WebhookInboxStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = now;
+        this.lastError = null;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWooOrderId() {
+        return wooOrderId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public WebhookInboxStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getReceivedAt() {
+        return receivedAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Integer getClaimedBy() {
+        return claimedBy;
+    }
+
+    public LocalDateTime getClaimedAt() {
+        return claimedAt;
+    }
+}
@@ -0,0 +1,8 @@
+package gruppe2.backend.model;
+
+public enum WebhookInboxStatus {
+    PENDING,
+    PROCESSING,
+    DONE,
+    DEAD
+}
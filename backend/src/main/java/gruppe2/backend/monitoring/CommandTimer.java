@@ -0,0 +1,46 @@
+package gruppe2.backend.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Times the execution of domain commands in the {@value #METRIC} timer, tagged with the
+ * command's class name and the exception it failed with, if any.
+ */
+@Component
+public class CommandTimer {
+    public static final String METRIC = "orders.commands";
+
+    private final MeterRegistry meterRegistry;
+
+    public CommandTimer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T record(Object command, Supplier<T> execution) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return execution.get();
+        } catch (RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                .description("Execution time of domain commands")
+                .tag("command", command.getClass().getSimpleName())
+                .tag("exception", exception)
+                .register(meterRegistry));
+        }
+    }
+
+    public void record(Object command, Runnable execution) {
+        record(command, () -> {
+            execution.run();
+            return null;
+        });
+    }
+}
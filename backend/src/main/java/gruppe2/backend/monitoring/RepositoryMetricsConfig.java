@@ -0,0 +1,75 @@
+package gruppe2.backend.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times every call into the JDBC read repositories in the {@value #METRIC} timer.
+ * <p>
+ * Spring Data repositories are already timed by Spring Boot as
+ * {@code spring.data.repository.invocations}, so they are left out here.
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+    public static final String METRIC = "jdbc.repository.invocations";
+
+    // Static, and the registry is looked up lazily, so the post-processor does not pull the
+    // meter registry in before the other post-processors are registered
+    @Bean
+    static JdbcRepositoryTimingPostProcessor jdbcRepositoryTiming(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new JdbcRepositoryTimingPostProcessor(meterRegistry);
+    }
+
+    static class JdbcRepositoryTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+        JdbcRepositoryTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+            ClassFilter jdbcRepositories = type -> AnnotatedElementUtils.hasAnnotation(type, Repository.class)
+                && !org.springframework.data.repository.Repository.class.isAssignableFrom(type);
+            StaticMethodMatcher repositoryMethods = new StaticMethodMatcher() {
+                @Override
+                public boolean matches(Method method, Class<?> targetClass) {
+                    return method.getDeclaringClass() != Object.class;
+                }
+            };
+            this.advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(jdbcRepositories, repositoryMethods),
+                new TimingInterceptor(meterRegistry));
+            setBeforeExistingAdvisors(true);
+        }
+    }
+
+    private record TimingInterceptor(ObjectProvider<MeterRegistry> meterRegistry) implements MethodInterceptor {
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.getObject();
+            Timer.Sample sample = Timer.start(registry);
+            String exception = "none";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                exception = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                sample.stop(Timer.builder(METRIC)
+                    .description("Execution time of JDBC repository calls")
+                    .tag("repository", invocation.getMethod().getDeclaringClass().getSimpleName())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("exception", exception)
+                    .register(registry));
+            }
+        }
+    }
+}
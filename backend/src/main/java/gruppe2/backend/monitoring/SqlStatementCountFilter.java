@@ -0,0 +1,117 @@
+package gruppe2.backend.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Counts the SQL statements each request executes on its thread.
+ * <p>
+ * The count is recorded in the {@code http.server.requests.sql.statements} distribution, per
+ * endpoint. With {@code orders.sql.statement-count-header} enabled (the {@code dev} profile and
+ * the tests), it is also sent back in the {@value #HEADER} header, counted up to the moment the
+ * response body starts.
+ */
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String HEADER = "X-SQL-Statement-Count";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean header;
+
+    public SqlStatementCountFilter(
+            MeterRegistry meterRegistry,
+            @Value("${orders.sql.statement-count-header:false}") boolean header) {
+        this.meterRegistry = meterRegistry;
+        this.header = header;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CountHeaderResponse countHeaderResponse = header ? new CountHeaderResponse(response) : null;
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, countHeaderResponse != null ? countHeaderResponse : response);
+        } finally {
+            if (countHeaderResponse != null) {
+                // Responses without a body
+                countHeaderResponse.addCountHeader();
+            }
+            int count = SqlStatementCounter.stop();
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri(request))
+                .register(meterRegistry)
+                .record(count);
+        }
+    }
+
+    // The mapped pattern, such as /api/orders/{orderId}, so ids do not create a meter each
+    private static String uri(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+
+    /**
+     * Adds the count header just before the response is committed.
+     */
+    private static class CountHeaderResponse extends HttpServletResponseWrapper {
+        private boolean headerAdded;
+
+        CountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        private void addCountHeader() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader(HEADER, Integer.toString(SqlStatementCounter.current()));
+            }
+            headerAdded = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addCountHeader();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package gruppe2.backend.monitoring;
+
+/**
+ * Counts the SQL statements executed on the current thread while counting is active.
+ * <p>
+ * Statements are counted at the JDBC level by {@link StatementCountingDataSource}, so Hibernate
+ * and the JDBC readers are both covered. A JDBC batch counts as one statement, as it is one
+ * round trip.
+ */
+public final class SqlStatementCounter {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {}
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * @return The statements counted since {@link #start}, which also stops counting
+     */
+    public static int stop() {
+        int count = current();
+        COUNT.remove();
+        return count;
+    }
+
+    /**
+     * @return The statements counted so far, or 0 when not counting
+     */
+    public static int current() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package gruppe2.backend.monitoring;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlStatementMonitoringConfig {
+
+    // Static, so the data source is wrapped before anything else gets hold of it
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)
+                    ? new StatementCountingDataSource(dataSource)
+                    : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package gruppe2.backend.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts every statement executed through the wrapped {@link DataSource} with
+ * {@link SqlStatementCounter}. Being a {@link DelegatingDataSource}, it is still recognised
+ * as the connection pool by the pool metrics and health checks.
+ */
+class StatementCountingDataSource extends DelegatingDataSource {
+
+    StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return counting(CallableStatement.class, statement);
+            }
+            if (result instanceof PreparedStatement statement) {
+                return counting(PreparedStatement.class, statement);
+            }
+            if (result instanceof Statement statement) {
+                return counting(Statement.class, statement);
+            }
+            return result;
+        });
+    }
+
+    private static <T extends Statement> T counting(Class<T> type, T statement) {
+        return proxy(type, statement, (method, args) -> {
+            // execute, executeQuery, executeUpdate, executeBatch and their large variants
+            if (method.getName().startsWith("execute")) {
+                SqlStatementCounter.increment();
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(
+            StatementCountingDataSource.class.getClassLoader(),
+            new Class<?>[] { type },
+            (proxy, method, args) -> {
+                // Drivers and pools unwrap connections and statements to their own classes
+                if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                    return invoke(target, method, args);
+                }
+                return handler.handle(method, args);
+            }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,44 @@
+package gruppe2.backend.monitoring;
+
+import gruppe2.backend.domain.event.ItemStatusChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Counts committed step changes in {@value #METRIC}, per status definition entered and
+ * direction. Like the status event log, a jump over several steps counts every step on the way.
+ */
+@Component
+public class StepTransitionMetrics {
+    public static final String METRIC = "orders.step.transitions";
+
+    private final MeterRegistry meterRegistry;
+
+    public StepTransitionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemStatusChanged(ItemStatusChangedEvent event) {
+        Long[] steps = event.getNewStatus().getSteps();
+        int from = event.getOldStatus().getCurrentStepIndex();
+        int to = event.getNewStatus().getCurrentStepIndex();
+        int direction = Integer.signum(to - from);
+        for (int index = from + direction; direction != 0; index += direction) {
+            counter(steps[index], direction > 0 ? "forward" : "backward").increment();
+            if (index == to) {
+                break;
+            }
+        }
+    }
+
+    private Counter counter(Long statusDefinitionId, String direction) {
+        return Counter.builder(METRIC)
+            .description("Order line step changes, by the status definition entered")
+            .tag("step", String.valueOf(statusDefinitionId))
+            .tag("direction", direction)
+            .register(meterRegistry);
+    }
+}
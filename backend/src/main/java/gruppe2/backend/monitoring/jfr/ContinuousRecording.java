@@ -0,0 +1,69 @@
+package gruppe2.backend.monitoring.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Keeps a Java Flight Recorder recording running with the JDK's low-overhead "default" settings
+ * and the application's own events, holding the last {@code orders.jfr.max-age} of data up to
+ * {@code orders.jfr.max-size}. It is dumped on demand by {@link FlightRecordingEndpoint}.
+ */
+@Component
+public class ContinuousRecording {
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    private final boolean enabled;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private Recording recording;
+
+    public ContinuousRecording(
+            @Value("${orders.jfr.continuous:true}") boolean enabled,
+            @Value("${orders.jfr.max-age:PT6H}") Duration maxAge,
+            @Value("${orders.jfr.max-size:250MB}") DataSize maxSize) {
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || recording != null || !FlightRecorder.isAvailable()) {
+            return;
+        }
+        try {
+            Recording continuous = new Recording(Configuration.getConfiguration("default"));
+            continuous.setName("order-status-tracker");
+            continuous.setToDisk(true);
+            continuous.setMaxAge(maxAge);
+            continuous.setMaxSize(maxSize.toBytes());
+            continuous.start();
+            recording = continuous;
+            logger.info("Started continuous flight recording, keeping {} up to {} MB", maxAge, maxSize.toMegabytes());
+        } catch (IOException | ParseException | IllegalStateException e) {
+            // Profiling is optional; the application runs without it
+            logger.warn("Could not start the continuous flight recording", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package gruppe2.backend.monitoring.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Building the rows of the dashboard, either the full list or one page of it.
+ */
+@Name("gruppe2.DashboardBuild")
+@Label("Dashboard Build")
+@Category({"Order Status Tracker", "Dashboard"})
+@Description("Building the orders shown on the dashboard")
+@StackTrace(false)
+public class DashboardBuildEvent extends Event {
+    @Label("View")
+    @Description("ALL for the full list, PAGE for a filtered page")
+    public String view;
+
+    @Label("Orders")
+    public int orders;
+
+    @Label("Query")
+    @Description("Reading the dashboard rows")
+    @Timespan
+    public long queryDuration;
+
+    @Label("Attach Lines")
+    @Description("Reading the lines of the orders on the page and mapping them")
+    @Timespan
+    public long linesDuration;
+}
@@ -0,0 +1,41 @@
+package gruppe2.backend.monitoring.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Creating an order through the order creation pipeline, for manual orders and webhooks alike.
+ */
+@Name("gruppe2.OrderCreation")
+@Label("Order Creation")
+@Category({"Order Status Tracker", "Orders"})
+@Description("Creating an order and its lines")
+@StackTrace(false)
+public class OrderCreationEvent extends Event {
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Failure")
+    @Description("Class of the exception the creation failed with")
+    public String failure;
+
+    @Label("Resolve Catalog")
+    @Timespan
+    public long catalogDuration;
+
+    @Label("Build And Validate")
+    @Timespan
+    public long domainDuration;
+
+    @Label("Persist")
+    @Description("Saving the order and setting up its lines")
+    @Timespan
+    public long persistDuration;
+
+    @Label("Publish")
+    @Description("Refreshing the dashboard row and publishing the events")
+    @Timespan
+    public long publishDuration;
+}
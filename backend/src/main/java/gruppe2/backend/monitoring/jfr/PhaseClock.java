@@ -0,0 +1,18 @@
+package gruppe2.backend.monitoring.jfr;
+
+/**
+ * Measures consecutive phases of an operation for the phase durations of its event.
+ */
+public final class PhaseClock {
+    private long mark = System.nanoTime();
+
+    /**
+     * @return Nanoseconds since the previous lap, or since the clock was created
+     */
+    public long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - mark;
+        mark = now;
+        return elapsed;
+    }
+}
@@ -0,0 +1,37 @@
+package gruppe2.backend.monitoring.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One attempt at moving many order lines at once through the batch step update.
+ */
+@Name("gruppe2.StepBatchUpdate")
+@Label("Step Batch Update")
+@Category({"Order Status Tracker", "Orders"})
+@Description("Moving many order lines to their target steps in one transaction")
+@StackTrace(false)
+public class StepBatchUpdateEvent extends Event {
+    @Label("Requested Lines")
+    public int requestedLines;
+
+    @Label("Changed Lines")
+    public int changedLines;
+
+    @Label("Failure")
+    @Description("Class of the exception the attempt failed with")
+    public String failure;
+
+    @Label("Load")
+    @Description("Reading the lines and their orders")
+    @Timespan
+    public long loadDuration;
+
+    @Label("Domain")
+    @Timespan
+    public long domainDuration;
+
+    @Label("Save")
+    @Description("Saving the lines, refreshing the dashboard rows and publishing the events")
+    @Timespan
+    public long saveDuration;
+}
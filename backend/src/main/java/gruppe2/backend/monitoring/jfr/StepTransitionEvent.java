@@ -0,0 +1,52 @@
+package gruppe2.backend.monitoring.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * One attempt at moving a single order line to another step, from reading the line to the
+ * commit. The phases add up to less than the event's duration; the rest is the commit.
+ */
+@Name("gruppe2.StepTransition")
+@Label("Step Transition")
+@Category({"Order Status Tracker", "Orders"})
+@Description("Moving an order line to another step")
+@StackTrace(false)
+public class StepTransitionEvent extends Event {
+    @Label("Order Line Id")
+    public long orderDetailsId;
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("From Step Index")
+    public int fromStepIndex;
+
+    @Label("To Step Index")
+    public int toStepIndex;
+
+    @Label("Replayed")
+    @Description("The idempotency key had been applied before, so the line was not moved")
+    public boolean replayed;
+
+    @Label("Failure")
+    @Description("Class of the exception the attempt failed with")
+    public String failure;
+
+    @Label("Load Line")
+    @Timespan
+    public long loadLineDuration;
+
+    @Label("Load Order")
+    @Timespan
+    public long loadOrderDuration;
+
+    @Label("Domain")
+    @Description("Rebuilding the domain order and applying the status change to it")
+    @Timespan
+    public long domainDuration;
+
+    @Label("Save")
+    @Description("Saving the line, refreshing the dashboard row and publishing the events")
+    @Timespan
+    public long saveDuration;
+}
@@ -0,0 +1,34 @@
+package gruppe2.backend.monitoring.jfr;
+
+import jdk.jfr.*;
+
+/**
+ * Applying one WooCommerce webhook delivery. A new order also records an {@link OrderCreationEvent}.
+ */
+@Name("gruppe2.WebhookProcessing")
+@Label("Webhook Processing")
+@Category({"Order Status Tracker", "Webhooks"})
+@Description("Applying a WooCommerce order webhook")
+@StackTrace(false)
+public class WebhookProcessingEvent extends Event {
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Delivery")
+    @Description("NEW, CHANGED or DUPLICATE")
+    public String delivery;
+
+    @Label("Failure")
+    @Description("Class of the exception the delivery failed with")
+    public String failure;
+
+    @Label("Classify")
+    @Description("Hashing the payload and comparing it with the deliveries seen before")
+    @Timespan
+    public long classifyDuration;
+
+    @Label("Apply")
+    @Description("Creating or updating the order")
+    @Timespan
+    public long applyDuration;
+}
@@ -0,0 +1,17 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.model.DashboardOrderView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DashboardOrderViewRepository extends JpaRepository<DashboardOrderView, Long> {
+    @Query("SELECT v FROM DashboardOrderView v ORDER BY v.orderCreated ASC, v.orderId ASC")
+    List<DashboardOrderView> findAllOrdered();
+
+    @Query("SELECT v.orderId FROM DashboardOrderView v")
+    List<Long> findAllOrderIds();
+}
@@ -2,6 +2,8 @@ package gruppe2.backend.repository;
 
 import gruppe2.backend.model.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -9,7 +11,9 @@ import java.util.List;
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByProductTypeId(Long productTypeId);
-    List<Item> findByNameContainingIgnoreCase(String name);
+    // lower() rather than the upper() of a derived query, so the trigram index on lower(name) applies
+    @Query("SELECT i FROM Item i WHERE LOWER(i.name) LIKE LOWER(CONCAT('%', :name, '%'))")
+    List<Item> findByNameContainingIgnoreCase(@Param("name") String name);
     void deleteItemById(Long id);
     List<ItemProjection> findAllByOrderByIdAsc();
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.model.ItemStatusEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemStatusEventRepository extends JpaRepository<ItemStatusEvent, Long> {
+    // Range scan on idx_item_status_events_occurred_at
+    @Query("""
+           SELECT e FROM ItemStatusEvent e
+           WHERE e.occurredAt >= :from AND e.occurredAt < :to
+           ORDER BY e.occurredAt, e.id""")
+    List<ItemStatusEvent> findInRange(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    // Range scan on idx_item_status_events_status_occurred_at
+    @Query("""
+           SELECT e FROM ItemStatusEvent e
+           WHERE e.statusDefinitionId = :statusDefinitionId
+           AND e.occurredAt >= :from AND e.occurredAt < :to
+           ORDER BY e.occurredAt, e.id""")
+    List<ItemStatusEvent> findByStatusInRange(
+            @Param("statusDefinitionId") Long statusDefinitionId,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            Pageable pageable);
+
+    List<ItemStatusEvent> findByOrderIdOrderByOccurredAtAscIdAsc(Long orderId);
+}
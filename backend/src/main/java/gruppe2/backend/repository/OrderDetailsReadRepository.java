@@ -0,0 +1,169 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.dto.ActiveOrderLineDTO;
+import gruppe2.backend.dto.OrderDetailsDTO;
+import gruppe2.backend.model.Item;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only access to order lines for the dashboard and order detail pages.
+ * <p>
+ * Each call is a single statement whose rows are mapped straight into {@link OrderDetailsDTO}s.
+ * No entities are hydrated, so nothing ends up in the persistence context or needs dirty
+ * checking. The steps and their timestamps are read as the arrays they are stored as.
+ */
+@Repository
+public class OrderDetailsReadRepository {
+    private static final String SELECT_LINES = """
+        SELECT od.id, od.order_id, od.item_amount, od.product_type, od.current_step_index,
+               od.step_timestamps, sp.step_ids,
+               i.id AS item_id, i.name AS item_name, i.product_type_id, i.item_image, i.is_deleted
+        FROM order_details od
+        LEFT JOIN items i ON i.id = od.item_id
+        LEFT JOIN step_plans sp ON sp.id = od.step_plan_id
+        """;
+    private static final String SELECT_ACTIVE_LINES = """
+        SELECT od.id, od.order_id, od.item_id, od.item_amount, od.current_step_index,
+               od.step_timestamps, sp.step_ids, o.priority, o.order_created, i.product_type_id
+        FROM order_details od
+        JOIN step_plans sp ON sp.id = od.step_plan_id
+        JOIN orders o ON o.id = od.order_id
+        LEFT JOIN items i ON i.id = od.item_id
+        WHERE od.current_step_index < sp.step_count - 1 AND od.item_id IS NOT NULL
+        """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderDetailsReadRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<OrderDetailsDTO> findByOrderId(Long orderId) {
+        return jdbcTemplate.query(
+            SELECT_LINES + "WHERE od.order_id = :orderId ORDER BY od.id",
+            new MapSqlParameterSource("orderId", orderId),
+            (rs, rowNum) -> toDTO(rs));
+    }
+
+    public Map<Long, List<OrderDetailsDTO>> findByOrderIdsGrouped(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return Map.of();
+        }
+        return jdbcTemplate.query(
+                SELECT_LINES + "WHERE od.order_id IN (:orderIds) ORDER BY od.id",
+                new MapSqlParameterSource("orderIds", orderIds),
+                (rs, rowNum) -> toDTO(rs))
+            .stream()
+            .collect(Collectors.groupingBy(OrderDetailsDTO::orderId));
+    }
+
+    /**
+     * Lines that have not reached their final step, in id order, for reading all of them in batches.
+     */
+    public List<ActiveOrderLineDTO> findActiveLinesAfter(long afterId, int limit) {
+        return jdbcTemplate.query(
+            SELECT_ACTIVE_LINES + "AND od.id > :afterId ORDER BY od.id LIMIT :limit",
+            new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+            (rs, rowNum) -> toActiveLine(rs));
+    }
+
+    public List<ActiveOrderLineDTO> findActiveLinesByOrderIds(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+            SELECT_ACTIVE_LINES + "AND od.order_id IN (:orderIds)",
+            new MapSqlParameterSource("orderIds", orderIds),
+            (rs, rowNum) -> toActiveLine(rs));
+    }
+
+    private static OrderDetailsDTO toDTO(ResultSet rs) throws SQLException {
+        Item item = null;
+        long itemId = rs.getLong("item_id");
+        if (!rs.wasNull()) {
+            item = new Item(itemId, rs.getString("item_name"), rs.getObject("product_type_id", Long.class));
+            item.setImage(rs.getString("item_image"));
+            item.setDeleted(rs.getBoolean("is_deleted"));
+        }
+
+        List<Long> steps = readSteps(rs);
+        Map<Long, LocalDateTime> updated = readUpdated(rs, steps);
+
+        return new OrderDetailsDTO(
+            rs.getLong("id"),
+            rs.getLong("order_id"),
+            item,
+            rs.getObject("item_amount", Integer.class),
+            rs.getString("product_type"),
+            rs.getObject("current_step_index", Integer.class),
+            steps,
+            updated
+        );
+    }
+
+    private static ActiveOrderLineDTO toActiveLine(ResultSet rs) throws SQLException {
+        List<Long> steps = readSteps(rs);
+        Integer itemAmount = rs.getObject("item_amount", Integer.class);
+        return new ActiveOrderLineDTO(
+            rs.getLong("id"),
+            rs.getLong("order_id"),
+            rs.getLong("item_id"),
+            rs.getObject("product_type_id", Long.class),
+            itemAmount != null ? itemAmount : 0,
+            rs.getBoolean("priority"),
+            toLocalDateTime(rs.getTimestamp("order_created")),
+            rs.getInt("current_step_index"),
+            steps,
+            readUpdated(rs, steps)
+        );
+    }
+
+    private static List<Long> readSteps(ResultSet rs) throws SQLException {
+        List<Long> steps = new ArrayList<>();
+        for (Object stepId : toArray(rs.getArray("step_ids"))) {
+            steps.add(((Number) stepId).longValue());
+        }
+        return steps;
+    }
+
+    // Timestamps are stored at the index of their step
+    private static Map<Long, LocalDateTime> readUpdated(ResultSet rs, List<Long> steps) throws SQLException {
+        Map<Long, LocalDateTime> updated = new HashMap<>();
+        Object[] timestamps = toArray(rs.getArray("step_timestamps"));
+        for (int i = 0; i < timestamps.length && i < steps.size(); i++) {
+            LocalDateTime timestamp = toLocalDateTime(timestamps[i]);
+            if (timestamp != null) {
+                updated.put(steps.get(i), timestamp);
+            }
+        }
+        return updated;
+    }
+
+    private static Object[] toArray(Array array) throws SQLException {
+        if (array == null) {
+            return new Object[0];
+        }
+        try {
+            return (Object[]) array.getArray();
+        } finally {
+            array.free();
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
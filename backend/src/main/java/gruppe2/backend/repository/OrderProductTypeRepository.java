@@ -1,7 +1,7 @@
 package gruppe2.backend.repository;
 
 import gruppe2.backend.model.*;
-import gruppe2.backend.dto.OrderDetailsDTO;
+import gruppe2.backend.dto.ProductTypeCountDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,13 +9,12 @@ import org.springframework.stereotype.Repository;
 import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.EntityGraph;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Repository
 public interface OrderProductTypeRepository extends JpaRepository<OrderDetails, Long> {
-    @EntityGraph(attributePaths = {"item", "updated"})
+    @EntityGraph(attributePaths = {"item", "stepPlan"})
     @QueryHints({
         @QueryHint(name = "org.hibernate.readOnly", value = "true"),
         @QueryHint(name = "org.hibernate.cacheable", value = "true")
@@ -24,38 +23,37 @@ public interface OrderProductTypeRepository extends JpaRepository<OrderDetails,
     
     List<OrderDetails> findByCurrentStepIndex(Integer currentStepIndex);
     List<OrderDetails> findByItemId(Long itemId);
+
+    @Query("SELECT DISTINCT od.orderId FROM OrderDetails od WHERE od.item.productTypeId = :productTypeId")
+    List<Long> findOrderIdsByProductTypeId(@Param("productTypeId") Long productTypeId);
+
+    @Query("SELECT DISTINCT od.orderId FROM OrderDetails od WHERE od.stepPlan.id IN :stepPlanIds")
+    List<Long> findOrderIdsByStepPlanIdIn(@Param("stepPlanIds") Collection<Long> stepPlanIds);
     
+    // Loads order lines with their item and step plan in one round-trip, without locking them;
+    // concurrent changes are caught by the line's version. Steps and timestamps are
+    // single-valued, so there is one row per line.
     @Query(value = """
-           SELECT od FROM OrderDetails od 
-           LEFT JOIN FETCH od.item i 
-           LEFT JOIN FETCH od.updated 
-           WHERE od.orderId IN :orderIds 
-           ORDER BY od.id""")
-    @EntityGraph(attributePaths = {"item", "updated"})
-    @QueryHints({
-        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
-        @QueryHint(name = "org.hibernate.cacheable", value = "true")
-    })
-    List<OrderDetails> findByOrderIdIn(@Param("orderIds") List<Long> orderIds);
-    
-    default List<OrderDetailsDTO> findOrderDetailsDTOsByOrderIds(List<Long> orderIds) {
-        return findByOrderIdIn(orderIds).stream()
-            .map(od -> new OrderDetailsDTO(
-                od.getId(),
-                od.getOrderId(),
-                od.getItem(),
-                od.getItemAmount(),
-                od.getCurrentStepIndex(),
-                od.getDifferentSteps(),
-                od.getUpdated()
-            ))
-            .collect(Collectors.toList());
-    }
-    
-    default Map<Long, List<OrderDetailsDTO>> findByOrderIdsGrouped(List<Long> orderIds) {
-        return findOrderDetailsDTOsByOrderIds(orderIds).stream()
-            .collect(Collectors.groupingBy(dto -> dto.orderId()));
-    }
+           SELECT od FROM OrderDetails od
+           LEFT JOIN FETCH od.item
+           LEFT JOIN FETCH od.stepPlan
+           WHERE od.id IN :ids""")
+    List<OrderDetails> findAllWithPlanByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+           SELECT od FROM OrderDetails od
+           LEFT JOIN FETCH od.item
+           LEFT JOIN FETCH od.stepPlan
+           WHERE od.orderId = :orderId""")
+    List<OrderDetails> findAllForUpdateByOrderId(@Param("orderId") Long orderId);
 
     void deleteAllItemsByOrderId(Long orderId);
+
+    @Query("""
+           SELECT NEW gruppe2.backend.dto.ProductTypeCountDTO(od.product_type, COUNT(od))
+           FROM OrderDetails od
+           WHERE od.product_type IS NOT NULL
+           GROUP BY od.product_type
+           ORDER BY COUNT(od) DESC""")
+    List<ProductTypeCountDTO> countByProductType();
 }
\ No newline at end of file
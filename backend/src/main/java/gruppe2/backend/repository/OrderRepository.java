@@ -2,19 +2,22 @@ package gruppe2.backend.repository;
 
 import gruppe2.backend.model.*;
 import gruppe2.backend.dto.OrderDashboardDTO;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
     @Query("SELECT o FROM Order o")
     List<Order> findAll();
 
-    @Query("SELECT o FROM Order o WHERE o.customerName LIKE %:customerName%")
+    @Query("SELECT o FROM Order o WHERE LOWER(o.customerName) LIKE LOWER(CONCAT('%', :customerName, '%'))")
     List<Order> findByCustomerNameContainingIgnoreCase(@Param("customerName") String customerName);
 
     @Query("SELECT o FROM Order o WHERE o.priority = true")
@@ -25,8 +28,49 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
            "ORDER BY o.orderCreated ASC")
     List<OrderDashboardDTO> findAllForDashboard();
     
+    @Query("SELECT NEW gruppe2.backend.dto.OrderDashboardDTO(o.id, o.orderCreated, o.priority, o.customerName, o.notes) " +
+           "FROM Order o " +
+           "WHERE o.id IN :orderIds")
+    List<OrderDashboardDTO> findDashboardRowsByIds(@Param("orderIds") Collection<Long> orderIds);
+
     @Query("SELECT o FROM Order o ORDER BY o.orderCreated ASC")
     List<Order> findAllByOrderByOrderCreatedAsc();
 
     void deleteById(Long id);
+
+    // Locks the order rows in id order, so concurrent writers refresh their projection rows one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.id FROM Order o WHERE o.id IN :orderIds ORDER BY o.id")
+    List<Long> lockAllById(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Aggregates the dashboard statistics in a single statement.
+     * An order is completed when every line is at its final step; it was completed
+     * at the latest time one of its lines reached the step it is currently on.
+     */
+    @Query(value = """
+        WITH line_state AS (
+            SELECT od.order_id,
+                   od.current_step_index = COALESCE(sp.step_count, 0) - 1 AS finished,
+                   -- SQL arrays are 1-based
+                   od.step_timestamps[od.current_step_index + 1] AS reached_at
+            FROM order_details od
+            LEFT JOIN step_plans sp ON sp.id = od.step_plan_id
+        ),
+        order_state AS (
+            SELECT o.id, o.priority, o.order_created,
+                   COALESCE(BOOL_AND(ls.finished), TRUE) AS completed,
+                   MAX(ls.reached_at) AS completed_at
+            FROM orders o
+            LEFT JOIN line_state ls ON ls.order_id = o.id
+            GROUP BY o.id, o.priority, o.order_created
+        )
+        SELECT COUNT(*) AS "totalOrders",
+               COUNT(*) FILTER (WHERE completed) AS "completedOrders",
+               COUNT(*) FILTER (WHERE priority AND NOT completed) AS "priorityOrders",
+               COUNT(*) FILTER (WHERE completed AND completed_at >= :startOfDay) AS "ordersCompletedToday",
+               CAST(AVG(EXTRACT(EPOCH FROM completed_at) - EXTRACT(EPOCH FROM order_created))
+                    FILTER (WHERE completed) AS DOUBLE PRECISION) AS "averageProcessingSeconds"
+        FROM order_state""", nativeQuery = true)
+    OrderStatisticsProjection aggregateStatistics(@Param("startOfDay") LocalDateTime startOfDay);
 }
\ No newline at end of file
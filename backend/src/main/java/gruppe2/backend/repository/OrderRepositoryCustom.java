@@ -0,0 +1,18 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.dto.DashboardCursor;
+import gruppe2.backend.dto.DashboardFilterDTO;
+import gruppe2.backend.dto.OrderDashboardDTO;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    /**
+     * Keyset-paginated dashboard query ordered by (orderCreated, id).
+     * @param filter Server-side filters; null fields are ignored
+     * @param after Cursor of the last row already returned, or null for the first page
+     * @param limit Maximum number of rows to return
+     * @return At most {@code limit} dashboard rows without their items
+     */
+    List<OrderDashboardDTO> findDashboardPage(DashboardFilterDTO filter, DashboardCursor after, int limit);
+}
@@ -0,0 +1,138 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.dto.DashboardCursor;
+import gruppe2.backend.dto.DashboardFilterDTO;
+import gruppe2.backend.dto.DashboardStatusFilter;
+import gruppe2.backend.dto.OrderDashboardDTO;
+import gruppe2.backend.model.Order;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.StepPlan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Orders are paged by creation time and id, with orders that have no creation time last, by id.
+     * A page that runs past the last dated order is completed with a second query for the undated ones.
+     */
+    @Override
+    public List<OrderDashboardDTO> findDashboardPage(DashboardFilterDTO filter, DashboardCursor after, int limit) {
+        if (after == null) {
+            return findPage(filter, null, limit);
+        }
+        if (after.orderCreated() == null) {
+            return findPage(filter, (cb, order) -> cb.and(
+                cb.isNull(order.get("orderCreated")),
+                cb.greaterThan(order.<Long>get("id"), after.orderId())
+            ), limit);
+        }
+
+        // Keyset: (orderCreated, id) > (cursor.orderCreated, cursor.orderId). The redundant
+        // orderCreated >= bound is what lets the (order_created, id) index seek to the cursor
+        List<OrderDashboardDTO> page = new ArrayList<>(findPage(filter, (cb, order) -> cb.and(
+            cb.greaterThanOrEqualTo(order.<LocalDateTime>get("orderCreated"), after.orderCreated()),
+            cb.or(
+                cb.greaterThan(order.<LocalDateTime>get("orderCreated"), after.orderCreated()),
+                cb.and(
+                    cb.equal(order.get("orderCreated"), after.orderCreated()),
+                    cb.greaterThan(order.<Long>get("id"), after.orderId())
+                )
+            )
+        ), limit));
+        if (page.size() < limit) {
+            page.addAll(findPage(filter, (cb, order) -> cb.isNull(order.get("orderCreated")), limit - page.size()));
+        }
+        return page;
+    }
+
+    private List<OrderDashboardDTO> findPage(DashboardFilterDTO filter, Keyset keyset, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<OrderDashboardDTO> query = cb.createQuery(OrderDashboardDTO.class);
+        Root<Order> order = query.from(Order.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (keyset != null) {
+            predicates.add(keyset.after(cb, order));
+        }
+
+        if (filter.priority() != null) {
+            predicates.add(cb.equal(order.get("priority"), filter.priority()));
+        }
+
+        if (filter.customerName() != null) {
+            predicates.add(cb.like(
+                cb.lower(order.get("customerName")),
+                "%" + escapeLike(filter.customerName().toLowerCase()) + "%",
+                '\\'
+            ));
+        }
+
+        if (filter.productTypeId() != null) {
+            Subquery<Long> withProductType = query.subquery(Long.class);
+            Root<OrderDetails> details = withProductType.from(OrderDetails.class);
+            withProductType.select(details.get("id")).where(
+                cb.equal(details.get("orderId"), order.get("id")),
+                cb.equal(details.get("item").get("productTypeId"), filter.productTypeId())
+            );
+            predicates.add(cb.exists(withProductType));
+        }
+
+        if (filter.status() != DashboardStatusFilter.ALL) {
+            // An order is completed when none of its lines is before its final step
+            Subquery<Long> unfinished = query.subquery(Long.class);
+            Root<OrderDetails> details = unfinished.from(OrderDetails.class);
+            Join<OrderDetails, StepPlan> stepPlan = details.join("stepPlan", JoinType.LEFT);
+            unfinished.select(details.get("id")).where(
+                cb.equal(details.get("orderId"), order.get("id")),
+                cb.lessThan(
+                    details.<Integer>get("currentStepIndex"),
+                    cb.diff(cb.coalesce(stepPlan.<Integer>get("stepCount"), 0), 1)
+                )
+            );
+            predicates.add(filter.status() == DashboardStatusFilter.ACTIVE
+                ? cb.exists(unfinished)
+                : cb.not(cb.exists(unfinished)));
+        }
+
+        query.select(cb.construct(
+                OrderDashboardDTO.class,
+                order.get("id"),
+                order.get("orderCreated"),
+                order.get("priority"),
+                order.get("customerName"),
+                order.get("notes")))
+            .where(predicates.toArray(new Predicate[0]))
+            // Nulls last in both databases, which is also the order of the (order_created, id) index
+            .orderBy(cb.asc(order.get("orderCreated"), false), cb.asc(order.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit)
+            .getResultList();
+    }
+
+    private interface Keyset {
+        Predicate after(CriteriaBuilder cb, Root<Order> order);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+    }
+}
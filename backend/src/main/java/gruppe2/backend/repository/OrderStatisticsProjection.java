@@ -0,0 +1,9 @@
+package gruppe2.backend.repository;
+
+public interface OrderStatisticsProjection {
+    Long getTotalOrders();
+    Long getCompletedOrders();
+    Long getPriorityOrders();
+    Long getOrdersCompletedToday();
+    Double getAverageProcessingSeconds();
+}
@@ -0,0 +1,19 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.model.ProcessedStepChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedStepChangeRepository extends JpaRepository<ProcessedStepChange, String> {
+    @Modifying
+    @Query("""
+           DELETE FROM ProcessedStepChange c
+           WHERE c.processedAt < :before""")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,9 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.model.ProcessedWebhookEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedWebhookEventRepository extends JpaRepository<ProcessedWebhookEvent, Long> {
+}
@@ -3,8 +3,11 @@ package gruppe2.backend.repository;
 import gruppe2.backend.model.*;
 import gruppe2.backend.repository.*;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -12,4 +15,15 @@ import java.util.List;
 public interface ProductTypeRepository extends JpaRepository<ProductType, Long> {
     List<ProductType> findByNameContainingIgnoreCase(String name);
     List<ProductTypeProjection> findAllProjectedBy();
+
+    @Query(value = """
+           SELECT DISTINCT pt FROM ProductType pt
+           LEFT JOIN FETCH pt.steps
+           WHERE pt.id IN :ids""")
+    List<ProductType> findAllWithStepsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = """
+           SELECT DISTINCT pt FROM ProductType pt
+           LEFT JOIN FETCH pt.steps""")
+    List<ProductType> findAllWithSteps();
 }
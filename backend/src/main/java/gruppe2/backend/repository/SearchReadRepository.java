@@ -0,0 +1,145 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.dto.ItemSearchHitDTO;
+import gruppe2.backend.dto.OrderSearchHitDTO;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Ranked substring search over orders and items with plain JDBC.
+ * <p>
+ * Text columns are matched as lower(column) LIKE '%term%', which the trigram indexes of the
+ * V2 and V4 migrations serve on PostgreSQL; ids are only matched exactly, through the primary
+ * key. A match is ranked by how much of the text it covers: the id, then the whole text, the
+ * start of the text, the start of a word and anywhere else. Ties are broken by id, newest first.
+ */
+@Repository
+public class SearchReadRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchReadRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param term Lower-case text to search for, or null to only match the id
+     * @param id The term as an order id, or null when it is not a number
+     */
+    public List<OrderSearchHitDTO> searchOrders(String term, Long id, long offset, int limit) {
+        String sql = """
+            SELECT o.id, o.customer_name, o.notes, o.priority, o.order_created
+            FROM orders o
+            WHERE %s
+            ORDER BY CASE
+                %s
+                WHEN lower(o.customer_name) = :term THEN 1
+                WHEN lower(o.customer_name) LIKE :prefix ESCAPE '\\' THEN 2
+                WHEN lower(o.customer_name) LIKE :wordPrefix ESCAPE '\\' THEN 3
+                WHEN lower(o.customer_name) LIKE :contains ESCAPE '\\' THEN 4
+                ELSE 5
+            END, o.id DESC
+            LIMIT :limit OFFSET :offset""".formatted(
+                matches(term != null ? "lower(o.customer_name) LIKE :contains ESCAPE '\\' OR lower(o.notes) LIKE :contains ESCAPE '\\'" : null,
+                    id != null ? "o.id = :id" : null),
+                id != null ? "WHEN o.id = :id THEN 0" : "");
+        return jdbcTemplate.query(sql, page(parameters(term, id), offset, limit), (rs, rowNum) -> {
+            Timestamp created = rs.getTimestamp("order_created");
+            return new OrderSearchHitDTO(
+                rs.getLong("id"),
+                rs.getString("customer_name"),
+                rs.getString("notes"),
+                rs.getBoolean("priority"),
+                created != null ? created.toLocalDateTime() : null
+            );
+        });
+    }
+
+    /**
+     * Deleted items are left out.
+     * @param term Lower-case text to search for, or null to only match the id
+     * @param id The term as an item id, or null when it is not a number
+     */
+    public List<ItemSearchHitDTO> searchItems(String term, Long id, long offset, int limit) {
+        String sql = """
+            SELECT i.id, i.name, i.product_type_id, i.item_image
+            FROM items i
+            WHERE (%s)
+              AND (i.is_deleted IS NULL OR i.is_deleted = FALSE)
+            ORDER BY CASE
+                %s
+                WHEN lower(i.name) = :term THEN 1
+                WHEN lower(i.name) LIKE :prefix ESCAPE '\\' THEN 2
+                WHEN lower(i.name) LIKE :wordPrefix ESCAPE '\\' THEN 3
+                ELSE 4
+            END, i.id DESC
+            LIMIT :limit OFFSET :offset""".formatted(
+                matches(term != null ? "lower(i.name) LIKE :contains ESCAPE '\\'" : null,
+                    id != null ? "i.id = :id" : null),
+                id != null ? "WHEN i.id = :id THEN 0" : "");
+        return jdbcTemplate.query(sql, page(parameters(term, id), offset, limit), (rs, rowNum) -> new ItemSearchHitDTO(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getObject("product_type_id", Long.class),
+            rs.getString("item_image")
+        ));
+    }
+
+    /**
+     * The ids of all matching orders, unranked and without a limit.
+     * @param term Lower-case text to search for, or null to only match the id
+     * @param id The term as an order id, or null when it is not a number
+     */
+    public List<Long> findMatchingOrderIds(String term, Long id) {
+        String sql = "SELECT o.id FROM orders o WHERE " + matches(
+            term != null ? "lower(o.customer_name) LIKE :contains ESCAPE '\\' OR lower(o.notes) LIKE :contains ESCAPE '\\'" : null,
+            id != null ? "o.id = :id" : null);
+        return jdbcTemplate.queryForList(sql, parameters(term, id), Long.class);
+    }
+
+    /**
+     * The ids of all matching items that are not deleted, unranked and without a limit.
+     * @param term Lower-case text to search for, or null to only match the id
+     * @param id The term as an item id, or null when it is not a number
+     */
+    public List<Long> findMatchingItemIds(String term, Long id) {
+        String sql = "SELECT i.id FROM items i WHERE (" + matches(
+            term != null ? "lower(i.name) LIKE :contains ESCAPE '\\'" : null,
+            id != null ? "i.id = :id" : null) + ") AND (i.is_deleted IS NULL OR i.is_deleted = FALSE)";
+        return jdbcTemplate.queryForList(sql, parameters(term, id), Long.class);
+    }
+
+    private static String matches(String textMatch, String idMatch) {
+        if (textMatch == null && idMatch == null) {
+            throw new IllegalArgumentException("Nothing to search for");
+        }
+        return textMatch == null ? idMatch : idMatch == null ? textMatch : textMatch + " OR " + idMatch;
+    }
+
+    private static MapSqlParameterSource page(MapSqlParameterSource parameters, long offset, int limit) {
+        return parameters.addValue("offset", offset).addValue("limit", limit);
+    }
+
+    private static MapSqlParameterSource parameters(String term, Long id) {
+        // Only used for ranking when the text is not searched
+        String text = term != null ? term : "";
+        String escaped = escapeLike(text);
+        MapSqlParameterSource parameters = new MapSqlParameterSource("term", text)
+            .addValue("contains", "%" + escaped + "%")
+            .addValue("prefix", escaped + "%")
+            .addValue("wordPrefix", "% " + escaped + "%");
+        if (id != null) {
+            parameters.addValue("id", id);
+        }
+        return parameters;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+    }
+}
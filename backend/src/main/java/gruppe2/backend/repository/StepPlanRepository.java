@@ -0,0 +1,12 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.model.StepPlan;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StepPlanRepository extends JpaRepository<StepPlan, Long> {
+    Optional<StepPlan> findByPlanHash(String planHash);
+}
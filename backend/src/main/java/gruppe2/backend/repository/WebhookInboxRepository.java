@@ -0,0 +1,78 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.model.WebhookInboxEntry;
+import gruppe2.backend.model.WebhookInboxStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookInboxRepository extends JpaRepository<WebhookInboxEntry, Long> {
+    @Query("""
+           SELECT e.id FROM WebhookInboxEntry e
+           WHERE e.status = gruppe2.backend.model.WebhookInboxStatus.PENDING
+           AND e.nextAttemptAt <= :now
+           ORDER BY e.id""")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Conditional update so an entry is only handed to one worker, even across instances
+    @Transactional
+    @Modifying
+    @Query("""
+           UPDATE WebhookInboxEntry e
+           SET e.status = gruppe2.backend.model.WebhookInboxStatus.PROCESSING,
+               e.claimedBy = :node, e.claimedAt = :now
+           WHERE e.id = :id AND e.status = gruppe2.backend.model.WebhookInboxStatus.PENDING""")
+    int claim(@Param("id") Long id, @Param("node") int node, @Param("now") LocalDateTime now);
+
+    /**
+     * Puts entries left in PROCESSING by a crash or shutdown back in the queue: those whose
+     * lease has expired, and those this node claimed before it was (re)started. Entries that
+     * other instances are still working on keep their claim.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+           UPDATE WebhookInboxEntry e
+           SET e.status = gruppe2.backend.model.WebhookInboxStatus.PENDING,
+               e.claimedBy = NULL, e.claimedAt = NULL
+           WHERE e.status = gruppe2.backend.model.WebhookInboxStatus.PROCESSING
+           AND (e.claimedAt IS NULL
+                OR e.claimedAt < :expiredBefore
+                OR (e.claimedBy = :node AND e.claimedAt < :startedAt))""")
+    int releaseAbandoned(
+            @Param("node") int node,
+            @Param("startedAt") LocalDateTime startedAt,
+            @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    @Transactional
+    @Modifying
+    @Query("""
+           DELETE FROM WebhookInboxEntry e
+           WHERE e.status = gruppe2.backend.model.WebhookInboxStatus.DONE
+           AND e.processedAt < :before""")
+    int deleteDoneBefore(@Param("before") LocalDateTime before);
+
+    long countByStatus(WebhookInboxStatus status);
+
+    @Query("""
+           SELECT COUNT(e) FROM WebhookInboxEntry e
+           WHERE e.status IN (gruppe2.backend.model.WebhookInboxStatus.PENDING,
+                              gruppe2.backend.model.WebhookInboxStatus.PROCESSING)""")
+    long countUnprocessed();
+
+    @Query("""
+           SELECT MIN(e.receivedAt) FROM WebhookInboxEntry e
+           WHERE e.status IN (gruppe2.backend.model.WebhookInboxStatus.PENDING,
+                              gruppe2.backend.model.WebhookInboxStatus.PROCESSING)""")
+    LocalDateTime findOldestUnprocessedReceivedAt();
+
+    List<WebhookInboxEntry> findByStatusOrderByIdAsc(WebhookInboxStatus status, Pageable pageable);
+}
@@ -0,0 +1,40 @@
+package gruppe2.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Brings the dashboard projection up to date on startup.
+ * <p>
+ * Rows missing for orders created before the projection existed are found by comparing row
+ * counts, which is cheap. The write paths keep the content up to date, so comparing every row
+ * against the normalized tables only runs when {@code dashboard.projection.repair-on-startup}
+ * is set, e.g. after the tables were changed by hand.
+ */
+@Component
+public class DashboardProjectionInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardProjectionInitializer.class);
+    private final DashboardProjectionService dashboardProjectionService;
+    private final boolean repairOnStartup;
+
+    public DashboardProjectionInitializer(
+            DashboardProjectionService dashboardProjectionService,
+            @Value("${dashboard.projection.repair-on-startup:false}") boolean repairOnStartup) {
+        this.dashboardProjectionService = dashboardProjectionService;
+        this.repairOnStartup = repairOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bringUpToDate() {
+        if (repairOnStartup) {
+            dashboardProjectionService.repair();
+        } else if (dashboardProjectionService.isOutOfSync()) {
+            logger.info("Dashboard projection does not cover every order, repairing");
+            dashboardProjectionService.repair();
+        }
+    }
+}
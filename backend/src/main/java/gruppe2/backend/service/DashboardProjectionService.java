@@ -0,0 +1,291 @@
+package gruppe2.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import gruppe2.backend.dto.*;
+import gruppe2.backend.mapper.OrderDashboardMapper;
+import gruppe2.backend.model.DashboardOrderView;
+import gruppe2.backend.repository.DashboardOrderViewRepository;
+import gruppe2.backend.repository.OrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the denormalized dashboard read model (one {@link DashboardOrderView} per order).
+ * Write paths call {@link #refreshOrders} / {@link #removeOrder} inside their own transaction,
+ * so the projection commits or rolls back together with the normalized tables.
+ * <p>
+ * A refresh first flushes its transaction's pending changes, since the order lines are read
+ * with plain JDBC, and locks the rows of its orders. Two transactions changing the same order
+ * then rebuild its row one after the other, and the second one reads the normalized tables
+ * after the first has committed, so neither can leave a view built from stale data.
+ */
+@Service
+public class DashboardProjectionService {
+    private static final Logger logger = LoggerFactory.getLogger(DashboardProjectionService.class);
+    private static final int BATCH_SIZE = 500;
+    private static final TypeReference<List<OrderDetailsWithStatusDTO>> ITEMS_TYPE = new TypeReference<>() {};
+
+    private final DashboardOrderViewRepository viewRepository;
+    private final OrderRepository orderRepository;
+    private final OrderDashboardMapper orderDashboardMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate newTransaction;
+
+    public DashboardProjectionService(
+            DashboardOrderViewRepository viewRepository,
+            OrderRepository orderRepository,
+            OrderDashboardMapper orderDashboardMapper,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.viewRepository = viewRepository;
+        this.orderRepository = orderRepository;
+        this.orderDashboardMapper = orderDashboardMapper;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        // Timestamps are stored with microsecond precision, so rows projected from in-memory
+        // entities must be rounded the same way to compare equal to rows read back later
+        this.objectMapper = objectMapper.copy().registerModule(new SimpleModule()
+                .addSerializer(LocalDateTime.class, new StoredPrecisionSerializer()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDashboardDTO> findAll() {
+        return viewRepository.findAllOrdered().stream()
+                .map(this::toDashboardDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void refreshOrder(Long orderId) {
+        refreshOrders(List.of(orderId));
+    }
+
+    @Transactional
+    public void refreshOrders(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        // The order lines are read with plain JDBC, which does not flush pending changes first
+        orderRepository.flush();
+        orderRepository.lockAllById(orderIds);
+        Map<Long, DashboardOrderView> fresh = buildViews(orderIds);
+        Map<Long, DashboardOrderView> existing = viewRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(DashboardOrderView::getOrderId, Function.identity()));
+
+        List<DashboardOrderView> toSave = new ArrayList<>();
+        fresh.forEach((orderId, view) -> {
+            DashboardOrderView current = existing.get(orderId);
+            if (current == null) {
+                toSave.add(view);
+            } else {
+                current.refreshFrom(view);
+                toSave.add(current);
+            }
+        });
+        viewRepository.saveAll(toSave);
+
+        // Orders that disappeared from the normalized tables must not linger in the projection
+        existing.keySet().stream()
+                .filter(orderId -> !fresh.containsKey(orderId))
+                .forEach(viewRepository::deleteById);
+    }
+
+    /**
+     * Refreshes the orders in a new transaction once the current one has committed.
+     * For changes to the reference data, whose caches are only evicted on commit.
+     */
+    public void refreshOrdersAfterCommit(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(orderIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    newTransaction.executeWithoutResult(status -> refreshOrders(ids));
+                }
+            });
+        } else {
+            newTransaction.executeWithoutResult(status -> refreshOrders(ids));
+        }
+    }
+
+    @Transactional
+    public void removeOrder(Long orderId) {
+        viewRepository.findById(orderId).ifPresent(viewRepository::delete);
+    }
+
+    /**
+     * Drops and recomputes the whole projection from the normalized tables.
+     * @return The number of projected orders
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        viewRepository.deleteAllInBatch();
+
+        int projected = 0;
+        DashboardFilterDTO everything = new DashboardFilterDTO(null, null, null, DashboardStatusFilter.ALL);
+        DashboardCursor cursor = null;
+        List<OrderDashboardDTO> batch;
+        do {
+            batch = orderRepository.findDashboardPage(everything, cursor, BATCH_SIZE);
+            if (!batch.isEmpty()) {
+                orderDashboardMapper.attachItems(batch);
+                viewRepository.saveAll(batch.stream().map(this::toView).collect(Collectors.toList()));
+                projected += batch.size();
+                cursor = DashboardCursor.after(batch.get(batch.size() - 1));
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        logger.info("Rebuilt dashboard projection with {} orders in {} ms", projected, System.currentTimeMillis() - start);
+        return projected;
+    }
+
+    /**
+     * Compares every projection row against a fresh computation from the normalized tables.
+     */
+    @Transactional(readOnly = true)
+    public DashboardProjectionReportDTO checkConsistency() {
+        Set<Long> projectedIds = new HashSet<>(viewRepository.findAllOrderIds());
+        List<Long> missing = new ArrayList<>();
+        List<Long> stale = new ArrayList<>();
+        long checked = 0;
+
+        DashboardFilterDTO everything = new DashboardFilterDTO(null, null, null, DashboardStatusFilter.ALL);
+        DashboardCursor cursor = null;
+        List<OrderDashboardDTO> batch;
+        do {
+            batch = orderRepository.findDashboardPage(everything, cursor, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                break;
+            }
+            orderDashboardMapper.attachItems(batch);
+            Map<Long, DashboardOrderView> stored = viewRepository.findAllById(
+                    batch.stream().map(OrderDashboardDTO::getOrderId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(DashboardOrderView::getOrderId, Function.identity()));
+
+            for (OrderDashboardDTO dto : batch) {
+                DashboardOrderView current = stored.get(dto.getOrderId());
+                if (current == null) {
+                    missing.add(dto.getOrderId());
+                } else if (!current.hasSameContentAs(toView(dto))) {
+                    stale.add(dto.getOrderId());
+                }
+                projectedIds.remove(dto.getOrderId());
+                checked++;
+            }
+            cursor = DashboardCursor.after(batch.get(batch.size() - 1));
+        } while (batch.size() == BATCH_SIZE);
+
+        return new DashboardProjectionReportDTO(checked, missing, stale, new ArrayList<>(projectedIds));
+    }
+
+    /**
+     * Refreshes every projection row that is missing, stale or orphaned.
+     * @return The number of repaired orders
+     */
+    @Transactional
+    public int repair() {
+        DashboardProjectionReportDTO report = checkConsistency();
+        if (report.isConsistent()) {
+            return 0;
+        }
+        List<Long> orderIds = new ArrayList<>(report.missingOrderIds());
+        orderIds.addAll(report.staleOrderIds());
+        orderIds.addAll(report.orphanedOrderIds());
+        for (int from = 0; from < orderIds.size(); from += BATCH_SIZE) {
+            refreshOrders(orderIds.subList(from, Math.min(from + BATCH_SIZE, orderIds.size())));
+        }
+        logger.info("Repaired dashboard projection: {} missing, {} stale and {} orphaned orders",
+                report.missingOrderIds().size(), report.staleOrderIds().size(), report.orphanedOrderIds().size());
+        return orderIds.size();
+    }
+
+    /**
+     * Cheap check for missing or orphaned rows: the projection has a row for every order.
+     */
+    @Transactional(readOnly = true)
+    public boolean isOutOfSync() {
+        return viewRepository.count() != orderRepository.count();
+    }
+
+    private Map<Long, DashboardOrderView> buildViews(Collection<Long> orderIds) {
+        List<OrderDashboardDTO> rows = orderRepository.findDashboardRowsByIds(orderIds);
+        orderDashboardMapper.attachItems(rows);
+        return rows.stream()
+                .map(this::toView)
+                .collect(Collectors.toMap(DashboardOrderView::getOrderId, Function.identity()));
+    }
+
+    private DashboardOrderView toView(OrderDashboardDTO dto) {
+        List<OrderDetailsWithStatusDTO> items = dto.getItems();
+        boolean completed = items.stream()
+                .allMatch(item -> item.currentStepIndex() != null &&
+                                  item.currentStepIndex() == item.differentSteps().length - 1);
+        try {
+            return new DashboardOrderView(
+                dto.getOrderId(),
+                roundToStoredPrecision(dto.getOrderCreated()),
+                dto.isPriority(),
+                dto.getCustomerName(),
+                dto.getNotes(),
+                completed,
+                objectMapper.writeValueAsString(items)
+            );
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize dashboard items for order " + dto.getOrderId(), e);
+        }
+    }
+
+    private OrderDashboardDTO toDashboardDTO(DashboardOrderView view) {
+        OrderDashboardDTO dto = new OrderDashboardDTO(
+            view.getOrderId(),
+            view.getOrderCreated(),
+            view.isPriority(),
+            view.getCustomerName(),
+            view.getNotes()
+        );
+        try {
+            dto.setItems(objectMapper.readValue(view.getItemsJson(), ITEMS_TYPE));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Corrupt dashboard projection row for order " + view.getOrderId(), e);
+        }
+        return dto;
+    }
+
+    private static LocalDateTime roundToStoredPrecision(LocalDateTime value) {
+        // Half-up rounding to whole microseconds, as PostgreSQL and H2 do on insert
+        return value != null ? value.plusNanos(500).truncatedTo(ChronoUnit.MICROS) : null;
+    }
+
+    private static class StoredPrecisionSerializer extends JsonSerializer<LocalDateTime> {
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(roundToStoredPrecision(value)));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.DashboardStatisticsDTO;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.repository.OrderRepository;
+import gruppe2.backend.repository.OrderStatisticsProjection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Computes the dashboard statistics in the database and keeps the result for a short TTL,
+ * so every open dashboard tab shares one aggregate query instead of downloading all orders.
+ */
+@Service
+public class DashboardStatisticsService {
+    private static final double SECONDS_PER_DAY = 60 * 60 * 24;
+
+    private final OrderRepository orderRepository;
+    private final OrderProductTypeRepository orderProductTypeRepository;
+    private final Duration cacheTtl;
+    private final Clock clock = Clock.systemDefaultZone();
+
+    private volatile CachedStatistics cached;
+
+    public DashboardStatisticsService(
+            OrderRepository orderRepository,
+            OrderProductTypeRepository orderProductTypeRepository,
+            @Value("${dashboard.statistics.cache-ttl:PT10S}") Duration cacheTtl) {
+        this.orderRepository = orderRepository;
+        this.orderProductTypeRepository = orderProductTypeRepository;
+        this.cacheTtl = cacheTtl;
+    }
+
+    public DashboardStatisticsDTO getStatistics() {
+        CachedStatistics current = cached;
+        if (current != null && current.isFresh(clock.instant())) {
+            return current.statistics();
+        }
+        synchronized (this) {
+            // Another request may have refreshed while we waited for the lock
+            current = cached;
+            if (current != null && current.isFresh(clock.instant())) {
+                return current.statistics();
+            }
+            DashboardStatisticsDTO statistics = computeStatistics();
+            cached = new CachedStatistics(statistics, clock.instant().plus(cacheTtl));
+            return statistics;
+        }
+    }
+
+    public void invalidate() {
+        cached = null;
+    }
+
+    private DashboardStatisticsDTO computeStatistics() {
+        LocalDateTime startOfDay = LocalDate.now(clock).atStartOfDay();
+        OrderStatisticsProjection aggregate = orderRepository.aggregateStatistics(startOfDay);
+
+        long total = valueOrZero(aggregate.getTotalOrders());
+        long completed = valueOrZero(aggregate.getCompletedOrders());
+        double averageSeconds = aggregate.getAverageProcessingSeconds() != null
+            ? aggregate.getAverageProcessingSeconds()
+            : 0;
+
+        return new DashboardStatisticsDTO(
+            total,
+            total - completed,
+            completed,
+            valueOrZero(aggregate.getPriorityOrders()),
+            valueOrZero(aggregate.getOrdersCompletedToday()),
+            Math.round(averageSeconds / SECONDS_PER_DAY * 10) / 10.0,
+            orderProductTypeRepository.countByProductType()
+        );
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private record CachedStatistics(DashboardStatisticsDTO statistics, Instant expiresAt) {
+        boolean isFresh(Instant now) {
+            return now.isBefore(expiresAt);
+        }
+    }
+}
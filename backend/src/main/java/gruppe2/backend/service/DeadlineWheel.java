@@ -0,0 +1,99 @@
+package gruppe2.backend.service;
+
+import java.util.*;
+
+/**
+ * A hashed timing wheel of deadlines, keyed by id.
+ * <p>
+ * Time is cut into ticks and every deadline is put into the slot of the tick it falls in,
+ * modulo the number of slots, so scheduling and cancelling take constant time however many
+ * deadlines are pending. Advancing the wheel only visits the slots of the ticks that passed;
+ * deadlines more than one revolution away share a slot with nearer ones and stay until
+ * their own tick comes round.
+ * <p>
+ * Not thread-safe: meant to be owned by a single thread.
+ */
+class DeadlineWheel {
+    private final long tickMillis;
+    private final int mask;
+    private final List<Set<Long>> slots;
+    private final Map<Long, Long> deadlineTicks = new HashMap<>();
+    // The first tick that has not been processed yet
+    private long nextTick;
+
+    /**
+     * @param slotCount Number of slots, a power of two
+     */
+    DeadlineWheel(long tickMillis, int slotCount, long nowMillis) {
+        if (tickMillis <= 0 || slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Tick must be positive and the slot count a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = slotCount - 1;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+        this.nextTick = Math.floorDiv(nowMillis, tickMillis) + 1;
+    }
+
+    /**
+     * Schedules the id for the deadline, replacing an earlier deadline of the same id.
+     * A deadline that has already passed expires on the next advance.
+     */
+    void schedule(long id, long deadlineMillis) {
+        cancel(id);
+        // The first tick at or after the deadline
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), nextTick);
+        slots.get(slot(tick)).add(id);
+        deadlineTicks.put(id, tick);
+    }
+
+    boolean cancel(long id) {
+        Long tick = deadlineTicks.remove(id);
+        if (tick == null) {
+            return false;
+        }
+        slots.get(slot(tick)).remove(id);
+        return true;
+    }
+
+    /**
+     * Moves the wheel to the given time.
+     * @return The ids whose deadline has been reached since the last advance; they are removed
+     */
+    List<Long> advance(long nowMillis) {
+        long lastTick = Math.floorDiv(nowMillis, tickMillis);
+        if (lastTick < nextTick) {
+            return List.of();
+        }
+        List<Long> expired = new ArrayList<>();
+        // After a full revolution or more every slot is due, so each is visited only once
+        long ticks = Math.min(lastTick - nextTick + 1, slots.size());
+        for (long tick = nextTick; tick < nextTick + ticks; tick++) {
+            Iterator<Long> ids = slots.get(slot(tick)).iterator();
+            while (ids.hasNext()) {
+                Long id = ids.next();
+                if (deadlineTicks.get(id) <= lastTick) {
+                    ids.remove();
+                    deadlineTicks.remove(id);
+                    expired.add(id);
+                }
+            }
+        }
+        nextTick = lastTick + 1;
+        return expired;
+    }
+
+    boolean contains(long id) {
+        return deadlineTicks.containsKey(id);
+    }
+
+    int size() {
+        return deadlineTicks.size();
+    }
+
+    private int slot(long tick) {
+        return (int) (tick & mask);
+    }
+}
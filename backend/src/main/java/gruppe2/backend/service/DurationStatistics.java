@@ -0,0 +1,129 @@
+package gruppe2.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * Running statistics over a stream of durations in minutes, updated in constant time and space.
+ * <p>
+ * Keeps an exponentially weighted moving average, which follows recent changes in pace, and the
+ * median and 90th percentile estimated with the P² algorithm (Jain and Chlamtac), which tracks a
+ * quantile with five markers instead of storing the observations.
+ */
+class DurationStatistics {
+    private final double smoothing;
+    private final Quantile median = new Quantile(0.5);
+    private final Quantile p90 = new Quantile(0.9);
+    private long count;
+    private double average;
+
+    /**
+     * @param smoothing Weight of each new observation in the moving average, between 0 and 1
+     */
+    DurationStatistics(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    synchronized void add(double minutes) {
+        average = count == 0 ? minutes : average + smoothing * (minutes - average);
+        median.add(minutes);
+        p90.add(minutes);
+        count++;
+    }
+
+    synchronized Snapshot snapshot() {
+        return new Snapshot(count, average, median.value(), p90.value());
+    }
+
+    record Snapshot(long count, double average, double median, double p90) {}
+
+    /**
+     * P² estimator of a single quantile.
+     */
+    static class Quantile {
+        private final double p;
+        // Marker heights, actual and desired positions (1-based), and desired position increments
+        private final double[] heights = new double[5];
+        private final double[] positions = new double[5];
+        private final double[] desired = new double[5];
+        private final double[] increments;
+        private int count;
+
+        Quantile(double p) {
+            this.p = p;
+            this.increments = new double[] { 0, p / 2, p, (1 + p) / 2, 1 };
+        }
+
+        void add(double x) {
+            if (count < 5) {
+                heights[count++] = x;
+                if (count == 5) {
+                    Arrays.sort(heights);
+                    for (int i = 0; i < 5; i++) {
+                        positions[i] = i + 1;
+                    }
+                    desired[0] = 1;
+                    desired[1] = 1 + 2 * p;
+                    desired[2] = 1 + 4 * p;
+                    desired[3] = 3 + 2 * p;
+                    desired[4] = 5;
+                }
+                return;
+            }
+            count++;
+
+            int cell;
+            if (x < heights[0]) {
+                heights[0] = x;
+                cell = 0;
+            } else if (x >= heights[4]) {
+                heights[4] = x;
+                cell = 3;
+            } else {
+                cell = 0;
+                while (x >= heights[cell + 1]) {
+                    cell++;
+                }
+            }
+            for (int i = cell + 1; i < 5; i++) {
+                positions[i]++;
+            }
+            for (int i = 0; i < 5; i++) {
+                desired[i] += increments[i];
+            }
+
+            // Move the middle markers towards their desired positions
+            for (int i = 1; i <= 3; i++) {
+                double offset = desired[i] - positions[i];
+                if ((offset >= 1 && positions[i + 1] - positions[i] > 1)
+                        || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                    int step = offset > 0 ? 1 : -1;
+                    double height = parabolic(i, step);
+                    heights[i] = heights[i - 1] < height && height < heights[i + 1] ? height : linear(i, step);
+                    positions[i] += step;
+                }
+            }
+        }
+
+        double value() {
+            if (count == 0) {
+                return Double.NaN;
+            }
+            if (count < 5) {
+                double[] observed = Arrays.copyOf(heights, count);
+                Arrays.sort(observed);
+                return observed[(int) Math.round(p * (count - 1))];
+            }
+            return heights[2];
+        }
+
+        private double parabolic(int i, int step) {
+            return heights[i] + step / (positions[i + 1] - positions[i - 1])
+                * ((positions[i] - positions[i - 1] + step) * (heights[i + 1] - heights[i]) / (positions[i + 1] - positions[i])
+                + (positions[i + 1] - positions[i] - step) * (heights[i] - heights[i - 1]) / (positions[i] - positions[i - 1]));
+        }
+
+        private double linear(int i, int step) {
+            return heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+        }
+    }
+}
@@ -3,24 +3,29 @@ package gruppe2.backend.service;
 import gruppe2.backend.dto.ItemDTO;
 import gruppe2.backend.domain.command.CreateItemCommand;
 import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
 import gruppe2.backend.repository.ItemProjection;
 import gruppe2.backend.repository.ItemRepository;
 import gruppe2.backend.repository.ProductTypeRepository;
 import gruppe2.backend.repository.OrderProductTypeRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ItemService {
     private final ItemRepository itemRepository;
     private final ProductTypeRepository productTypeRepository;
     private final OrderProductTypeRepository orderProductTypeRepository;
+    private final DashboardProjectionService dashboardProjectionService;
 
-    public ItemService(ItemRepository itemRepository, ProductTypeRepository productTypeRepository, OrderProductTypeRepository orderProductTypeRepository) {
+    public ItemService(ItemRepository itemRepository, ProductTypeRepository productTypeRepository, OrderProductTypeRepository orderProductTypeRepository, DashboardProjectionService dashboardProjectionService) {
         this.itemRepository = itemRepository;
         this.productTypeRepository = productTypeRepository;
         this.orderProductTypeRepository = orderProductTypeRepository;
+        this.dashboardProjectionService = dashboardProjectionService;
     }
 
     public Item createItem(ItemDTO itemDTO) {
@@ -38,6 +43,7 @@ public class ItemService {
         return item;
     }
 
+    @Transactional
     public void setItemAsDeleted(Long itemId) {
         try {
             Item item = itemRepository.findById(itemId)
@@ -47,6 +53,10 @@ public class ItemService {
             }
             item.setDeleted(true);
             itemRepository.save(item);
+            // The item (and its deleted flag) is embedded in every dashboard row that contains it
+            dashboardProjectionService.refreshOrders(orderProductTypeRepository.findByItemId(itemId).stream()
+                .map(OrderDetails::getOrderId)
+                .collect(Collectors.toSet()));
         } catch (RuntimeException e) {
             throw new RuntimeException("Could not delete item: " + itemId);
         }
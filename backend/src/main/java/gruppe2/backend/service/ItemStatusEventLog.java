@@ -0,0 +1,119 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.OrderStatus;
+import gruppe2.backend.domain.event.ItemAddedEvent;
+import gruppe2.backend.domain.event.ItemStatusChangedEvent;
+import gruppe2.backend.dto.ItemStatusEventDTO;
+import gruppe2.backend.model.ItemStatusEvent;
+import gruppe2.backend.repository.ItemStatusEventRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only history of the steps every order line has entered.
+ * <p>
+ * Rows are written by synchronous listeners, so they are part of the same transaction as the
+ * step change that raised the event and are rolled back with it.
+ */
+@Service
+public class ItemStatusEventLog {
+    private final ItemStatusEventRepository itemStatusEventRepository;
+
+    public ItemStatusEventLog(ItemStatusEventRepository itemStatusEventRepository) {
+        this.itemStatusEventRepository = itemStatusEventRepository;
+    }
+
+    @EventListener
+    public void onItemAdded(ItemAddedEvent event) {
+        OrderStatus status = event.getItem().getStatus();
+        Long stepId = status.getCurrentStepId();
+        itemStatusEventRepository.save(new ItemStatusEvent(
+            event.getOrderId(),
+            event.getItem().getItem().getId(),
+            stepId,
+            status.getCurrentStepIndex(),
+            null,
+            status.getStatusUpdates().getOrDefault(stepId, event.getTimestamp())
+        ));
+    }
+
+    /**
+     * Records every step entered on the way, so a jump over several steps logs each of them
+     * with the timestamp the status stamped on it.
+     */
+    @EventListener
+    public void onItemStatusChanged(ItemStatusChangedEvent event) {
+        OrderStatus oldStatus = event.getOldStatus();
+        OrderStatus newStatus = event.getNewStatus();
+        Long[] steps = newStatus.getSteps();
+        int from = oldStatus.getCurrentStepIndex();
+        int to = newStatus.getCurrentStepIndex();
+        int direction = Integer.signum(to - from);
+        if (direction == 0) {
+            return;
+        }
+
+        List<ItemStatusEvent> entries = new ArrayList<>(Math.abs(to - from));
+        var statusUpdates = newStatus.getStatusUpdates();
+        for (int index = from + direction; ; index += direction) {
+            entries.add(new ItemStatusEvent(
+                event.getOrderId(),
+                event.getItemId(),
+                steps[index],
+                index,
+                steps[index - direction],
+                statusUpdates.getOrDefault(steps[index], event.getTimestamp())
+            ));
+            if (index == to) {
+                break;
+            }
+        }
+        itemStatusEventRepository.saveAll(entries);
+    }
+
+    /**
+     * @param to Exclusive upper bound
+     */
+    @Transactional(readOnly = true)
+    public List<ItemStatusEventDTO> findBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        validateRange(from, to);
+        return itemStatusEventRepository.findInRange(from, to, PageRequest.of(0, limit)).stream()
+                .map(ItemStatusEventDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return Every transition into the given step during the given day
+     */
+    @Transactional(readOnly = true)
+    public List<ItemStatusEventDTO> findTransitionsInto(Long statusDefinitionId, LocalDate day, int limit) {
+        return itemStatusEventRepository.findByStatusInRange(
+                    statusDefinitionId,
+                    day.atStartOfDay(),
+                    day.plusDays(1).atStartOfDay(),
+                    PageRequest.of(0, limit)).stream()
+                .map(ItemStatusEventDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<ItemStatusEventDTO> findByOrder(Long orderId) {
+        return itemStatusEventRepository.findByOrderIdOrderByOccurredAtAscIdAsc(orderId).stream()
+                .map(ItemStatusEventDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    private static void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new IllegalArgumentException("Invalid time range");
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.*;
+import gruppe2.backend.domain.command.OrderFactory;
+import gruppe2.backend.domain.command.SetupOrderDetailsCommand;
+import gruppe2.backend.domain.specification.OrderInvariantsSpecification;
+import gruppe2.backend.dto.ItemDTO;
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.ProductTypeSnapshotDTO;
+import gruppe2.backend.mapper.OrderMapper;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.StepPlan;
+import gruppe2.backend.monitoring.CommandTimer;
+import gruppe2.backend.monitoring.jfr.OrderCreationEvent;
+import gruppe2.backend.monitoring.jfr.PhaseClock;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.repository.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates orders for both the manual endpoint and the WooCommerce webhook in four stages:
+ * resolve the catalog, build the domain order, validate it and persist it.
+ * <p>
+ * Every item is loaded with one query and product types come from the reference data cache,
+ * so each is resolved exactly once per order. The order and all of its lines are written
+ * together at the end. Each creation is recorded as an {@link OrderCreationEvent} for Java
+ * Flight Recorder, with the time spent in each stage.
+ */
+@Service
+public class OrderCreationPipeline {
+    private final OrderRepository orderRepository;
+    private final ItemRepository itemRepository;
+    private final OrderProductTypeRepository orderProductTypeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final OrderMapper orderMapper;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final OrderEventPublisher orderEventPublisher;
+    private final StepPlanService stepPlanService;
+    private final OrderIdGenerator orderIdGenerator;
+    private final ProcessingTimeEstimator processingTimeEstimator;
+    private final CommandTimer commandTimer;
+
+    public OrderCreationPipeline(
+            OrderRepository orderRepository,
+            ItemRepository itemRepository,
+            OrderProductTypeRepository orderProductTypeRepository,
+            ReferenceDataCache referenceDataCache,
+            OrderMapper orderMapper,
+            DashboardProjectionService dashboardProjectionService,
+            OrderEventPublisher orderEventPublisher,
+            StepPlanService stepPlanService,
+            OrderIdGenerator orderIdGenerator,
+            ProcessingTimeEstimator processingTimeEstimator,
+            CommandTimer commandTimer) {
+        this.orderRepository = orderRepository;
+        this.itemRepository = itemRepository;
+        this.orderProductTypeRepository = orderProductTypeRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.orderMapper = orderMapper;
+        this.dashboardProjectionService = dashboardProjectionService;
+        this.orderEventPublisher = orderEventPublisher;
+        this.stepPlanService = stepPlanService;
+        this.orderIdGenerator = orderIdGenerator;
+        this.processingTimeEstimator = processingTimeEstimator;
+        this.commandTimer = commandTimer;
+    }
+
+    @Transactional
+    public gruppe2.backend.model.Order create(OrderDTO orderDTO) {
+        return create(orderDTO, Map.of());
+    }
+
+    /**
+     * @param newItems Items to create when the order refers to them but they do not exist yet
+     */
+    @Transactional
+    public gruppe2.backend.model.Order create(OrderDTO orderDTO, Map<Long, ItemDTO> newItems) {
+        OrderCreationEvent event = new OrderCreationEvent();
+        event.begin();
+        try {
+            return create(orderDTO, newItems, event);
+        } catch (RuntimeException e) {
+            event.failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private gruppe2.backend.model.Order create(OrderDTO orderDTO, Map<Long, ItemDTO> newItems, OrderCreationEvent event) {
+        PhaseClock phases = new PhaseClock();
+        Map<Long, Integer> items = orderDTO.items();
+
+        // 1. Resolve catalog
+        OrderCatalog catalog = resolveCatalog(items.keySet(), newItems);
+        event.catalogDuration = phases.lap();
+
+        // 2. Build the domain order
+        CustomerInfo customerInfo = new CustomerInfo(
+            orderDTO.customerName(),
+            orderDTO.notes(),
+            orderDTO.priority()
+        );
+        if (orderDTO.id() != null && OrderIdGenerator.isGenerated(orderDTO.id())) {
+            throw new IllegalArgumentException("Order id is in the range reserved for generated ids: " + orderDTO.id());
+        }
+        OrderId orderId = orderDTO.id() != null ?
+            new OrderId(orderDTO.id()) :
+            new OrderId(orderIdGenerator.nextId());
+        Order domainOrder = OrderFactory.createOrder(
+            orderId,
+            customerInfo,
+            items,
+            catalog.getProcessingTimes(items.keySet(), processingTimeEstimator),
+            orderDTO.priority(),
+            processingTimeEstimator.priorityMultiplier()
+        );
+
+        // 3. Validate
+        if (!OrderInvariantsSpecification.getInstance().isSatisfiedBy(domainOrder)) {
+            throw new IllegalStateException("Order validation failed");
+        }
+        event.domainDuration = phases.lap();
+
+        // 4. Persist the order and all of its lines
+        gruppe2.backend.model.Order persistedOrder = orderRepository.save(orderMapper.toModelOrder(domainOrder));
+        SetupOrderDetailsCommand setupOrderDetails = new SetupOrderDetailsCommand(
+            persistedOrder.getId(),
+            items,
+            catalog,
+            orderProductTypeRepository
+        );
+        List<OrderDetails> lines = commandTimer.record(setupOrderDetails, setupOrderDetails::execute);
+        event.orderId = persistedOrder.getId();
+        event.lines = lines.size();
+        event.persistDuration = phases.lap();
+
+        // Add the created lines to the aggregate so their ItemAddedEvents are published
+        lines.forEach(details -> domainOrder.addItem(new OrderItem(
+            details.getItem(),
+            details.getItemAmount(),
+            details.getProduct_type(),
+            new OrderStatus(details.getDifferentSteps(), details.getCurrentStepIndex(), details.getUpdated())
+        )));
+
+        dashboardProjectionService.refreshOrder(persistedOrder.getId());
+        orderEventPublisher.publishEvents(domainOrder);
+        event.publishDuration = phases.lap();
+        return persistedOrder;
+    }
+
+    /**
+     * Loads the given items with one query, creating those listed in {@code newItems} that do
+     * not exist yet, and pairs them with the cached product types and their step plans.
+     */
+    @Transactional
+    public OrderCatalog resolveCatalog(Set<Long> itemIds, Map<Long, ItemDTO> newItems) {
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, ProductTypeSnapshotDTO> productTypes = referenceDataCache.getProductTypes();
+
+        List<Item> created = new ArrayList<>();
+        for (Long itemId : itemIds) {
+            ItemDTO itemDTO = newItems.get(itemId);
+            if (items.containsKey(itemId) || itemDTO == null) {
+                continue;
+            }
+            if (!productTypes.containsKey(itemDTO.productTypeId())) {
+                throw new RuntimeException("Product type not found: " + itemDTO.productTypeId());
+            }
+            Item item = new Item(itemDTO.id(), itemDTO.name(), itemDTO.productTypeId());
+            item.setImage(itemDTO.item_image());
+            item.setDeleted(false);
+            created.add(item);
+        }
+        itemRepository.saveAll(created).forEach(item -> items.put(item.getId(), item));
+
+        Map<Long, StepPlan> stepPlans = new HashMap<>();
+        items.values().stream()
+                .map(Item::getProductTypeId)
+                .distinct()
+                .map(productTypes::get)
+                .filter(Objects::nonNull)
+                .forEach(productType -> stepPlans.put(productType.id(), stepPlanService.resolve(productType.steps())));
+
+        return new OrderCatalog(items, productTypes, stepPlans);
+    }
+}
@@ -0,0 +1,307 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.OrderEstimation;
+import gruppe2.backend.domain.OrderTimeline;
+import gruppe2.backend.domain.event.OrderEvent;
+import gruppe2.backend.dto.ActiveOrderLineDTO;
+import gruppe2.backend.dto.DelayedOrderDTO;
+import gruppe2.backend.dto.DelayedOrderLineDTO;
+import gruppe2.backend.dto.OrderStreamEventDTO;
+import gruppe2.backend.repository.OrderDetailsReadRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps track of which order lines are past their estimated completion.
+ * <p>
+ * Every line that has not reached its final step sits in a {@link DeadlineWheel} under its
+ * deadline, as estimated by {@link OrderEstimation#getItemDeadline} from the durations learned
+ * by the {@link ProcessingTimeEstimator}. The lines are read once on
+ * startup; after that only the lines of orders named by committed order events are read again,
+ * by order id. When the wheel reaches a deadline, the line's order is read once more to confirm
+ * it, the line is marked delayed and an ITEM_DELAYED event is pushed to the order stream.
+ * <p>
+ * All bookkeeping happens on one engine thread. The delayed orders are published as an
+ * immutable snapshot, so {@link #getDelayedOrders} and {@link #isDelayed} are constant-time reads.
+ * Changes made by other backend instances are only noticed when a deadline of the order is reached.
+ * <p>
+ * The number of tracked lines per current step is published as the {@value #ACTIVE_LINES_METRIC} gauge.
+ */
+@Service
+public class OrderDelayMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(OrderDelayMonitor.class);
+    private static final int BATCH_SIZE = 500;
+    public static final String ACTIVE_LINES_METRIC = "orders.lines.active";
+
+    private final OrderDetailsReadRepository orderDetailsReadRepository;
+    private final OrderStreamHub orderStreamHub;
+    private final ProcessingTimeEstimator processingTimeEstimator;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final ScheduledExecutorService engine;
+    private final DeadlineWheel wheel;
+    private final MultiGauge activeLinesGauge;
+
+    // Only touched by the engine thread
+    private final Map<Long, TrackedLine> lines = new HashMap<>();
+    private final Map<Long, Set<Long>> lineIdsByOrder = new HashMap<>();
+    private final Map<Long, Map<Long, DelayedOrderLineDTO>> delayedLinesByOrder = new HashMap<>();
+    private final Map<Long, Integer> activeLinesByStep = new HashMap<>();
+
+    // Orders whose lines have to be read again, added by any thread
+    private final Set<Long> changedOrders = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    private volatile Map<Long, DelayedOrderDTO> delayedOrders = Map.of();
+    private volatile List<DelayedOrderDTO> delayedOrderList = List.of();
+
+    public OrderDelayMonitor(
+            OrderDetailsReadRepository orderDetailsReadRepository,
+            OrderStreamHub orderStreamHub,
+            ProcessingTimeEstimator processingTimeEstimator,
+            MeterRegistry meterRegistry,
+            @Value("${orders.delay.tick:PT5S}") Duration tick,
+            @Value("${orders.delay.wheel-slots:1024}") int wheelSlots) {
+        this.orderDetailsReadRepository = orderDetailsReadRepository;
+        this.orderStreamHub = orderStreamHub;
+        this.processingTimeEstimator = processingTimeEstimator;
+        this.wheel = new DeadlineWheel(tick.toMillis(), wheelSlots, clock.millis());
+        this.activeLinesGauge = MultiGauge.builder(ACTIVE_LINES_METRIC)
+            .description("Order lines that have not reached their final step, by current step")
+            .register(meterRegistry);
+        this.engine = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-delay-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        engine.scheduleWithFixedDelay(() -> run(this::advance), tick.toMillis(), tick.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        engine.execute(() -> run(this::loadActiveLines));
+    }
+
+    /**
+     * @return The orders with at least one delayed line, the longest overdue first
+     */
+    public List<DelayedOrderDTO> getDelayedOrders() {
+        return delayedOrderList;
+    }
+
+    public boolean isDelayed(Long orderId) {
+        return delayedOrders.containsKey(orderId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        orderChanged(event.getOrderId());
+    }
+
+    /**
+     * Reads the lines of the order again once the current transaction has committed.
+     * For changes that raise no order event, such as deleting an order or one of its lines.
+     */
+    public void orderChanged(Long orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    scheduleRefresh(orderId);
+                }
+            });
+        } else {
+            scheduleRefresh(orderId);
+        }
+    }
+
+    private void scheduleRefresh(Long orderId) {
+        changedOrders.add(orderId);
+        if (refreshPending.compareAndSet(false, true)) {
+            try {
+                engine.execute(() -> run(this::refreshChangedOrders));
+            } catch (RejectedExecutionException e) {
+                refreshPending.set(false);
+            }
+        }
+    }
+
+    private void loadActiveLines() {
+        long lastId = 0;
+        List<ActiveOrderLineDTO> batch;
+        do {
+            batch = orderDetailsReadRepository.findActiveLinesAfter(lastId, BATCH_SIZE);
+            // Lines that were already late before startup are not announced again
+            batch.forEach(line -> track(line, false));
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).id();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        publish();
+        publishActiveLines();
+        logger.info("Tracking {} active order lines, {} orders delayed", lines.size(), delayedOrders.size());
+    }
+
+    private void refreshChangedOrders() {
+        refreshPending.set(false);
+        List<Long> orderIds = new ArrayList<>(changedOrders);
+        changedOrders.removeAll(orderIds);
+        refresh(orderIds);
+    }
+
+    private void advance() {
+        List<Long> expired = wheel.advance(clock.millis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        // Confirm against the stored lines before announcing anything
+        Set<Long> orderIds = new HashSet<>();
+        expired.forEach(lineId -> {
+            TrackedLine line = lines.get(lineId);
+            if (line != null) {
+                orderIds.add(line.orderId());
+            }
+        });
+        refresh(orderIds);
+    }
+
+    private void refresh(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(orderIds);
+        boolean delayedChanged = false;
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<Long> batch = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            Map<Long, Map<Long, DelayedOrderLineDTO>> wasDelayed = new HashMap<>();
+            batch.forEach(orderId -> {
+                Map<Long, DelayedOrderLineDTO> delayed = delayedLinesByOrder.remove(orderId);
+                if (delayed != null) {
+                    wasDelayed.put(orderId, delayed);
+                }
+                untrackOrder(orderId);
+            });
+            for (ActiveOrderLineDTO line : orderDetailsReadRepository.findActiveLinesByOrderIds(batch)) {
+                boolean known = wasDelayed.getOrDefault(line.orderId(), Map.of()).containsKey(line.id());
+                track(line, !known);
+            }
+            for (Long orderId : batch) {
+                delayedChanged |= !Objects.equals(wasDelayed.get(orderId), delayedLinesByOrder.get(orderId));
+            }
+        }
+        if (delayedChanged) {
+            publish();
+        }
+        publishActiveLines();
+    }
+
+    private void track(ActiveOrderLineDTO line, boolean announce) {
+        LocalDateTime deadline = deadline(line);
+        if (deadline == null) {
+            return;
+        }
+        TrackedLine tracked = new TrackedLine(line.id(), line.orderId(), new DelayedOrderLineDTO(
+            line.id(),
+            line.itemId(),
+            line.currentStepIndex(),
+            line.steps().size(),
+            line.getCurrentStepId(),
+            deadline
+        ));
+        lines.put(line.id(), tracked);
+        activeLinesByStep.merge(tracked.line().currentStepId(), 1, Integer::sum);
+        lineIdsByOrder.computeIfAbsent(line.orderId(), id -> new HashSet<>()).add(line.id());
+
+        long deadlineMillis = deadline.atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (deadlineMillis > clock.millis()) {
+            wheel.schedule(line.id(), deadlineMillis);
+            return;
+        }
+        delayedLinesByOrder.computeIfAbsent(line.orderId(), id -> new LinkedHashMap<>()).put(line.id(), tracked.line());
+        if (announce) {
+            orderStreamHub.broadcast(OrderStreamEventDTO.delayed(line.orderId(), tracked.line()));
+        }
+    }
+
+    private void untrackOrder(Long orderId) {
+        Set<Long> lineIds = lineIdsByOrder.remove(orderId);
+        if (lineIds != null) {
+            lineIds.forEach(lineId -> {
+                TrackedLine line = lines.remove(lineId);
+                if (line != null) {
+                    // Kept at zero, so the gauge of a step that empties drops to 0 instead of disappearing
+                    activeLinesByStep.merge(line.line().currentStepId(), -1, Integer::sum);
+                }
+                wheel.cancel(lineId);
+            });
+        }
+    }
+
+    private LocalDateTime deadline(ActiveOrderLineDTO line) {
+        if (line.updated().isEmpty() && line.orderCreated() == null) {
+            return null;
+        }
+        OrderTimeline timeline = new OrderTimeline(line.orderCreated(), line.priority());
+        line.updated().forEach((stepId, timestamp) -> timeline.recordItemStatus(line.itemId(), stepId, timestamp));
+        OrderEstimation estimation = new OrderEstimation(
+            Map.of(line.itemId(), line.itemAmount()),
+            Map.of(line.itemId(), processingTimeEstimator.minutesPerUnit(line.productTypeId(), line.steps())),
+            line.priority(),
+            processingTimeEstimator.priorityMultiplier()
+        );
+        return estimation.getItemDeadline(line.itemId(), timeline);
+    }
+
+    private void publish() {
+        Map<Long, DelayedOrderDTO> orders = new HashMap<>();
+        delayedLinesByOrder.forEach((orderId, delayedLines) -> {
+            List<DelayedOrderLineDTO> orderLines = delayedLines.values().stream()
+                .sorted(Comparator.comparing(DelayedOrderLineDTO::deadline))
+                .toList();
+            orders.put(orderId, new DelayedOrderDTO(orderId, orderLines.get(0).deadline(), orderLines));
+        });
+        delayedOrders = Map.copyOf(orders);
+        delayedOrderList = orders.values().stream()
+            .sorted(Comparator.comparing(DelayedOrderDTO::earliestDeadline).thenComparing(DelayedOrderDTO::orderId))
+            .toList();
+    }
+
+    private void publishActiveLines() {
+        activeLinesGauge.register(activeLinesByStep.entrySet().stream()
+            .<MultiGauge.Row<?>>map(entry -> MultiGauge.Row.of(Tags.of("step", String.valueOf(entry.getKey())), entry.getValue()))
+            .toList(), true);
+    }
+
+    // A failing run must not cancel the periodic advance
+    private static void run(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException e) {
+            logger.error("Order delay monitor failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        engine.shutdownNow();
+    }
+
+    private record TrackedLine(Long id, Long orderId, DelayedOrderLineDTO line) {}
+}
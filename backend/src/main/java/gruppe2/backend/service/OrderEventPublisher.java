@@ -0,0 +1,31 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.Order;
+import gruppe2.backend.domain.event.OrderEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands the domain events collected on an {@link Order} over to Spring's event bus.
+ * Listeners that should only see committed changes use {@code @TransactionalEventListener}.
+ */
+@Component
+public class OrderEventPublisher {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public OrderEventPublisher(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    public void publishEvents(Order order) {
+        order.getEvents().forEach(applicationEventPublisher::publishEvent);
+        order.clearEvents();
+    }
+
+    /**
+     * For changes that are not made through the domain model, such as deleting an order.
+     */
+    public void publish(OrderEvent event) {
+        applicationEventPublisher.publishEvent(event);
+    }
+}
@@ -0,0 +1,81 @@
+package gruppe2.backend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Generates ids for orders that do not come with one, unique across backend instances
+ * without coordination.
+ * <p>
+ * An id is laid out like a Snowflake id, but limited to 53 bits so it survives being a
+ * JavaScript number in the frontend:
+ * <pre>
+ *  1 bit  marker, always set, so generated ids are at least 2^52
+ * 40 bits milliseconds since 2024-01-01 (until 2058)
+ *  5 bits node id (orders.id.node-id, unique per instance)
+ *  7 bits sequence within the millisecond
+ * </pre>
+ * WooCommerce order ids and the millisecond timestamps used as ids before are far below 2^52,
+ * so they can never collide with a generated id.
+ * <p>
+ * The last timestamp and sequence live in a single {@link AtomicLong} and are advanced with
+ * compare-and-set. When the sequence of a millisecond is used up, or the clock moves backwards,
+ * the generator continues from the last value instead of waiting, so ids stay unique and
+ * increasing per node.
+ */
+@Component
+public class OrderIdGenerator {
+    static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    static final int TIMESTAMP_BITS = 40;
+    static final int NODE_BITS = 5;
+    static final int SEQUENCE_BITS = 7;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long GENERATED_ID_MARKER = 1L << (TIMESTAMP_BITS + NODE_BITS + SEQUENCE_BITS);
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long MAX_TIMESTAMP = (1L << TIMESTAMP_BITS) - 1;
+
+    private final long nodeId;
+    private final LongSupplier clock;
+    // (milliseconds since the epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    @Autowired
+    public OrderIdGenerator(@Value("${orders.id.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    OrderIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("orders.id.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long state = lastState.updateAndGet(last -> Math.max(now, last + 1));
+
+        long timestamp = state >>> SEQUENCE_BITS;
+        if (timestamp > MAX_TIMESTAMP) {
+            throw new IllegalStateException("Order id timestamp range exhausted");
+        }
+        return GENERATED_ID_MARKER
+                | timestamp << (NODE_BITS + SEQUENCE_BITS)
+                | nodeId << SEQUENCE_BITS
+                | state & SEQUENCE_MASK;
+    }
+
+    /**
+     * @return Whether the id lies in the range reserved for generated ids
+     */
+    public static boolean isGenerated(long id) {
+        return id >= GENERATED_ID_MARKER;
+    }
+}
@@ -2,29 +2,90 @@ package gruppe2.backend.service;
 
 import gruppe2.backend.domain.*;
 import gruppe2.backend.domain.command.UpdateItemStatusCommand;
+import gruppe2.backend.domain.event.ItemRemovedEvent;
+import gruppe2.backend.dto.StepUpdateResultDTO;
+import gruppe2.backend.dto.UpdateStepDTO;
 import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.ProcessedStepChange;
+import gruppe2.backend.monitoring.CommandTimer;
+import gruppe2.backend.monitoring.jfr.PhaseClock;
+import gruppe2.backend.monitoring.jfr.StepBatchUpdateEvent;
+import gruppe2.backend.monitoring.jfr.StepTransitionEvent;
 import gruppe2.backend.repository.OrderProductTypeRepository;
 import gruppe2.backend.repository.OrderRepository;
+import gruppe2.backend.repository.ProcessedStepChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
-import static java.lang.Math.abs;
-
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Moves order lines between their steps.
+ * <p>
+ * Order lines are versioned, so two requests changing the same line at once cannot both save
+ * what they read: the later commit fails its version check. Each step change runs in its own
+ * transaction and is retried from a fresh read when that happens, up to {@link #MAX_ATTEMPTS}
+ * times. Relative changes (next and previous step) can carry an idempotency key; the key is
+ * recorded with the change, so a repeated or concurrent request with the same key returns the
+ * line's progress instead of moving it again.
+ * <p>
+ * Only the line's version decides whether two changes conflict; the order row is not versioned.
+ * The dashboard row of the order is refreshed last, though, and that refresh locks the order row
+ * until commit (see {@link DashboardProjectionService}). Changes to different lines of the same
+ * order never fail because of each other, but they do queue for that short tail between the
+ * refresh and the commit. The lock orders the projection writes: without it, two such commits
+ * could each rebuild the row from a state that lacks the other's line.
+ * <p>
+ * Every attempt is recorded as a {@link StepTransitionEvent} or {@link StepBatchUpdateEvent}
+ * for Java Flight Recorder, with the time spent in each phase.
+ */
 @Service
 public class OrderProgressService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderProgressService.class);
+    static final int MAX_ATTEMPTS = 5;
+
     private final OrderProductTypeRepository orderProductTypeRepository;
     private final OrderRepository orderRepository;
+    private final ProcessedStepChangeRepository processedStepChangeRepository;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final OrderEventPublisher orderEventPublisher;
+    private final CommandTimer commandTimer;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration idempotencyRetention;
+    private final Clock clock = Clock.systemDefaultZone();
 
     public OrderProgressService(
             OrderProductTypeRepository orderProductTypeRepository,
-            OrderRepository orderRepository) {
+            OrderRepository orderRepository,
+            ProcessedStepChangeRepository processedStepChangeRepository,
+            DashboardProjectionService dashboardProjectionService,
+            OrderEventPublisher orderEventPublisher,
+            CommandTimer commandTimer,
+            PlatformTransactionManager transactionManager,
+            @Value("${orders.step-change.idempotency-retention:PT24H}") Duration idempotencyRetention) {
         this.orderProductTypeRepository = orderProductTypeRepository;
         this.orderRepository = orderRepository;
+        this.processedStepChangeRepository = processedStepChangeRepository;
+        this.dashboardProjectionService = dashboardProjectionService;
+        this.orderEventPublisher = orderEventPublisher;
+        this.commandTimer = commandTimer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idempotencyRetention = idempotencyRetention;
     }
 
     public OrderProgress getProgress(Long orderDetailsId) {
@@ -33,72 +94,242 @@ public class OrderProgressService {
         return status.toProgress();
     }
 
-    @Transactional
     public OrderProgress moveToNextStep(Long orderDetailsId) {
-        OrderDetails orderDetails = findOrderDetails(orderDetailsId);
-        validateGenericProductType(orderDetails);
+        return moveToNextStep(orderDetailsId, null);
+    }
 
-        // Create current order status
-        OrderStatus status = createOrderStatus(orderDetails);
+    public OrderProgress moveToNextStep(Long orderDetailsId, String idempotencyKey) {
+        return transition(orderDetailsId, idempotencyKey, status -> {
+            if (!status.canMoveToNextStep()) {
+                throw new IllegalStateException("Cannot move to next step: already at final step");
+            }
+            status.moveToNextStep();
+        });
+    }
+
+    public OrderProgress moveToPreviousStep(Long orderDetailsId) {
+        return moveToPreviousStep(orderDetailsId, null);
+    }
+
+    public OrderProgress moveToPreviousStep(Long orderDetailsId, String idempotencyKey) {
+        return transition(orderDetailsId, idempotencyKey, status -> {
+            if (!status.canMoveToPreviousStep()) {
+                throw new IllegalStateException("Cannot move to previous step: already at first step");
+            }
+            status.moveToPreviousStep();
+        });
+    }
 
-        if (!status.canMoveToNextStep()) {
-            throw new IllegalStateException("Cannot move to next step: already at final step");
+    // Moving to a given step is idempotent by itself, so it takes no key
+    public OrderProgress moveToStep(Long orderDetailsId, int nextStepIndex) {
+        if (orderDetailsId == null || nextStepIndex < 0) {
+            throw new IllegalArgumentException("Invalid input");
         }
+        return transition(orderDetailsId, null, status -> status.moveToStep(nextStepIndex));
+    }
 
-        // Move to next step
-        status.moveToNextStep();
+    private OrderProgress transition(Long orderDetailsId, String idempotencyKey, Consumer<OrderStatus> change) {
+        return withRetry(idempotencyKey != null, () -> {
+            StepTransitionEvent event = new StepTransitionEvent();
+            event.begin();
+            try {
+                return transactionTemplate.execute(status -> {
+                    if (idempotencyKey != null) {
+                        var processed = processedStepChangeRepository.findById(idempotencyKey).orElse(null);
+                        if (processed != null) {
+                            if (!processed.getOrderDetailsId().equals(orderDetailsId)) {
+                                throw new IllegalStateException("Idempotency key was already used for another order line");
+                            }
+                            event.replayed = true;
+                            return getProgress(orderDetailsId);
+                        }
+                    }
+                    OrderProgress progress = applyTransition(orderDetailsId, change, event);
+                    if (idempotencyKey != null) {
+                        processedStepChangeRepository.save(
+                            new ProcessedStepChange(idempotencyKey, orderDetailsId, LocalDateTime.now(clock)));
+                    }
+                    return progress;
+                });
+            } catch (RuntimeException e) {
+                event.failure = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                event.commit();
+            }
+        });
+    }
 
-        // Create and execute the command
-        UpdateItemStatusCommand command = new UpdateItemStatusCommand(
-            orderDetails.getItem().getId(),
-            status
-        );
+    /**
+     * Applies a step change with one read of the order line and its order and one write,
+     * however many steps the change spans.
+     */
+    private OrderProgress applyTransition(Long orderDetailsId, Consumer<OrderStatus> change, StepTransitionEvent event) {
+        PhaseClock phases = new PhaseClock();
+        OrderDetails orderDetails = findOrderDetails(orderDetailsId);
+        event.loadLineDuration = phases.lap();
+        event.orderDetailsId = orderDetails.getId();
+        event.orderId = orderDetails.getOrderId();
+        event.fromStepIndex = orderDetails.getCurrentStepIndex();
+        validateGenericProductType(orderDetails);
 
-        // Create Order domain object and execute command
-        Order order = createOrderFromDetails(orderDetails);
-        command.execute(order);
+        // Create current order status and apply the change to it
+        OrderStatus status = createOrderStatus(orderDetails);
+        change.accept(status);
+        event.toStepIndex = status.getCurrentStepIndex();
+        event.domainDuration = phases.lap();
+        if (status.getCurrentStepIndex() == orderDetails.getCurrentStepIndex()) {
+            return status.toProgress();
+        }
+
+        var orderEntity = orderRepository.findById(orderDetails.getOrderId())
+                .orElseThrow(() -> new RuntimeException("Order not found"));
+        event.loadOrderDuration = phases.lap();
+        Order order = applyStatus(orderDetails, orderEntity, status);
+        event.domainDuration += phases.lap();
 
         // Update persistence
-        updateOrderDetails(orderDetails, status);
+        orderProductTypeRepository.save(orderDetails);
+        orderEventPublisher.publishEvents(order);
+        // Last, as it locks the order until commit
+        dashboardProjectionService.refreshOrder(orderDetails.getOrderId());
+        event.saveDuration = phases.lap();
 
         return status.toProgress();
     }
 
-    @Transactional
-    public OrderProgress moveToPreviousStep(Long orderDetailsId) {
-        OrderDetails orderDetails = findOrderDetails(orderDetailsId);
-        validateGenericProductType(orderDetails);
+    /**
+     * Moves many order lines to their target steps at once. Lines and their orders are loaded
+     * with one query each and all changed lines are flushed together as a JDBC batch.
+     * A line that fails validation is reported in its result and does not affect the others.
+     * When another request changed one of the lines in the meantime, the whole batch is read
+     * and applied again.
+     */
+    public List<StepUpdateResultDTO> moveToSteps(List<UpdateStepDTO> updates) {
+        return withRetry(false, () -> {
+            StepBatchUpdateEvent event = new StepBatchUpdateEvent();
+            event.begin();
+            event.requestedLines = updates.size();
+            try {
+                return transactionTemplate.execute(status -> applySteps(updates, event));
+            } catch (RuntimeException e) {
+                event.failure = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                event.commit();
+            }
+        });
+    }
 
-        // Create current order status
-        OrderStatus status = createOrderStatus(orderDetails);
+    private List<StepUpdateResultDTO> applySteps(List<UpdateStepDTO> updates, StepBatchUpdateEvent event) {
+        PhaseClock phases = new PhaseClock();
+        Set<Long> orderDetailsIds = updates.stream()
+                .map(UpdateStepDTO::getOrderDetailsId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, OrderDetails> orderDetailsById = orderProductTypeRepository.findAllWithPlanByIdIn(orderDetailsIds).stream()
+                .collect(Collectors.toMap(OrderDetails::getId, Function.identity()));
+        Set<Long> orderIds = orderDetailsById.values().stream()
+                .map(OrderDetails::getOrderId)
+                .collect(Collectors.toSet());
+        Map<Long, gruppe2.backend.model.Order> ordersById = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(gruppe2.backend.model.Order::getId, Function.identity()));
+        event.loadDuration = phases.lap();
+
+        List<StepUpdateResultDTO> results = new ArrayList<>(updates.size());
+        Map<Long, OrderDetails> changedLines = new LinkedHashMap<>();
+        List<Order> changedOrders = new ArrayList<>();
+        for (UpdateStepDTO update : updates) {
+            Long orderDetailsId = update.getOrderDetailsId();
+            try {
+                OrderDetails orderDetails = orderDetailsById.get(orderDetailsId);
+                if (orderDetails == null) {
+                    throw new IllegalArgumentException("OrderDetails not found with id: " + orderDetailsId);
+                }
+                validateGenericProductType(orderDetails);
+
+                OrderStatus status = createOrderStatus(orderDetails);
+                status.moveToStep(update.getNewStepIndex());
+                if (status.getCurrentStepIndex() != orderDetails.getCurrentStepIndex()) {
+                    gruppe2.backend.model.Order orderEntity = ordersById.get(orderDetails.getOrderId());
+                    if (orderEntity == null) {
+                        throw new IllegalStateException("Order not found");
+                    }
+                    changedOrders.add(applyStatus(orderDetails, orderEntity, status));
+                    changedLines.put(orderDetailsId, orderDetails);
+                }
+                results.add(StepUpdateResultDTO.succeeded(orderDetailsId, status.toProgress()));
+            } catch (RuntimeException e) {
+                results.add(StepUpdateResultDTO.failed(orderDetailsId, e.getMessage()));
+            }
+        }
+        event.domainDuration = phases.lap();
+        event.changedLines = changedLines.size();
+
+        if (!changedLines.isEmpty()) {
+            orderProductTypeRepository.saveAll(changedLines.values());
+            changedOrders.forEach(orderEventPublisher::publishEvents);
+            dashboardProjectionService.refreshOrders(changedLines.values().stream()
+                    .map(OrderDetails::getOrderId)
+                    .collect(Collectors.toSet()));
+        }
+        event.saveDuration = phases.lap();
+        return results;
+    }
 
-        if (!status.canMoveToPreviousStep()) {
-            throw new IllegalStateException("Cannot move to previous step: already at first step");
+    /**
+     * Runs a step change again when it lost a race with another change of the same line.
+     * A duplicate idempotency key means a concurrent request with that key won; the next
+     * attempt finds its key and returns without changing the line.
+     * @param keyed Whether the change stores an idempotency key. Only then is an integrity
+     *              violation a lost race; otherwise it is a real error and is not retried.
+     */
+    private <T> T withRetry(boolean keyed, Supplier<T> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.get();
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attemptNumber >= MAX_ATTEMPTS || (!keyed && !(e instanceof ConcurrencyFailureException))) {
+                    throw e;
+                }
+                logger.debug("Step change conflicted with a concurrent change, attempt {} of {}", attemptNumber, MAX_ATTEMPTS);
+            }
         }
+    }
 
-        // Move to previous step
-        status.moveToPreviousStep();
+    @Scheduled(
+        initialDelayString = "${orders.step-change.purge-interval-ms:3600000}",
+        fixedDelayString = "${orders.step-change.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeIdempotencyKeys() {
+        int purged = processedStepChangeRepository.deleteProcessedBefore(LocalDateTime.now(clock).minus(idempotencyRetention));
+        if (purged > 0) {
+            logger.info("Purged {} expired step change idempotency keys", purged);
+        }
+    }
 
-        // Create and execute the command
+    /**
+     * Runs the status change through the domain model and copies the result onto the entity.
+     * @param status The new status, already moved to its target step
+     * @return The order aggregate holding the raised events
+     */
+    private Order applyStatus(OrderDetails orderDetails, gruppe2.backend.model.Order orderEntity, OrderStatus status) {
+        // Create Order domain object from the unchanged line and execute the command
+        Order order = createOrderFromDetails(orderDetails, orderEntity);
         UpdateItemStatusCommand command = new UpdateItemStatusCommand(
             orderDetails.getItem().getId(),
             status
         );
+        commandTimer.record(command, () -> command.execute(order));
 
-        // Create Order domain object and execute command
-        Order order = createOrderFromDetails(orderDetails);
-        command.execute(order);
-
-        // Update persistence
-        updateOrderDetails(orderDetails, status);
-
-        return status.toProgress();
+        orderDetails.setCurrentStepIndex(status.getCurrentStepIndex());
+        Map<Long, LocalDateTime> updated = orderDetails.getUpdated();
+        updated.putAll(status.getStatusUpdates());
+        orderDetails.setUpdated(updated);
+        return order;
     }
 
-    private Order createOrderFromDetails(OrderDetails orderDetails) {
-        var orderEntity = orderRepository.findById(orderDetails.getOrderId())
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-
+    private Order createOrderFromDetails(OrderDetails orderDetails, gruppe2.backend.model.Order orderEntity) {
         CustomerInfo customerInfo = new CustomerInfo(
             orderEntity.getCustomerName(),
             orderEntity.getNotes(),
@@ -122,11 +353,20 @@ public class OrderProgressService {
             orderEntity.isPriority()
         );
 
+        OrderItem orderItem = new OrderItem(
+            orderDetails.getItem(),
+            orderDetails.getItemAmount(),
+            orderDetails.getProduct_type(),
+            createOrderStatus(orderDetails)
+        );
+
         return new Order.Builder()
             .withId(new OrderId(orderEntity.getId()))
             .withCustomerInfo(customerInfo)
+            .withItems(Set.of(orderItem))
             .withTimeline(timeline)
             .withEstimation(estimation)
+            .restored()
             .build();
     }
 
@@ -149,52 +389,15 @@ public class OrderProgressService {
         }
     }
 
-    private void updateOrderDetails(OrderDetails orderDetails, OrderStatus status) {
-        orderDetails.setCurrentStepIndex(status.getCurrentStepIndex());
-        orderDetails.setUpdated(status.getStatusUpdates());
-        orderProductTypeRepository.save(orderDetails);
-
-        // Create timeline for status tracking
-        var order = orderRepository.findById(orderDetails.getOrderId())
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-
-        OrderTimeline timeline = new OrderTimeline(order.getOrderCreated(), order.isPriority());
-        timeline.recordItemStatus(orderDetails.getItem().getId(),
-                                status.getCurrentStepId(),
-                                LocalDateTime.now());
-    }
-
+    @Transactional
     public void deleteItemFromOrder(Long itemId, Long orderId) {
         orderProductTypeRepository.findByOrderId(orderId).stream()
             .filter(orderDetails -> orderDetails.getItem().getId().equals(itemId))
             .findFirst()
-            .ifPresent(orderProductTypeRepository::delete);
+            .ifPresent(line -> {
+                orderProductTypeRepository.delete(line);
+                orderEventPublisher.publish(new ItemRemovedEvent(orderId, itemId));
+            });
+        dashboardProjectionService.refreshOrder(orderId);
     }
-
-    public OrderProgress moveToStep(Long orderDetailsId, int nextStepIndex) {
-
-        if (orderDetailsId == null || nextStepIndex < 0) {
-            throw new IllegalArgumentException("Invalid input");
-        }
-
-        int currentStep = findOrderDetails(orderDetailsId).getCurrentStepIndex();
-
-        int differenceInSteps = nextStepIndex - currentStep;
-
-        if (differenceInSteps > 0) {
-            for (int i = 0; i < differenceInSteps; i++) {
-                moveToNextStep(orderDetailsId);
-            }
-        } else if (differenceInSteps < 0) {
-            for (int i = 0; i > differenceInSteps; i--) {
-                moveToPreviousStep(orderDetailsId);
-            }
-        }
-
-        return getProgress(orderDetailsId);
-    }
-
-
-
-
 }
@@ -0,0 +1,243 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.event.OrderEvent;
+import gruppe2.backend.dto.OrderStreamEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed order events out to Server-Sent Events subscribers.
+ * <p>
+ * Idle connections hold no thread: the servlet container parks them as async requests.
+ * Each subscriber gets a bounded queue that a small shared dispatcher pool drains, so a slow
+ * client only delays itself and is disconnected once its queue overflows.
+ * <p>
+ * A write to a client that stopped reading blocks its dispatcher thread until the connection
+ * times out. A subscriber whose write is still running after the write timeout is disconnected,
+ * and the pool gets an extra thread until that write returns, so the other subscribers keep
+ * their full share of dispatcher threads.
+ */
+@Service
+public class OrderStreamHub {
+    private static final Logger logger = LoggerFactory.getLogger(OrderStreamHub.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+    private final Duration timeout;
+    private final Duration writeTimeout;
+    private final int queueCapacity;
+    private final int dispatcherThreads;
+    // Dispatcher threads blocked in writes of disconnected subscribers
+    private int stalledWrites;
+
+    public OrderStreamHub(
+            @Value("${orders.stream.timeout:PT30M}") Duration timeout,
+            @Value("${orders.stream.queue-capacity:256}") int queueCapacity,
+            @Value("${orders.stream.dispatcher-threads:2}") int dispatcherThreads,
+            @Value("${orders.stream.heartbeat-interval:PT25S}") Duration heartbeatInterval,
+            @Value("${orders.stream.write-timeout:PT10S}") Duration writeTimeout) {
+        this.timeout = timeout;
+        this.writeTimeout = writeTimeout;
+        this.queueCapacity = queueCapacity;
+        this.dispatcherThreads = dispatcherThreads;
+        this.dispatcher = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), namedThreads("order-stream-dispatch"));
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(namedThreads("order-stream-heartbeat"));
+        long heartbeatMillis = heartbeatInterval.toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long checkMillis = Math.max(100, writeTimeout.toMillis() / 2);
+        heartbeat.scheduleAtFixedRate(this::disconnectStalledSubscribers, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a new subscriber.
+     * @param orderId Only events for this order are delivered, or every event when null
+     */
+    public SseEmitter subscribe(Long orderId) {
+        return subscribe(new SseEmitter(timeout.toMillis()), orderId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, Long orderId) {
+        Subscriber subscriber = new Subscriber(emitter, orderId, queueCapacity);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> disconnect(subscriber));
+        emitter.onError(e -> disconnect(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderEvent(OrderEvent event) {
+        broadcast(OrderStreamEventDTO.from(event));
+    }
+
+    public void broadcast(OrderStreamEventDTO event) {
+        // Built once and shared: the frames are immutable, unlike the builder
+        Set<ResponseBodyEmitter.DataWithMediaType> message = SseEmitter.event()
+                .name(event.type())
+                .data(event, MediaType.APPLICATION_JSON)
+                .build();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                enqueue(subscriber, message);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void sendHeartbeats() {
+        Set<ResponseBodyEmitter.DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        subscribers.forEach(subscriber -> enqueue(subscriber, ping));
+    }
+
+    private void enqueue(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> message) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.queue.offer(message)) {
+            logger.warn("Disconnecting slow order stream subscriber after {} queued events", queueCapacity);
+            disconnect(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<ResponseBodyEmitter.DataWithMediaType> message;
+            while (!subscriber.closed && (message = subscriber.queue.poll()) != null) {
+                send(subscriber, message);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container reports the completion separately
+            disconnect(subscriber);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have been queued after the loop ended but before the flag was cleared
+        if (!subscriber.queue.isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> message) throws IOException {
+        subscriber.writeStartedAt = System.nanoTime();
+        subscriber.writeState.set(Subscriber.WRITING);
+        try {
+            subscriber.emitter.send(message);
+        } finally {
+            if (subscriber.writeState.getAndSet(Subscriber.IDLE) == Subscriber.STALLED) {
+                // Disconnected while this write was blocked; the emitter could not be completed then
+                resizeDispatcher(-1);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void disconnectStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.writeState.get() == Subscriber.WRITING
+                    && now - subscriber.writeStartedAt > writeTimeout.toNanos()
+                    && subscriber.writeState.compareAndSet(Subscriber.WRITING, Subscriber.STALLED)) {
+                logger.warn("Disconnecting order stream subscriber whose write has not finished after {}", writeTimeout);
+                // The blocked write holds the emitter's lock, so it is completed once the write returns
+                subscribers.remove(subscriber);
+                subscriber.closed = true;
+                subscriber.queue.clear();
+                resizeDispatcher(1);
+            }
+        }
+    }
+
+    private synchronized void resizeDispatcher(int stalledWritesDelta) {
+        stalledWrites += stalledWritesDelta;
+        int threads = dispatcherThreads + stalledWrites;
+        // The maximum may never drop below the core size
+        if (threads > dispatcher.getMaximumPoolSize()) {
+            dispatcher.setMaximumPoolSize(threads);
+            dispatcher.setCorePoolSize(threads);
+        } else {
+            dispatcher.setCorePoolSize(threads);
+            dispatcher.setMaximumPoolSize(threads);
+        }
+    }
+
+    private void disconnect(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.closed = true;
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Subscriber {
+        private static final int IDLE = 0;
+        private static final int WRITING = 1;
+        private static final int STALLED = 2;
+
+        private final SseEmitter emitter;
+        private final Long orderId;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicInteger writeState = new AtomicInteger(IDLE);
+        private volatile long writeStartedAt;
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Long orderId, int queueCapacity) {
+            this.emitter = emitter;
+            this.orderId = orderId;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        private boolean accepts(OrderStreamEventDTO event) {
+            return orderId == null || orderId.equals(event.orderId());
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.OrderCatalog;
+import gruppe2.backend.domain.OrderEstimation;
+import gruppe2.backend.domain.ProcessingTimeModel;
+import gruppe2.backend.domain.event.ItemStatusChangedEvent;
+import gruppe2.backend.dto.ProcessingTimeEstimateDTO;
+import gruppe2.backend.dto.ProcessingTimeEstimatesDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns how long items take from the step changes that are made.
+ * <p>
+ * Every committed move of one step forward adds the time spent in the step that was left to the
+ * statistics of its status definition, and every line reaching its final step adds its lead
+ * time to the statistics of its product type. Durations are per unit of the line. Each update
+ * takes constant time and nothing is read from the database for it.
+ * <p>
+ * A product type is estimated from its own lead times once it has enough of them, otherwise
+ * from its steps, each falling back to the fixed {@link OrderCatalog#MINUTES_PER_STEP}.
+ * Priority lines do not count towards these; their lead time relative to the regular estimate
+ * of the product type is learned as the priority multiplier instead.
+ * <p>
+ * The statistics live in memory. On startup they are rebuilt from the status event log of the
+ * last {@code orders.estimation.warmup-window}.
+ */
+@Component
+public class ProcessingTimeEstimator implements ProcessingTimeModel {
+    private static final Logger logger = LoggerFactory.getLogger(ProcessingTimeEstimator.class);
+    static final int MIN_SAMPLES = 5;
+    // Learned multipliers outside this range point at bad data rather than faster work
+    private static final double MIN_PRIORITY_MULTIPLIER = 0.1;
+    private static final double MAX_PRIORITY_MULTIPLIER = 1.5;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final double smoothing;
+    private final Duration warmupWindow;
+    private final Map<Long, DurationStatistics> stepDurations = new ConcurrentHashMap<>();
+    private final Map<Long, DurationStatistics> leadTimes = new ConcurrentHashMap<>();
+    private final DurationStatistics priorityRatios;
+
+    public ProcessingTimeEstimator(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${orders.estimation.smoothing:0.2}") double smoothing,
+            @Value("${orders.estimation.warmup-window:P30D}") Duration warmupWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.smoothing = smoothing;
+        this.warmupWindow = warmupWindow;
+        this.priorityRatios = new DurationStatistics(smoothing);
+    }
+
+    @Override
+    public int minutesPerUnit(Long productTypeId, List<Long> steps) {
+        DurationStatistics.Snapshot leadTime = snapshot(leadTimes, productTypeId);
+        if (leadTime != null && leadTime.count() >= MIN_SAMPLES) {
+            return Math.max(1, (int) Math.ceil(leadTime.average()));
+        }
+        double minutes = 0;
+        for (Long step : steps) {
+            DurationStatistics.Snapshot stepDuration = snapshot(stepDurations, step);
+            minutes += stepDuration != null && stepDuration.count() >= MIN_SAMPLES
+                ? stepDuration.average()
+                : OrderCatalog.MINUTES_PER_STEP;
+        }
+        return Math.max(1, (int) Math.ceil(minutes));
+    }
+
+    @Override
+    public double priorityMultiplier() {
+        DurationStatistics.Snapshot ratios = priorityRatios.snapshot();
+        if (ratios.count() < MIN_SAMPLES) {
+            return OrderEstimation.DEFAULT_PRIORITY_MULTIPLIER;
+        }
+        return Math.min(MAX_PRIORITY_MULTIPLIER, Math.max(MIN_PRIORITY_MULTIPLIER, ratios.average()));
+    }
+
+    public ProcessingTimeEstimatesDTO getEstimates() {
+        return new ProcessingTimeEstimatesDTO(toDTOs(stepDurations), toDTOs(leadTimes), priorityMultiplier());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemStatusChanged(ItemStatusChangedEvent event) {
+        Long[] steps = event.getNewStatus().getSteps();
+        Map<Long, LocalDateTime> updates = event.getNewStatus().getStatusUpdates();
+        int from = event.getOldStatus().getCurrentStepIndex();
+        int to = event.getNewStatus().getCurrentStepIndex();
+        if (to <= from) {
+            return;
+        }
+        LocalDateTime entered = updates.getOrDefault(steps[to], event.getTimestamp());
+        record(new Transition(
+            event.getProductTypeId(),
+            event.getQuantity(),
+            event.isPriority(),
+            steps[from],
+            event.getOldStatus().getStatusUpdates().get(steps[from]),
+            entered,
+            to == from + 1,
+            to == steps.length - 1,
+            updates.get(steps[0])
+        ));
+    }
+
+    /**
+     * Replays the recent status event log. Steps entered together belong to one jump over
+     * several steps and are skipped, as they are when they happen.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<LogEntry> line = new ArrayList<>();
+        int[] lines = new int[1];
+        try {
+            jdbcTemplate.query("""
+                SELECT e.order_id, e.item_id, e.status_definition_id, e.step_index, e.occurred_at,
+                       od.item_amount, o.priority, i.product_type_id, sp.step_count
+                FROM item_status_events e
+                JOIN order_details od ON od.order_id = e.order_id AND od.item_id = e.item_id
+                JOIN orders o ON o.id = e.order_id
+                JOIN items i ON i.id = e.item_id
+                JOIN step_plans sp ON sp.id = od.step_plan_id
+                WHERE e.occurred_at >= :since
+                ORDER BY e.order_id, e.item_id, e.occurred_at, e.id""",
+                new MapSqlParameterSource("since", Timestamp.valueOf(LocalDateTime.now().minus(warmupWindow))),
+                rs -> {
+                    Integer amount = rs.getObject("item_amount", Integer.class);
+                    LogEntry entry = new LogEntry(
+                        rs.getLong("order_id"),
+                        rs.getLong("item_id"),
+                        rs.getLong("status_definition_id"),
+                        rs.getInt("step_index"),
+                        rs.getTimestamp("occurred_at").toLocalDateTime(),
+                        amount != null ? amount : 1,
+                        rs.getBoolean("priority"),
+                        rs.getObject("product_type_id", Long.class),
+                        rs.getInt("step_count"));
+                    if (!line.isEmpty() && !line.get(0).sameLine(entry)) {
+                        replay(line);
+                        lines[0]++;
+                        line.clear();
+                    }
+                    line.add(entry);
+                });
+            if (!line.isEmpty()) {
+                replay(line);
+                lines[0]++;
+            }
+            logger.info("Learned processing times from the status history of {} order lines", lines[0]);
+        } catch (RuntimeException e) {
+            logger.error("Could not learn processing times from the status history; using the fixed estimates", e);
+        }
+    }
+
+    private void replay(List<LogEntry> entries) {
+        LocalDateTime firstStepEntered = null;
+        for (int i = 0; i < entries.size(); i++) {
+            LogEntry entry = entries.get(i);
+            if (entry.stepIndex() == 0) {
+                firstStepEntered = entry.occurredAt();
+            }
+            if (i == 0) {
+                continue;
+            }
+            LogEntry previous = entries.get(i - 1);
+            if (entry.stepIndex() <= previous.stepIndex()) {
+                continue;
+            }
+            boolean partOfJump = (i + 1 < entries.size() && entries.get(i + 1).occurredAt().equals(entry.occurredAt()))
+                || previous.occurredAt().equals(entry.occurredAt());
+            record(new Transition(
+                entry.productTypeId(),
+                entry.quantity(),
+                entry.priority(),
+                previous.stepId(),
+                previous.occurredAt(),
+                entry.occurredAt(),
+                entry.stepIndex() == previous.stepIndex() + 1 && !partOfJump,
+                entry.stepIndex() == entry.stepCount() - 1,
+                firstStepEntered
+            ));
+        }
+    }
+
+    private void record(Transition transition) {
+        int quantity = Math.max(1, transition.quantity());
+        if (transition.singleStep() && !transition.priority() && transition.leftStepEntered() != null) {
+            double minutes = minutesBetween(transition.leftStepEntered(), transition.entered());
+            if (minutes >= 0) {
+                statistics(stepDurations, transition.leftStepId()).add(minutes / quantity);
+            }
+        }
+        if (!transition.reachesFinalStep() || transition.firstStepEntered() == null || transition.productTypeId() == null) {
+            return;
+        }
+        double leadTime = minutesBetween(transition.firstStepEntered(), transition.entered()) / quantity;
+        if (leadTime < 0) {
+            return;
+        }
+        if (!transition.priority()) {
+            statistics(leadTimes, transition.productTypeId()).add(leadTime);
+            return;
+        }
+        DurationStatistics.Snapshot regular = snapshot(leadTimes, transition.productTypeId());
+        if (regular != null && regular.count() >= MIN_SAMPLES && regular.average() > 0) {
+            priorityRatios.add(leadTime / regular.average());
+        }
+    }
+
+    private DurationStatistics statistics(Map<Long, DurationStatistics> statistics, Long id) {
+        return statistics.computeIfAbsent(id, key -> new DurationStatistics(smoothing));
+    }
+
+    private static DurationStatistics.Snapshot snapshot(Map<Long, DurationStatistics> statistics, Long id) {
+        DurationStatistics stats = id != null ? statistics.get(id) : null;
+        return stats != null ? stats.snapshot() : null;
+    }
+
+    private static List<ProcessingTimeEstimateDTO> toDTOs(Map<Long, DurationStatistics> statistics) {
+        List<ProcessingTimeEstimateDTO> estimates = new ArrayList<>();
+        statistics.forEach((id, stats) -> {
+            DurationStatistics.Snapshot snapshot = stats.snapshot();
+            estimates.add(new ProcessingTimeEstimateDTO(id, snapshot.count(), snapshot.average(), snapshot.median(), snapshot.p90()));
+        });
+        estimates.sort(Comparator.comparing(ProcessingTimeEstimateDTO::id));
+        return estimates;
+    }
+
+    private static double minutesBetween(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMillis() / 60_000.0;
+    }
+
+    private record Transition(
+            Long productTypeId,
+            int quantity,
+            boolean priority,
+            Long leftStepId,
+            LocalDateTime leftStepEntered,
+            LocalDateTime entered,
+            boolean singleStep,
+            boolean reachesFinalStep,
+            LocalDateTime firstStepEntered) {}
+
+    private record LogEntry(
+            long orderId,
+            long itemId,
+            Long stepId,
+            int stepIndex,
+            LocalDateTime occurredAt,
+            int quantity,
+            boolean priority,
+            Long productTypeId,
+            int stepCount) {
+        boolean sameLine(LogEntry other) {
+            return orderId == other.orderId && itemId == other.itemId;
+        }
+    }
+}
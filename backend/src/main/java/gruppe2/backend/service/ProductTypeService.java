@@ -9,6 +9,7 @@ import gruppe2.backend.domain.specification.HasItemSpecification;
 import gruppe2.backend.model.Item;
 import gruppe2.backend.model.OrderDetails;
 import gruppe2.backend.model.ProductType;
+import gruppe2.backend.model.StepPlan;
 
 import gruppe2.backend.repository.*;
 import gruppe2.backend.model.StatusDefinition;
@@ -20,11 +21,12 @@ import gruppe2.backend.repository.StatusDefinitionRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class ProductTypeService {
@@ -33,18 +35,33 @@ public class ProductTypeService {
     private final ItemRepository itemRepository;
     private final OrderProductTypeRepository orderProductTypeRepository;
     private final OrderRepository orderRepository;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final OrderEventPublisher orderEventPublisher;
+    private final ReferenceDataCache referenceDataCache;
+    private final StepPlanService stepPlanService;
+    private final StepPlanRepository stepPlanRepository;
 
     public ProductTypeService(
             ProductTypeRepository productTypeRepository,
             StatusDefinitionRepository statusDefinitionRepository,
             ItemRepository itemRepository,
             OrderProductTypeRepository orderProductTypeRepository,
-            OrderRepository orderRepository) {
+            OrderRepository orderRepository,
+            DashboardProjectionService dashboardProjectionService,
+            OrderEventPublisher orderEventPublisher,
+            ReferenceDataCache referenceDataCache,
+            StepPlanService stepPlanService,
+            StepPlanRepository stepPlanRepository) {
         this.productTypeRepository = productTypeRepository;
         this.statusDefinitionRepository = statusDefinitionRepository;
         this.itemRepository = itemRepository;
         this.orderProductTypeRepository = orderProductTypeRepository;
         this.orderRepository = orderRepository;
+        this.dashboardProjectionService = dashboardProjectionService;
+        this.orderEventPublisher = orderEventPublisher;
+        this.referenceDataCache = referenceDataCache;
+        this.stepPlanService = stepPlanService;
+        this.stepPlanRepository = stepPlanRepository;
     }
 
     public ProductType createProductType(ProductTypeDTO productTypeDTO) {
@@ -53,7 +70,9 @@ public class ProductTypeService {
             productTypeRepository,
             statusDefinitionRepository
         );
-        return command.execute();
+        ProductType productType = command.execute();
+        referenceDataCache.evictProductTypes();
+        return productType;
     }
 
     @Transactional
@@ -75,12 +94,16 @@ public class ProductTypeService {
             throw new IllegalStateException("Invalid product type transition");
         }
 
-        // Find all order details for this item
+        // Find all order details for this item, and their orders in one query
         List<OrderDetails> orderDetailsList = orderProductTypeRepository.findByItemId(itemId);
-        
+        Map<Long, gruppe2.backend.model.Order> ordersById = orderRepository.findAllById(orderDetailsList.stream()
+                .map(OrderDetails::getOrderId)
+                .collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(gruppe2.backend.model.Order::getId, orderEntity -> orderEntity));
+
         for (OrderDetails orderDetails : orderDetailsList) {
             // Create domain objects
-            Order order = createOrderFromDetails(orderDetails);
+            Order order = createOrderFromDetails(orderDetails, ordersById.get(orderDetails.getOrderId()));
             
             // Create and validate specifications
             HasItemSpecification hasItem = new HasItemSpecification(itemId);
@@ -98,14 +121,20 @@ public class ProductTypeService {
             
             // Update persistence
             updateOrderDetailsForTransition(orderDetails, transition);
+            orderEventPublisher.publishEvents(order);
         }
 
         updateItemProductTypeId(item, targetProductTypeId);
+
+        dashboardProjectionService.refreshOrders(orderDetailsList.stream()
+            .map(OrderDetails::getOrderId)
+            .collect(Collectors.toSet()));
     }
 
-    private Order createOrderFromDetails(OrderDetails orderDetails) {
-        var orderEntity = orderRepository.findById(orderDetails.getOrderId())
-                .orElseThrow(() -> new RuntimeException("Order not found"));
+    private Order createOrderFromDetails(OrderDetails orderDetails, gruppe2.backend.model.Order orderEntity) {
+        if (orderEntity == null) {
+            throw new RuntimeException("Order not found: " + orderDetails.getOrderId());
+        }
 
         CustomerInfo customerInfo = new CustomerInfo(
             orderEntity.getCustomerName(),
@@ -130,21 +159,38 @@ public class ProductTypeService {
             orderEntity.isPriority()
         );
 
+        OrderItem orderItem = new OrderItem(
+            orderDetails.getItem(),
+            orderDetails.getItemAmount(),
+            orderDetails.getProduct_type(),
+            createOrderStatus(orderDetails)
+        );
+
         return new Order.Builder()
             .withId(new OrderId(orderEntity.getId()))
             .withCustomerInfo(customerInfo)
+            .withItems(Set.of(orderItem))
             .withTimeline(timeline)
             .withEstimation(estimation)
+            .restored()
             .build();
     }
 
+    private OrderStatus createOrderStatus(OrderDetails orderDetails) {
+        return new OrderStatus(
+            orderDetails.getDifferentSteps(),
+            orderDetails.getCurrentStepIndex(),
+            orderDetails.getUpdated()
+        );
+    }
+
     private void updateOrderDetailsForTransition(OrderDetails orderDetails, ProductTypeTransition transition) {
         List<Long> firstStep = orderDetails.getDifferentSteps();
         OrderStatus newStatus = transition.createNewOrderStatus(
             orderDetails.getUpdated().get(firstStep.get(0))
         );
 
-        orderDetails.setDifferentSteps(new ArrayList<>(Arrays.asList(newStatus.getSteps())));
+        orderDetails.setStepPlan(stepPlanService.resolve(Arrays.asList(newStatus.getSteps())));
         orderDetails.setCurrentStepIndex(newStatus.getCurrentStepIndex());
         orderDetails.setUpdated(newStatus.getStatusUpdates());
         orderDetails.setProduct_type(transition.getTargetProductTypeName());
@@ -165,14 +211,30 @@ public class ProductTypeService {
     public List<ProductTypeProjection> findAllProjectedByName() {
         return productTypeRepository.findAllProjectedBy();
     }
+    // The dashboard rows show the product type and step names from the reference data caches,
+    // which are evicted on commit, so the affected orders are refreshed after that
+    @Transactional
     public void deleteProductType(Long productTypeId) {
         ProductType productType = productTypeRepository.findById(productTypeId)
                 .orElseThrow(() -> new RuntimeException("Product type not found: " + productTypeId));
         productTypeRepository.delete(productType);
+        referenceDataCache.evictProductTypes();
+        dashboardProjectionService.refreshOrdersAfterCommit(orderProductTypeRepository.findOrderIdsByProductTypeId(productTypeId));
     }
+
+    @Transactional
     public void deleteStatusDefinition(Long statusDefinitionId) {
         StatusDefinition statusDefinition = statusDefinitionRepository.findById(statusDefinitionId)
                 .orElseThrow(() -> new RuntimeException("Status definition not found: " + statusDefinitionId));
         statusDefinitionRepository.delete(statusDefinition);
+        referenceDataCache.evictStatusDefinitions();
+
+        List<Long> stepPlanIds = stepPlanRepository.findAll().stream()
+                .filter(plan -> plan.getSteps().contains(statusDefinitionId))
+                .map(StepPlan::getId)
+                .collect(Collectors.toList());
+        if (!stepPlanIds.isEmpty()) {
+            dashboardProjectionService.refreshOrdersAfterCommit(orderProductTypeRepository.findOrderIdsByStepPlanIdIn(stepPlanIds));
+        }
     }
 }
@@ -0,0 +1,72 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.ProductTypeSnapshotDTO;
+import gruppe2.backend.model.StatusDefinition;
+import gruppe2.backend.repository.ProductTypeRepository;
+import gruppe2.backend.repository.StatusDefinitionRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-local copies of the status definitions and product type step lists.
+ * <p>
+ * Both tables are small and only change through {@link OrderService} and
+ * {@link ProductTypeService}, which evict the matching cache on every create and delete.
+ * The returned maps are shared between callers and must not be modified.
+ */
+@Service
+public class ReferenceDataCache {
+    public static final String STATUS_DEFINITIONS = "statusDefinitions";
+    public static final String PRODUCT_TYPES = "productTypes";
+
+    private final StatusDefinitionRepository statusDefinitionRepository;
+    private final ProductTypeRepository productTypeRepository;
+
+    public ReferenceDataCache(
+            StatusDefinitionRepository statusDefinitionRepository,
+            ProductTypeRepository productTypeRepository) {
+        this.statusDefinitionRepository = statusDefinitionRepository;
+        this.productTypeRepository = productTypeRepository;
+    }
+
+    /**
+     * @return Every status definition keyed by id, in id order
+     */
+    @Cacheable(STATUS_DEFINITIONS)
+    @Transactional(readOnly = true)
+    public Map<Long, StatusDefinition> getStatusDefinitions() {
+        Map<Long, StatusDefinition> statusDefinitions = new LinkedHashMap<>();
+        statusDefinitionRepository.findAll().stream()
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .forEach(statusDefinition -> statusDefinitions.put(statusDefinition.getId(), statusDefinition));
+        return Collections.unmodifiableMap(statusDefinitions);
+    }
+
+    /**
+     * @return Every product type with its steps keyed by id
+     */
+    @Cacheable(PRODUCT_TYPES)
+    @Transactional(readOnly = true)
+    public Map<Long, ProductTypeSnapshotDTO> getProductTypes() {
+        Map<Long, ProductTypeSnapshotDTO> productTypes = new LinkedHashMap<>();
+        productTypeRepository.findAllWithSteps().forEach(productType -> productTypes.put(
+            productType.getId(),
+            new ProductTypeSnapshotDTO(productType.getId(), productType.getName(), productType.getDifferentSteps())
+        ));
+        return Collections.unmodifiableMap(productTypes);
+    }
+
+    @CacheEvict(cacheNames = STATUS_DEFINITIONS, allEntries = true)
+    public void evictStatusDefinitions() {
+    }
+
+    @CacheEvict(cacheNames = PRODUCT_TYPES, allEntries = true)
+    public void evictProductTypes() {
+    }
+}
@@ -0,0 +1,90 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.ItemSearchHitDTO;
+import gruppe2.backend.dto.OrderSearchHitDTO;
+import gruppe2.backend.dto.SearchMatchesDTO;
+import gruppe2.backend.dto.SearchPageDTO;
+import gruppe2.backend.repository.SearchReadRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Searches orders by customer name, notes and id, and items by name and id.
+ * <p>
+ * Text is matched case-insensitively anywhere in the value. Terms shorter than three characters
+ * only match ids: trigram indexes cannot narrow down anything shorter, so such terms would have
+ * to read every row.
+ */
+@Service
+public class SearchService {
+    public static final int MIN_TEXT_TERM_LENGTH = 3;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchReadRepository searchReadRepository;
+
+    public SearchService(SearchReadRepository searchReadRepository) {
+        this.searchReadRepository = searchReadRepository;
+    }
+
+    public SearchPageDTO<OrderSearchHitDTO> searchOrders(String query, int page, int size) {
+        return search(query, page, size, searchReadRepository::searchOrders);
+    }
+
+    public SearchPageDTO<ItemSearchHitDTO> searchItems(String query, int page, int size) {
+        return search(query, page, size, searchReadRepository::searchItems);
+    }
+
+    /**
+     * The ids of all orders and items that match, without ranking or paging.
+     */
+    public SearchMatchesDTO findMatches(String query) {
+        String term = normalize(query);
+        Long id = parseId(term);
+        String text = textTerm(term, id);
+        return new SearchMatchesDTO(
+            searchReadRepository.findMatchingOrderIds(text, id),
+            searchReadRepository.findMatchingItemIds(text, id)
+        );
+    }
+
+    private <T> SearchPageDTO<T> search(String query, int page, int size, Search<T> search) {
+        if (page < 0 || size <= 0 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE);
+        }
+        String term = normalize(query);
+        Long id = parseId(term);
+
+        // One row more than asked for tells whether there is another page; the offset is a long,
+        // so a far page is empty rather than wrapping around
+        List<T> results = search.run(textTerm(term, id), id, (long) page * size, size + 1);
+        boolean hasMore = results.size() > size;
+        return new SearchPageDTO<>(hasMore ? results.subList(0, size) : results, page, size, hasMore);
+    }
+
+    private static String normalize(String query) {
+        return query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * @return The term to match text with, or null when it only matches the id
+     */
+    private static String textTerm(String term, Long id) {
+        if (id == null && term.length() < MIN_TEXT_TERM_LENGTH) {
+            throw new IllegalArgumentException("Search terms need at least " + MIN_TEXT_TERM_LENGTH + " characters");
+        }
+        return term.length() >= MIN_TEXT_TERM_LENGTH ? term : null;
+    }
+
+    private static Long parseId(String term) {
+        if (term.isEmpty() || term.length() > 18 || !term.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.parseLong(term);
+    }
+
+    private interface Search<T> {
+        List<T> run(String term, Long id, long offset, int limit);
+    }
+}
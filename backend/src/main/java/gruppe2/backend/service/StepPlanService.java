@@ -0,0 +1,55 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.model.StepPlan;
+import gruppe2.backend.repository.StepPlanRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out the shared {@link StepPlan} for a list of steps, creating it on first use.
+ * <p>
+ * Plans are immutable and never deleted, so once resolved they are kept in memory for the
+ * lifetime of the application. New plans are written in their own transaction, which makes
+ * them visible to concurrent creators right away and keeps a lost insert race from rolling
+ * back the caller.
+ */
+@Service
+public class StepPlanService {
+    private final StepPlanRepository stepPlanRepository;
+    private final TransactionTemplate newTransaction;
+    private final Map<String, StepPlan> plansByHash = new ConcurrentHashMap<>();
+
+    public StepPlanService(StepPlanRepository stepPlanRepository, PlatformTransactionManager transactionManager) {
+        this.stepPlanRepository = stepPlanRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public StepPlan resolve(List<Long> steps) {
+        String hash = StepPlan.hash(steps);
+        StepPlan plan = plansByHash.get(hash);
+        if (plan != null) {
+            return plan;
+        }
+        plan = stepPlanRepository.findByPlanHash(hash).orElseGet(() -> create(steps));
+        plansByHash.put(hash, plan);
+        return plan;
+    }
+
+    private StepPlan create(List<Long> steps) {
+        try {
+            return newTransaction.execute(status -> stepPlanRepository.save(StepPlan.of(steps)));
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent request in the meantime
+            return newTransaction.execute(status -> stepPlanRepository.findByPlanHash(StepPlan.hash(steps)))
+                    .orElseThrow(() -> e);
+        }
+    }
+}
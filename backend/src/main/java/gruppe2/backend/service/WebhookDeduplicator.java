@@ -0,0 +1,129 @@
+package gruppe2.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gruppe2.backend.model.ProcessedWebhookEvent;
+import gruppe2.backend.repository.OrderRepository;
+import gruppe2.backend.repository.ProcessedWebhookEventRepository;
+import gruppe2.backend.service.webhook.WebhookDelivery;
+import gruppe2.backend.service.webhook.WebhookPayload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Recognises WooCommerce webhooks that have already been applied.
+ * <p>
+ * Every applied payload is stored as its WooCommerce order id and a SHA-256 hash in the
+ * processed_webhook_events table. The most recent entries are also kept in a bounded LRU,
+ * so redeliveries of the same payload are answered from memory without a database round-trip.
+ * The WooCommerce date_modified is stored alongside, so payloads that arrive after a newer one
+ * for the same order are recognised as outdated.
+ */
+@Service
+public class WebhookDeduplicator {
+    private final ProcessedWebhookEventRepository processedWebhookEventRepository;
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+    private final Clock clock = Clock.systemDefaultZone();
+    private final Map<Long, String> recentHashes;
+
+    public WebhookDeduplicator(
+            ProcessedWebhookEventRepository processedWebhookEventRepository,
+            OrderRepository orderRepository,
+            ObjectMapper objectMapper,
+            @Value("${webhook.dedup.cache-size:10000}") int cacheSize) {
+        this.processedWebhookEventRepository = processedWebhookEventRepository;
+        this.orderRepository = orderRepository;
+        this.objectMapper = objectMapper;
+        this.recentHashes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public String hash(WebhookPayload payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(payload));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash webhook payload " + payload.getId(), e);
+        }
+    }
+
+    /**
+     * Memory-only check used on the request path.
+     * A miss does not mean the payload is new, only that it has to go through {@link #classify}.
+     */
+    public boolean isRecentDuplicate(WebhookPayload payload, String hash) {
+        synchronized (recentHashes) {
+            return hash.equals(recentHashes.get(payload.getId()));
+        }
+    }
+
+    public WebhookDelivery classify(WebhookPayload payload, String hash) {
+        if (isRecentDuplicate(payload, hash)) {
+            return WebhookDelivery.DUPLICATE;
+        }
+        ProcessedWebhookEvent processed = processedWebhookEventRepository.findById(payload.getId()).orElse(null);
+        if (processed != null) {
+            if (processed.getPayloadHash().equals(hash)) {
+                remember(payload.getId(), hash);
+                return WebhookDelivery.DUPLICATE;
+            }
+            if (processed.getDateModified() != null && payload.getDateModified() != null
+                    && payload.getDateModified().isBefore(processed.getDateModified())) {
+                return WebhookDelivery.OUTDATED;
+            }
+            return WebhookDelivery.CHANGED;
+        }
+        // Orders created before deduplication existed, or entered by hand, have no processed event
+        return orderRepository.existsById(payload.getId()) ? WebhookDelivery.CHANGED : WebhookDelivery.NEW;
+    }
+
+    /**
+     * Stores the payload as applied in the current transaction.
+     * The in-memory cache only learns about it once that transaction has committed.
+     */
+    public void record(WebhookPayload payload, String hash) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        ProcessedWebhookEvent processed = processedWebhookEventRepository.findById(payload.getId())
+                .orElse(null);
+        if (processed == null) {
+            processedWebhookEventRepository.save(new ProcessedWebhookEvent(payload.getId(), hash, now, payload.getDateModified()));
+        } else {
+            // A payload without a date does not make the order look older than it is
+            processed.update(hash, now, payload.getDateModified() != null
+                ? payload.getDateModified()
+                : processed.getDateModified());
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(payload.getId(), hash);
+                }
+            });
+        } else {
+            remember(payload.getId(), hash);
+        }
+    }
+
+    private void remember(long wooOrderId, String hash) {
+        synchronized (recentHashes) {
+            recentHashes.put(wooOrderId, hash);
+        }
+    }
+}
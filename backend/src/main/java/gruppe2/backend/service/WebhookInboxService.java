@@ -0,0 +1,272 @@
+package gruppe2.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gruppe2.backend.dto.WebhookInboxEntryDTO;
+import gruppe2.backend.dto.WebhookInboxStatsDTO;
+import gruppe2.backend.model.WebhookInboxEntry;
+import gruppe2.backend.model.WebhookInboxStatus;
+import gruppe2.backend.repository.WebhookInboxRepository;
+import gruppe2.backend.service.webhook.WebhookPayload;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Durable queue between the WooCommerce webhook endpoint and order creation.
+ * <p>
+ * The endpoint only appends the payload to the webhook_inbox table. A scheduled poller claims
+ * due entries and hands them to a bounded worker pool, which runs them through
+ * {@link WebhookService#processWebhook}. Failures are retried with exponential backoff
+ * and end up as DEAD after the last attempt, from where they can be replayed.
+ * <p>
+ * A claim records the node id of the instance and a timestamp. Claims that are older than the
+ * lease, or that this node made before it was restarted, are released again, so an entry is
+ * only retried once the instance working on it is gone. Processed entries are purged after
+ * the retention period.
+ */
+@Service
+public class WebhookInboxService {
+    private static final Logger logger = LoggerFactory.getLogger(WebhookInboxService.class);
+
+    private final WebhookInboxRepository inboxRepository;
+    private final WebhookService webhookService;
+    private final ObjectMapper objectMapper;
+    private final Clock clock = Clock.systemDefaultZone();
+    // Claims this node made before this time belong to a previous run
+    private final LocalDateTime startedAt = LocalDateTime.now(clock);
+
+    private final int nodeId;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration retryBaseDelay;
+    private final Duration retryMaxDelay;
+    private final Duration lease;
+    private final Duration doneRetention;
+    private final ExecutorService workerPool;
+    // One permit per worker, so the poller never claims more entries than it can run
+    private final Semaphore freeWorkers;
+
+    public WebhookInboxService(
+            WebhookInboxRepository inboxRepository,
+            WebhookService webhookService,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${orders.id.node-id:0}") int nodeId,
+            @Value("${webhook.inbox.workers:4}") int workers,
+            @Value("${webhook.inbox.max-attempts:8}") int maxAttempts,
+            @Value("${webhook.inbox.retry-base-delay:PT5S}") Duration retryBaseDelay,
+            @Value("${webhook.inbox.retry-max-delay:PT10M}") Duration retryMaxDelay,
+            @Value("${webhook.inbox.lease:PT5M}") Duration lease,
+            @Value("${webhook.inbox.done-retention:P7D}") Duration doneRetention) {
+        this.inboxRepository = inboxRepository;
+        this.webhookService = webhookService;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelay = retryBaseDelay;
+        this.retryMaxDelay = retryMaxDelay;
+        this.lease = lease;
+        this.doneRetention = doneRetention;
+        this.freeWorkers = new Semaphore(workers);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "webhook-inbox-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("webhook.inbox.depth", inboxRepository, WebhookInboxRepository::countUnprocessed)
+            .description("Webhooks that are pending or being processed")
+            .register(meterRegistry);
+        TimeGauge.builder("webhook.inbox.lag", this, TimeUnit.SECONDS, WebhookInboxService::lagSeconds)
+            .description("Age of the oldest webhook that has not been processed")
+            .register(meterRegistry);
+    }
+
+    @Transactional
+    public WebhookInboxEntry enqueue(WebhookPayload payload) {
+        try {
+            String json = objectMapper.writeValueAsString(payload);
+            return inboxRepository.save(new WebhookInboxEntry(payload.getId(), json, LocalDateTime.now(clock)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize webhook payload " + payload.getId(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${webhook.inbox.lease-check-interval-ms:60000}",
+        fixedDelayString = "${webhook.inbox.lease-check-interval-ms:60000}")
+    public void releaseInterruptedEntries() {
+        int released = inboxRepository.releaseAbandoned(nodeId, startedAt, LocalDateTime.now(clock).minus(lease));
+        if (released > 0) {
+            logger.info("Released {} webhook inbox entries interrupted by a shutdown or an expired lease", released);
+        }
+    }
+
+    @Scheduled(
+        initialDelayString = "${webhook.inbox.purge-interval-ms:3600000}",
+        fixedDelayString = "${webhook.inbox.purge-interval-ms:3600000}")
+    public void purgeProcessedEntries() {
+        int purged = inboxRepository.deleteDoneBefore(LocalDateTime.now(clock).minus(doneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} processed webhook inbox entries", purged);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${webhook.inbox.poll-interval-ms:1000}")
+    public void poll() {
+        int available = freeWorkers.availablePermits();
+        if (available == 0) {
+            return;
+        }
+        List<Long> dueIds = inboxRepository.findDueIds(LocalDateTime.now(clock), PageRequest.of(0, available));
+        for (Long id : dueIds) {
+            if (!freeWorkers.tryAcquire()) {
+                return;
+            }
+            if (inboxRepository.claim(id, nodeId, LocalDateTime.now(clock)) == 0) {
+                // Claimed by another instance in the meantime
+                freeWorkers.release();
+                continue;
+            }
+            try {
+                workerPool.execute(() -> {
+                    try {
+                        process(id);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                freeWorkers.release();
+                return;
+            }
+        }
+    }
+
+    private void process(Long id) {
+        WebhookInboxEntry entry = inboxRepository.findById(id).orElse(null);
+        if (entry == null) {
+            return;
+        }
+        try {
+            WebhookPayload payload = objectMapper.readValue(entry.getPayload(), WebhookPayload.class);
+            webhookService.processWebhook(payload);
+            entry.markDone(LocalDateTime.now(clock));
+        } catch (Exception e) {
+            int attempt = entry.getAttempts() + 1;
+            LocalDateTime nextAttemptAt = attempt < maxAttempts
+                    ? LocalDateTime.now(clock).plus(backoff(attempt))
+                    : null;
+            entry.markFailed(describe(e), nextAttemptAt);
+            if (nextAttemptAt == null) {
+                logger.error("Webhook for order {} moved to dead letters after {} attempts", entry.getWooOrderId(), attempt, e);
+            } else {
+                logger.warn("Webhook for order {} failed (attempt {}), retrying at {}", entry.getWooOrderId(), attempt, nextAttemptAt, e);
+            }
+        }
+        try {
+            inboxRepository.save(entry);
+        } catch (RuntimeException e) {
+            // Stays PROCESSING and is released once the lease has expired
+            logger.error("Could not record outcome of webhook inbox entry {}", id, e);
+        }
+    }
+
+    private Duration backoff(int attempt) {
+        Duration delay = retryBaseDelay.multipliedBy(1L << Math.min(attempt - 1, 20));
+        return delay.compareTo(retryMaxDelay) > 0 ? retryMaxDelay : delay;
+    }
+
+    private static String describe(Exception e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root == e ? String.valueOf(e.getMessage()) : e.getMessage() + ": " + root.getMessage();
+    }
+
+    @Transactional(readOnly = true)
+    public List<WebhookInboxEntryDTO> findDeadLetters(int limit) {
+        return inboxRepository.findByStatusOrderByIdAsc(WebhookInboxStatus.DEAD, PageRequest.of(0, limit)).stream()
+                .map(WebhookInboxEntryDTO::from)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Schedules an entry for immediate reprocessing with a fresh attempt budget.
+     */
+    @Transactional
+    public WebhookInboxEntryDTO replay(Long id) {
+        WebhookInboxEntry entry = inboxRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Webhook inbox entry not found: " + id));
+        if (entry.getStatus() == WebhookInboxStatus.PROCESSING) {
+            throw new IllegalStateException("Webhook inbox entry is being processed: " + id);
+        }
+        entry.resetForReplay(LocalDateTime.now(clock));
+        return WebhookInboxEntryDTO.from(entry);
+    }
+
+    @Transactional
+    public int replayDeadLetters() {
+        List<WebhookInboxEntry> dead = inboxRepository.findByStatusOrderByIdAsc(WebhookInboxStatus.DEAD, PageRequest.of(0, 1000));
+        LocalDateTime now = LocalDateTime.now(clock);
+        dead.forEach(entry -> entry.resetForReplay(now));
+        return dead.size();
+    }
+
+    @Transactional(readOnly = true)
+    public WebhookInboxStatsDTO getStats() {
+        long pending = inboxRepository.countByStatus(WebhookInboxStatus.PENDING);
+        long processing = inboxRepository.countByStatus(WebhookInboxStatus.PROCESSING);
+        return new WebhookInboxStatsDTO(
+            pending + processing,
+            pending,
+            processing,
+            inboxRepository.countByStatus(WebhookInboxStatus.DONE),
+            inboxRepository.countByStatus(WebhookInboxStatus.DEAD),
+            workers - freeWorkers.availablePermits(),
+            lagSeconds()
+        );
+    }
+
+    private long lagSeconds() {
+        LocalDateTime oldest = inboxRepository.findOldestUnprocessedReceivedAt();
+        return oldest != null
+                ? Math.max(0, Duration.between(oldest, LocalDateTime.now(clock)).getSeconds())
+                : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(10, TimeUnit.SECONDS)) {
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,52 +1,132 @@
 package gruppe2.backend.service;
 
+import gruppe2.backend.domain.Order;
+import gruppe2.backend.domain.OrderCatalog;
 import gruppe2.backend.service.webhook.WebhookPayload;
 import gruppe2.backend.domain.command.ProcessWebhookCommand;
-import gruppe2.backend.mapper.OrderMapper;
+import gruppe2.backend.domain.command.UpdateWebhookOrderCommand;
+import gruppe2.backend.domain.event.OrderUpdatedEvent;
 import gruppe2.backend.mapper.WebhookMapper;
+import gruppe2.backend.monitoring.CommandTimer;
+import gruppe2.backend.monitoring.jfr.PhaseClock;
+import gruppe2.backend.monitoring.jfr.WebhookProcessingEvent;
 import gruppe2.backend.repository.*;
+import gruppe2.backend.service.webhook.WebhookDelivery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class WebhookService {
-    private final OrderService orderService;
-    private final ItemService itemService;
-    private final ItemRepository itemRepository;
-    private final ProductTypeRepository productTypeRepository;
+    private static final Logger logger = LoggerFactory.getLogger(WebhookService.class);
+    private final OrderCreationPipeline orderCreationPipeline;
+    private final OrderRepository orderRepository;
     private final OrderProductTypeRepository orderProductTypeRepository;
     private final WebhookMapper webhookMapper;
-    private final OrderMapper orderMapper;
+    private final DashboardProjectionService dashboardProjectionService;
+    private final WebhookDeduplicator webhookDeduplicator;
+    private final OrderEventPublisher orderEventPublisher;
+    private final ProcessingTimeEstimator processingTimeEstimator;
+    private final CommandTimer commandTimer;
 
     public WebhookService(
-            OrderService orderService,
-            ItemService itemService,
-            ItemRepository itemRepository,
-            ProductTypeRepository productTypeRepository,
+            OrderCreationPipeline orderCreationPipeline,
+            OrderRepository orderRepository,
             OrderProductTypeRepository orderProductTypeRepository,
             WebhookMapper webhookMapper,
-            OrderMapper orderMapper) {
-        this.orderService = orderService;
-        this.itemService = itemService;
-        this.itemRepository = itemRepository;
-        this.productTypeRepository = productTypeRepository;
+            DashboardProjectionService dashboardProjectionService,
+            WebhookDeduplicator webhookDeduplicator,
+            OrderEventPublisher orderEventPublisher,
+            ProcessingTimeEstimator processingTimeEstimator,
+            CommandTimer commandTimer) {
+        this.orderCreationPipeline = orderCreationPipeline;
+        this.orderRepository = orderRepository;
         this.orderProductTypeRepository = orderProductTypeRepository;
         this.webhookMapper = webhookMapper;
-        this.orderMapper = orderMapper;
+        this.dashboardProjectionService = dashboardProjectionService;
+        this.webhookDeduplicator = webhookDeduplicator;
+        this.orderEventPublisher = orderEventPublisher;
+        this.processingTimeEstimator = processingTimeEstimator;
+        this.commandTimer = commandTimer;
+    }
+
+    /**
+     * Fast path for the webhook endpoint: true when this exact payload was applied recently.
+     */
+    public boolean isAlreadyProcessed(WebhookPayload payload) {
+        return webhookDeduplicator.isRecentDuplicate(payload, webhookDeduplicator.hash(payload));
+    }
+
+    /**
+     * Applies a webhook exactly once per distinct payload. Redeliveries and payloads older than the
+     * one already applied are skipped, and a changed payload for an order that already exists
+     * updates that order instead of failing.
+     * Recorded as a {@link WebhookProcessingEvent} for Java Flight Recorder.
+     */
+    @Transactional
+    public WebhookDelivery processWebhook(WebhookPayload payload) {
+        WebhookProcessingEvent event = new WebhookProcessingEvent();
+        event.begin();
+        PhaseClock phases = new PhaseClock();
+        try {
+            event.orderId = payload.getId();
+            String hash = webhookDeduplicator.hash(payload);
+            WebhookDelivery delivery = webhookDeduplicator.classify(payload, hash);
+            event.delivery = delivery.name();
+            event.classifyDuration = phases.lap();
+            switch (delivery) {
+                case DUPLICATE -> {
+                    logger.debug("Skipping duplicate webhook for order {}", payload.getId());
+                    return delivery;
+                }
+                case OUTDATED -> {
+                    logger.info("Skipping webhook for order {} modified at {}, a newer payload was already applied",
+                        payload.getId(), payload.getDateModified());
+                    return delivery;
+                }
+                case NEW -> createOrderInDatabase(payload);
+                case CHANGED -> updateOrderInDatabase(payload);
+            }
+            webhookDeduplicator.record(payload, hash);
+            event.applyDuration = phases.lap();
+            return delivery;
+        } catch (RuntimeException e) {
+            event.failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.commit();
+        }
     }
 
     @Transactional
     public void createOrderInDatabase(WebhookPayload payload) {
+        // The pipeline refreshes the dashboard projection itself
         ProcessWebhookCommand command = new ProcessWebhookCommand(
             payload,
-            orderService,
-            itemService,
-            itemRepository,
-            productTypeRepository,
+            orderCreationPipeline,
+            webhookMapper
+        );
+        commandTimer.record(command, command::execute);
+    }
+
+    @Transactional
+    public void updateOrderInDatabase(WebhookPayload payload) {
+        OrderCatalog catalog = orderCreationPipeline.resolveCatalog(
+            webhookMapper.toItemQuantities(payload).keySet(),
+            webhookMapper.toGenericItems(payload)
+        );
+        UpdateWebhookOrderCommand command = new UpdateWebhookOrderCommand(
+            payload,
+            catalog,
+            processingTimeEstimator,
+            orderRepository,
             orderProductTypeRepository,
-            webhookMapper,
-            orderMapper
+            webhookMapper
         );
-        command.execute();
+        Order order = commandTimer.record(command, command::execute);
+        dashboardProjectionService.refreshOrder(payload.getId());
+        orderEventPublisher.publishEvents(order);
+        orderEventPublisher.publish(new OrderUpdatedEvent(payload.getId()));
     }
 }
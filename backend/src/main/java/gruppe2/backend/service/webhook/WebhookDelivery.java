@@ -0,0 +1,12 @@
+package gruppe2.backend.service.webhook;
+
+/**
+ * How an incoming webhook relates to what has already been applied for its order.
+ */
+public enum WebhookDelivery {
+    NEW,
+    DUPLICATE,
+    CHANGED,
+    /** Older than the payload already applied for the order, by its date_modified */
+    OUTDATED
+}
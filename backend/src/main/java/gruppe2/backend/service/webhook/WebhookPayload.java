@@ -1,7 +1,9 @@
 package gruppe2.backend.service.webhook;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -23,6 +25,11 @@ public class WebhookPayload {
     @JsonProperty("line_items")
     private List<LineItem> items;
 
+    // Left out when absent, so payloads without it keep the hash they were recorded with
+    @JsonProperty("date_modified")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDateTime dateModified;
+
     // Getters and setters...
 
     public long getId() {
@@ -48,4 +55,15 @@ public class WebhookPayload {
     public void setItems(List<LineItem> items) {
         this.items = items;
     }
+
+    /**
+     * @return When the order was last changed in WooCommerce, or null when the payload does not say
+     */
+    public LocalDateTime getDateModified() {
+        return dateModified;
+    }
+
+    public void setDateModified(LocalDateTime dateModified) {
+        this.dateModified = dateModified;
+    }
 }
\ No newline at end of file
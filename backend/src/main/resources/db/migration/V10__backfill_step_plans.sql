@@ -0,0 +1,35 @@
+-- Moves order lines created before step plans existed onto them, then drops the legacy tables.
+-- Those lines have their steps in order_product_type_steps and their timestamps per status
+-- definition in order_product_type_updated.
+
+-- The steps of every legacy line, hashed like StepPlan.hash: SHA-256 of the comma-separated ids
+create temporary table legacy_line_steps on commit drop as
+select order_product_type_id as order_details_id,
+       array_agg(step_id order by step_order) as step_ids,
+       encode(sha256(convert_to(string_agg(step_id::text, ',' order by step_order), 'UTF8')), 'hex') as plan_hash
+from order_product_type_steps
+where step_id is not null
+group by order_product_type_id;
+
+insert into step_plans (plan_hash, step_ids, step_count)
+select distinct on (plan_hash) plan_hash, step_ids, cardinality(step_ids)
+from legacy_line_steps
+on conflict (plan_hash) do nothing;
+
+-- Timestamps are stored at the position of their step in the plan; steps never reached stay null
+update order_details d
+set step_plan_id = p.id,
+    step_timestamps = (
+        select array_agg(u.updated order by s.position)
+        from unnest(p.step_ids) with ordinality as s(step_id, position)
+        left join order_product_type_updated u
+            on u.order_product_type_id = d.id and u.status_definition_id = s.step_id)
+from legacy_line_steps l
+join step_plans p on p.plan_hash = l.plan_hash
+where l.order_details_id = d.id
+  and d.step_plan_id is null;
+
+-- Lines that never had any steps stay without a plan. Dropping the tables also drops their
+-- foreign keys to order_details, which would otherwise block deleting the migrated lines
+drop table order_product_type_updated;
+drop table order_product_type_steps;
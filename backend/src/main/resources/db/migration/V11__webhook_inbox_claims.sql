@@ -0,0 +1,7 @@
+-- Which instance is processing an inbox entry and since when, so an interrupted claim can be
+-- taken over once its lease has expired without touching entries other instances are still on
+alter table webhook_inbox add column if not exists claimed_by integer;
+alter table webhook_inbox add column if not exists claimed_at timestamp(6);
+
+-- Processed entries are purged after a retention period
+create index if not exists idx_webhook_inbox_status_processed_at on webhook_inbox (status, processed_at);
@@ -0,0 +1,3 @@
+-- The WooCommerce date_modified of the last applied payload, so a delivery that was
+-- overtaken by a newer one is not applied on top of it
+alter table processed_webhook_events add column if not exists date_modified timestamp(6);
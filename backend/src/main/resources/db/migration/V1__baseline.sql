@@ -0,0 +1,89 @@
+-- Schema as created by Hibernate (ddl-auto=update) before migrations were introduced.
+-- Databases that were created that way are baselined at this version instead of running it.
+
+create table items (
+    is_deleted boolean,
+    id bigint not null,
+    product_type_id bigint,
+    item_image varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+create table order_details (
+    current_step_index integer,
+    item_amount integer,
+    id bigint generated by default as identity,
+    item_id bigint,
+    order_id bigint,
+    product_type varchar(255),
+    primary key (id)
+);
+
+create table order_product_type_steps (
+    step_order integer not null,
+    order_product_type_id bigint not null,
+    step_id bigint,
+    primary key (step_order, order_product_type_id)
+);
+
+create table order_product_type_updated (
+    order_product_type_id bigint not null,
+    status_definition_id bigint not null,
+    updated timestamp(6),
+    primary key (order_product_type_id, status_definition_id)
+);
+
+create table orders (
+    priority boolean,
+    total_estimated_time integer,
+    id bigint not null,
+    order_created timestamp(6),
+    customer_name varchar(255),
+    notes varchar(255),
+    shipping_url varchar(255),
+    primary key (id)
+);
+
+create table product_type_steps (
+    different_steps_order integer not null,
+    step_order integer not null,
+    id bigint generated by default as identity,
+    product_type_id bigint,
+    step_id bigint,
+    primary key (id)
+);
+
+create table product_types (
+    id bigint generated by default as identity,
+    name varchar(255),
+    primary key (id)
+);
+
+create table status_definitions (
+    id bigint generated by default as identity,
+    description varchar(255),
+    image varchar(255),
+    name varchar(255),
+    primary key (id)
+);
+
+alter table if exists order_details
+   add constraint FKnfrrgu0scdkwpptvs5gx6m6o9
+   foreign key (item_id)
+   references items;
+
+alter table if exists order_product_type_steps
+   add constraint FKad3s1lk95lutnugms9y8je6cx
+   foreign key (order_product_type_id)
+   references order_details;
+
+alter table if exists order_product_type_updated
+   add constraint FK6yavdhxvwnvvamuq84uaorugh
+   foreign key (order_product_type_id)
+   references order_details;
+
+alter table if exists product_type_steps
+   add constraint FKmi5k4y70rr0le0pce0wrpbrtf
+   foreign key (product_type_id)
+   references product_types;
@@ -0,0 +1,14 @@
+-- Order lines are read per order (order details, dashboard, deleting an order)
+-- and per item (deleting or updating an item)
+create index if not exists idx_order_details_order_id on order_details (order_id);
+create index if not exists idx_order_details_item_id on order_details (item_id);
+
+create index if not exists idx_items_product_type_id on items (product_type_id);
+create index if not exists idx_product_type_steps_product_type_id on product_type_steps (product_type_id);
+
+-- Dashboard pages are ordered and paged by (order_created, id)
+create index if not exists idx_orders_created_id on orders (order_created, id);
+
+-- Customer-name search is a case-insensitive substring match: lower(customer_name) like '%term%'
+create extension if not exists pg_trgm;
+create index if not exists idx_orders_customer_name_trgm on orders using gin (lower(customer_name) gin_trgm_ops);
@@ -0,0 +1,11 @@
+-- Order lines carry a version for optimistic locking of step changes
+alter table order_details add column if not exists version bigint not null default 0;
+
+-- Idempotency keys of applied step changes, purged after the retention period
+create table if not exists processed_step_changes (
+    order_details_id bigint not null,
+    processed_at timestamp(6) not null,
+    idempotency_key varchar(64) not null,
+    primary key (idempotency_key)
+);
+create index if not exists idx_processed_step_changes_processed_at on processed_step_changes (processed_at);
@@ -0,0 +1,4 @@
+-- Order and item search: case-insensitive substring matches on lower(column) like '%term%',
+-- served by trigram indexes next to idx_orders_customer_name_trgm from V2
+create index if not exists idx_orders_notes_trgm on orders using gin (lower(notes) gin_trgm_ops);
+create index if not exists idx_items_name_trgm on items using gin (lower(name) gin_trgm_ops);
@@ -0,0 +1,14 @@
+-- Denormalized dashboard rows, one per order, kept up to date by DashboardProjectionService.
+-- "if not exists": databases that ran with ddl-auto=update may have the table already
+create table if not exists dashboard_order_view (
+    completed boolean,
+    priority boolean,
+    order_created timestamp(6),
+    order_id bigint not null,
+    refreshed_at timestamp(6),
+    customer_name varchar(255),
+    items_json text,
+    notes varchar(255),
+    primary key (order_id)
+);
+create index if not exists idx_dashboard_order_view_created on dashboard_order_view (order_created, order_id);
@@ -0,0 +1,14 @@
+-- Received WooCommerce webhooks, turned into orders by the inbox workers
+create table if not exists webhook_inbox (
+    attempts integer,
+    id bigint generated by default as identity,
+    next_attempt_at timestamp(6),
+    processed_at timestamp(6),
+    received_at timestamp(6) not null,
+    woo_order_id bigint,
+    status varchar(16) not null check (status in ('PENDING','PROCESSING','DONE','DEAD')),
+    last_error varchar(2000),
+    payload text not null,
+    primary key (id)
+);
+create index if not exists idx_webhook_inbox_status_next_attempt on webhook_inbox (status, next_attempt_at);
@@ -0,0 +1,7 @@
+-- The last applied payload per WooCommerce order, to recognise redeliveries
+create table if not exists processed_webhook_events (
+    processed_at timestamp(6) not null,
+    woo_order_id bigint not null,
+    payload_hash varchar(64) not null,
+    primary key (woo_order_id)
+);
@@ -0,0 +1,16 @@
+-- Append-only log of the steps entered by order lines
+create sequence if not exists item_status_events_seq start with 1 increment by 50;
+
+create table if not exists item_status_events (
+    step_index integer not null,
+    id bigint not null,
+    item_id bigint not null,
+    occurred_at timestamp(6) not null,
+    order_id bigint not null,
+    previous_status_definition_id bigint,
+    status_definition_id bigint not null,
+    primary key (id)
+);
+create index if not exists idx_item_status_events_occurred_at on item_status_events (occurred_at);
+create index if not exists idx_item_status_events_status_occurred_at on item_status_events (status_definition_id, occurred_at);
+create index if not exists idx_item_status_events_order_occurred_at on item_status_events (order_id, occurred_at);
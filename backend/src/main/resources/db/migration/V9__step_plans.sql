@@ -0,0 +1,17 @@
+-- Step sequences shared by order lines, which keep one timestamp per step of their plan
+create table if not exists step_plans (
+    step_count integer not null,
+    id bigint generated by default as identity,
+    plan_hash varchar(64) not null unique,
+    step_ids bigint array not null,
+    primary key (id)
+);
+
+alter table order_details add column if not exists step_plan_id bigint;
+alter table order_details add column if not exists step_timestamps timestamp(6) array;
+
+alter table order_details drop constraint if exists FKqyb0hs8wnx360hje3exygb1k6;
+alter table order_details
+   add constraint FKqyb0hs8wnx360hje3exygb1k6
+   foreign key (step_plan_id)
+   references step_plans;
@@ -0,0 +1,81 @@
+package gruppe2.backend.controller;
+
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.service.OrderCreationPipeline;
+import gruppe2.backend.service.OrderService;
+import gruppe2.backend.service.ProductTypeService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class FlightRecordingEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+
+    @Test
+    void dump_AfterStepChange_ContainsOrderEvents(@TempDir Path directory) throws Exception {
+        List<Long> steps = List.of(
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Cutting", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Sewing", "", null)).getId());
+        Long productTypeId = productTypeService.createProductType(new ProductTypeDTO("Recorded", steps)).getId();
+        itemRepository.save(new Item(810_001L, "Recorded item", productTypeId));
+        Long orderId = orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(810_001L, 1), null)).getId();
+        Long lineId = orderProductTypeRepository.findByOrderId(orderId).get(0).getId();
+        mockMvc.perform(put("/api/order-product-types/{id}/next-step", lineId)).andExpect(status().isOk());
+
+        Path dump = directory.resolve("dump.jfr");
+        Files.write(dump, mockMvc.perform(get("/actuator/flightrecording"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        RecordedEvent creation = events.stream()
+            .filter(event -> event.getEventType().getName().equals("gruppe2.OrderCreation"))
+            .filter(event -> event.getLong("orderId") == orderId)
+            .findFirst().orElseThrow();
+        assertEquals(1, creation.getInt("lines"));
+        assertNull(creation.getString("failure"));
+
+        // The recording covers the whole JVM, including other test contexts with their own line ids
+        RecordedEvent transition = events.stream()
+            .filter(event -> event.getEventType().getName().equals("gruppe2.StepTransition"))
+            .filter(event -> event.getLong("orderDetailsId") == lineId && event.getLong("orderId") == orderId)
+            .findFirst().orElseThrow();
+        assertEquals(0, transition.getInt("fromStepIndex"));
+        assertEquals(1, transition.getInt("toStepIndex"));
+        assertTrue(transition.getDuration("loadLineDuration").toNanos() > 0);
+        assertTrue(transition.getDuration().compareTo(transition.getDuration("saveDuration")) > 0);
+    }
+}
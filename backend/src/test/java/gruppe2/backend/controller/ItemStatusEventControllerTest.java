@@ -0,0 +1,78 @@
+package gruppe2.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:itemstatuseventcontroller")
+@AutoConfigureMockMvc
+public class ItemStatusEventControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void getEventsBetween_ValidRange_ReturnsOk() throws Exception {
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "2024-05-01T08:00:00")
+                .param("to", "2024-05-01T12:00:00"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void getEventsBetween_InvertedRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "2024-05-01T12:00:00")
+                .param("to", "2024-05-01T08:00:00"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEventsBetween_EmptyRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "2024-05-01T08:00:00")
+                .param("to", "2024-05-01T08:00:00"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEventsBetween_UnparseableTime_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "yesterday")
+                .param("to", "2024-05-01T08:00:00"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEventsBetween_MissingBound_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "2024-05-01T08:00:00"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEventsBetween_LimitOutOfRange_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "2024-05-01T08:00:00")
+                .param("to", "2024-05-01T12:00:00")
+                .param("limit", "0"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/status-events")
+                .param("from", "2024-05-01T08:00:00")
+                .param("to", "2024-05-01T12:00:00")
+                .param("limit", "1001"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getTransitionsInto_UnparseableDate_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/status-events/step/{id}", 1L).param("date", "2024-13-01"))
+            .andExpect(status().isBadRequest());
+    }
+}
@@ -1,6 +1,7 @@
 package gruppe2.backend.controller;
 
 import gruppe2.backend.model.Order;
+import gruppe2.backend.model.OrderDetails;
 import gruppe2.backend.model.Item;
 import gruppe2.backend.model.ProductType;
 import gruppe2.backend.model.StatusDefinition;
@@ -16,6 +17,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 
 import java.time.LocalDateTime;
@@ -27,6 +29,8 @@ import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -45,6 +49,9 @@ class OrderControllerTest {
     @Mock
     private OrderProgressService orderProgressService;
 
+    @Mock
+    private DashboardStatisticsService dashboardStatisticsService;
+
     @InjectMocks
     private OrderController orderController;
 
@@ -300,22 +307,22 @@ class OrderControllerTest {
         @Test
         @DisplayName("Move To Next Step Successfully")
         void moveToNextStepSuccessfully() {
-            when(orderProgressService.moveToNextStep(anyLong())).thenReturn(testOrderProgress);
+            when(orderProgressService.moveToNextStep(anyLong(), any())).thenReturn(testOrderProgress);
 
-            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L);
+            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L, null);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
             assertEquals(testOrderProgress, response.getBody());
-            verify(orderProgressService).moveToNextStep(1L);
+            verify(orderProgressService).moveToNextStep(1L, null);
         }
 
         @Test
         @DisplayName("Move To Next Step Invalid State")
         void moveToNextStepInvalidState() {
-            when(orderProgressService.moveToNextStep(anyLong())).thenThrow(new IllegalStateException("Invalid state"));
+            when(orderProgressService.moveToNextStep(anyLong(), any())).thenThrow(new IllegalStateException("Invalid state"));
 
-            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L);
+            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertNull(response.getBody());
@@ -324,43 +331,55 @@ class OrderControllerTest {
         @Test
         @DisplayName("Move To Next Step Runtime Error")
         void moveToNextStepRuntimeError() {
-            when(orderProgressService.moveToNextStep(anyLong())).thenThrow(new RuntimeException("Unexpected error"));
+            when(orderProgressService.moveToNextStep(anyLong(), any())).thenThrow(new RuntimeException("Unexpected error"));
 
-            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L);
+            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L, null);
 
             assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
             assertNull(response.getBody());
         }
 
+        @Test
+        @DisplayName("Move To Next Step Conflict")
+        void moveToNextStepConflict() {
+            when(orderProgressService.moveToNextStep(anyLong(), any()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(OrderDetails.class, 1L));
+
+            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(1L, "key");
+
+            assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+            assertNull(response.getBody());
+        }
+
         @Test
         @DisplayName("Move To Next Step with Null ID")
         void moveToNextStepWithNullId() {
-            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(null);
+            ResponseEntity<OrderProgress> response = orderController.moveToNextStep(null, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertNull(response.getBody());
-            verify(orderProgressService, never()).moveToNextStep(any());
+            verify(orderProgressService, never()).moveToNextStep(any(), any());
         }
 
         @Test
         @DisplayName("Move To Previous Step Successfully")
         void moveToPrevStepSuccessfully() {
-            when(orderProgressService.moveToPreviousStep(anyLong())).thenReturn(testOrderProgress);
+            when(orderProgressService.moveToPreviousStep(anyLong(), any())).thenReturn(testOrderProgress);
 
-            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(1L);
+            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(1L, null);
 
             assertEquals(HttpStatus.OK, response.getStatusCode());
             assertNotNull(response.getBody());
             assertEquals(testOrderProgress, response.getBody());
-            verify(orderProgressService).moveToPreviousStep(1L);
+            verify(orderProgressService).moveToPreviousStep(1L, null);
         }
 
         @Test
         @DisplayName("Move To Previous Step Invalid State")
         void moveToPrevStepInvalidState() {
-            when(orderProgressService.moveToPreviousStep(anyLong())).thenThrow(new IllegalStateException("Invalid state"));
+            when(orderProgressService.moveToPreviousStep(anyLong(), any())).thenThrow(new IllegalStateException("Invalid state"));
 
-            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(1L);
+            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(1L, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertNull(response.getBody());
@@ -369,9 +388,9 @@ class OrderControllerTest {
         @Test
         @DisplayName("Move To Previous Step Runtime Error")
         void moveToPrevStepRuntimeError() {
-            when(orderProgressService.moveToPreviousStep(anyLong())).thenThrow(new RuntimeException("Unexpected error"));
+            when(orderProgressService.moveToPreviousStep(anyLong(), any())).thenThrow(new RuntimeException("Unexpected error"));
 
-            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(1L);
+            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(1L, null);
 
             assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
             assertNull(response.getBody());
@@ -380,11 +399,11 @@ class OrderControllerTest {
         @Test
         @DisplayName("Move To Previous Step with Null ID")
         void moveToPrevStepWithNullId() {
-            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(null);
+            ResponseEntity<OrderProgress> response = orderController.moveToPrevStep(null, null);
 
             assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
             assertNull(response.getBody());
-            verify(orderProgressService, never()).moveToPreviousStep(any());
+            verify(orderProgressService, never()).moveToPreviousStep(any(), any());
         }
 
         @Test
@@ -420,6 +439,37 @@ class OrderControllerTest {
             assertNull(response.getBody());
             verify(orderProgressService, never()).getProgress(any());
         }
+
+        @Test
+        @DisplayName("Bulk Step Update Reports Per Line")
+        void moveToStepsReportsPerLine() {
+            UpdateStepDTO first = new UpdateStepDTO();
+            first.setOrderDetailsId(1L);
+            first.setNewStepIndex(2);
+            UpdateStepDTO second = new UpdateStepDTO();
+            second.setOrderDetailsId(2L);
+            second.setNewStepIndex(9);
+            List<StepUpdateResultDTO> results = List.of(
+                StepUpdateResultDTO.succeeded(1L, testOrderProgress),
+                StepUpdateResultDTO.failed(2L, "Cannot move to step 9: product type has 3 steps")
+            );
+            when(orderProgressService.moveToSteps(anyList())).thenReturn(results);
+
+            ResponseEntity<List<StepUpdateResultDTO>> response = orderController.moveToSteps(List.of(first, second));
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(results, response.getBody());
+            verify(orderProgressService).moveToSteps(List.of(first, second));
+        }
+
+        @Test
+        @DisplayName("Bulk Step Update with Empty List")
+        void moveToStepsWithEmptyList() {
+            ResponseEntity<List<StepUpdateResultDTO>> response = orderController.moveToSteps(List.of());
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            verify(orderProgressService, never()).moveToSteps(any());
+        }
     }
 
     @Nested
@@ -481,7 +531,67 @@ class OrderControllerTest {
 
             ResponseEntity<List<OrderDashboardDTO>> response = orderController.getAllOrders();
 
-            assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+            assertNull(response.getBody());
+        }
+
+        @Test
+        @DisplayName("Get Dashboard Page Successfully")
+        void getDashboardPageSuccessfully() {
+            DashboardPageDTO mockPage = new DashboardPageDTO(Collections.emptyList(), null, false);
+            when(orderService.getDashboardPage(any(DashboardFilterDTO.class), any(), anyInt())).thenReturn(mockPage);
+
+            ResponseEntity<DashboardPageDTO> response =
+                orderController.getDashboardPage(null, 25, true, "Test", null, "active");
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(mockPage, response.getBody());
+            verify(orderService).getDashboardPage(
+                new DashboardFilterDTO(true, "Test", null, DashboardStatusFilter.ACTIVE), null, 25);
+        }
+
+        @Test
+        @DisplayName("Get Dashboard Page with Invalid Cursor")
+        void getDashboardPageWithInvalidCursor() {
+            ResponseEntity<DashboardPageDTO> response =
+                orderController.getDashboardPage("not-a-cursor", 25, null, null, null, null);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            assertNull(response.getBody());
+            verify(orderService, never()).getDashboardPage(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Get Dashboard Page with Invalid Limit")
+        void getDashboardPageWithInvalidLimit() {
+            ResponseEntity<DashboardPageDTO> response =
+                orderController.getDashboardPage(null, 0, null, null, null, null);
+
+            assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+            verify(orderService, never()).getDashboardPage(any(), any(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Get Statistics Successfully")
+        void getStatisticsSuccessfully() {
+            DashboardStatisticsDTO statistics = new DashboardStatisticsDTO(
+                10, 4, 6, 1, 2, 1.5, List.of(new ProductTypeCountDTO("T-shirt", 7)));
+            when(dashboardStatisticsService.getStatistics()).thenReturn(statistics);
+
+            ResponseEntity<DashboardStatisticsDTO> response = orderController.getStatistics();
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(statistics, response.getBody());
+        }
+
+        @Test
+        @DisplayName("Get Statistics Failure")
+        void getStatisticsFailure() {
+            when(dashboardStatisticsService.getStatistics()).thenThrow(new RuntimeException("Query failed"));
+
+            ResponseEntity<DashboardStatisticsDTO> response = orderController.getStatistics();
+
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
             assertNull(response.getBody());
         }
     }
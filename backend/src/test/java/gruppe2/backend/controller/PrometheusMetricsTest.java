@@ -0,0 +1,80 @@
+package gruppe2.backend.controller;
+
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.service.OrderCreationPipeline;
+import gruppe2.backend.service.OrderService;
+import gruppe2.backend.service.ProductTypeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prometheus")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+public class PrometheusMetricsTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+
+    @Test
+    void prometheus_AfterOrderIsCreatedAndMoved_ExposesOrderMetrics() throws Exception {
+        List<Long> steps = List.of(
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Printing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Packing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Shipped", "", null)).getId());
+        Long productTypeId = productTypeService.createProductType(new ProductTypeDTO("Metrics", steps)).getId();
+        itemRepository.save(new Item(800_001L, "Metrics item", productTypeId));
+        Long orderId = orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(800_001L, 2), null)).getId();
+        Long lineId = orderProductTypeRepository.findByOrderId(orderId).get(0).getId();
+
+        mockMvc.perform(put("/api/order-product-types/{id}/next-step", lineId)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/{orderId}", orderId)).andExpect(status().isOk());
+
+        // The active line gauge is updated by the delay monitor's own thread
+        String scrape = "";
+        for (int attempt = 0; attempt < 50 && !scrape.contains("orders_lines_active{step=\"" + steps.get(1) + "\"} 1.0"); attempt++) {
+            Thread.sleep(100);
+            scrape = scrape();
+        }
+
+        assertTrue(scrape.contains("orders_lines_active{step=\"" + steps.get(1) + "\"} 1.0"), scrape);
+        assertTrue(scrape.contains("orders_step_transitions_total{direction=\"forward\",step=\"" + steps.get(1) + "\"} 1.0"));
+        assertTrue(scrape.contains("orders_commands_seconds_bucket{command=\"SetupOrderDetailsCommand\",exception=\"none\""));
+        assertTrue(scrape.contains("orders_commands_seconds_count{command=\"UpdateItemStatusCommand\",exception=\"none\"}"));
+        assertTrue(scrape.contains("jdbc_repository_invocations_seconds_bucket{exception=\"none\",method=\"findByOrderId\",repository=\"OrderDetailsReadRepository\""));
+        assertTrue(scrape.contains("webhook_inbox_depth 0.0"));
+        assertTrue(scrape.contains("webhook_inbox_lag_seconds 0.0"));
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{error=\"none\",exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/api/orders/{orderId}\""));
+    }
+
+    private String scrape() throws Exception {
+        return mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+}
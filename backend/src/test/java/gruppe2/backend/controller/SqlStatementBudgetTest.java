@@ -0,0 +1,241 @@
+package gruppe2.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gruppe2.backend.dto.*;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.monitoring.SqlStatementCountFilter;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.service.OrderCreationPipeline;
+import gruppe2.backend.service.OrderService;
+import gruppe2.backend.service.ProductTypeService;
+import gruppe2.backend.service.webhook.BillingInfo;
+import gruppe2.backend.service.webhook.Img;
+import gruppe2.backend.service.webhook.LineItem;
+import gruppe2.backend.service.webhook.WebhookPayload;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Pins how many SQL statements each endpoint may execute, with enough data that a query per
+ * order, line or step would exceed the limit. A failure here means an endpoint started to
+ * issue queries in a loop, or the limit needs raising for a deliberate change.
+ * <p>
+ * Counts come from the X-SQL-Statement-Count header and cover the request thread only, not
+ * work handed to the webhook inbox workers or other background threads.
+ * <p>
+ * Runs against a database of its own: test contexts sharing the in-memory database hand out
+ * clashing event ids, and the retries that follow would show up as extra statements.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sqlbudget")
+@AutoConfigureMockMvc
+public class SqlStatementBudgetTest {
+    private static final int ORDERS = 40;
+    private static final int LINES_PER_ORDER = 5;
+    private static final int STEPS = 8;
+    private static final AtomicLong NEXT_ID = new AtomicLong(700_000);
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static boolean seeded;
+    private static List<Long> steps;
+    private static Long productTypeId;
+    private static List<Long> itemIds;
+    private static Long orderId;
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        steps = new ArrayList<>();
+        for (int i = 0; i < STEPS; i++) {
+            steps.add(orderService.createStatusDefinition(new StatusDefinitionDTO("Budget step " + i, "", null)).getId());
+        }
+        productTypeId = productTypeService.createProductType(new ProductTypeDTO("Budget", steps)).getId();
+        // The generic product type items from webhooks start out with
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_types WHERE id = 0", Integer.class) == 0) {
+            jdbcTemplate.update("INSERT INTO product_types (id, name) VALUES (0, 'Generic')");
+            jdbcTemplate.update("INSERT INTO product_type_steps (product_type_id, step_id, step_order, different_steps_order) VALUES (0, ?, 0, 0)", steps.get(0));
+        }
+        itemIds = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER * 2; i++) {
+            itemIds.add(saveItem(productTypeId));
+        }
+        for (int i = 0; i < ORDERS; i++) {
+            orderId = createOrder(itemIds.subList(i % 2 * LINES_PER_ORDER, i % 2 * LINES_PER_ORDER + LINES_PER_ORDER));
+        }
+        seeded = true;
+    }
+
+    @Test
+    void orderReads() throws Exception {
+        assertStatements(3, get("/api/orders/{orderId}", orderId));
+        assertStatements(2, get("/api/orders/dashboard"));
+        assertStatements(3, get("/api/orders/dashboard/page").param("limit", "50"));
+        assertStatements(3, get("/api/orders/dashboard/page").param("customerName", "customer").param("status", "active"));
+        assertStatements(3, get("/api/orders/statistics"));
+        // Served from memory
+        assertStatements(0, get("/api/orders/delayed"));
+        assertStatements(0, get("/api/orders/estimates"));
+        assertStatements(2, get("/api/order-product-types/{id}/progress", firstLine(orderId).getId()));
+    }
+
+    @Test
+    void referenceDataReads() throws Exception {
+        assertStatements(2, get("/api/get-all-items"));
+        assertStatements(2, get("/api/get-all-producttypes"));
+        assertStatements(2, get("/api/get-all-status-definitions"));
+    }
+
+    @Test
+    void referenceDataWrites() throws Exception {
+        assertStatements(2, post("/api/create-status-definition").contentType(MediaType.APPLICATION_JSON)
+            .content(json(new StatusDefinitionDTO("New step", "", null))));
+        // Steps get an identity id each, so they cannot be inserted as one batch
+        assertStatements(STEPS + 3, post("/api/create-product-type").contentType(MediaType.APPLICATION_JSON)
+            .content(json(new ProductTypeDTO("New type", steps))));
+        assertStatements(3, post("/api/create-item").contentType(MediaType.APPLICATION_JSON)
+            .content(json(new ItemDTO("New item", NEXT_ID.incrementAndGet(), productTypeId, null, false))));
+        assertStatements(4, delete("/api/delete-item/{itemId}", saveItem(productTypeId)));
+        Long unusedProductType = productTypeService.createProductType(new ProductTypeDTO("Unused", steps)).getId();
+        assertStatements(5, delete("/api/delete-product-type/{productTypeId}", unusedProductType));
+    }
+
+    @Test
+    void orderWrites() throws Exception {
+        Map<Long, Integer> items = new LinkedHashMap<>();
+        itemIds.forEach(itemId -> items.put(itemId, 2));
+        // Lines get an identity id each, so they cannot be inserted as one batch
+        assertStatements(2 * items.size() + 4, post("/api/create-order").contentType(MediaType.APPLICATION_JSON)
+            .content(json(new OrderDTO(null, "Budget customer", false, "", items, null))));
+
+        Long order = createOrder(itemIds.subList(0, LINES_PER_ORDER));
+        Long line = firstLine(order).getId();
+        assertStatements(10, put("/api/order-product-types/{id}/next-step", line));
+        assertStatements(13, put("/api/order-product-types/{id}/next-step", line).header("Idempotency-Key", UUID.randomUUID().toString()));
+        assertStatements(10, put("/api/order-product-types/{id}/prev-step", line));
+        assertStatements(10, post("/api/update-step").contentType(MediaType.APPLICATION_JSON)
+            .content("{\"orderDetailsId\": " + line + ", \"newStepIndex\": " + (STEPS - 1) + "}"));
+
+        StringJoiner updates = new StringJoiner(",", "[", "]");
+        orderProductTypeRepository.findByOrderId(createOrder(itemIds.subList(0, LINES_PER_ORDER)))
+            .forEach(orderLine -> updates.add("{\"orderDetailsId\": " + orderLine.getId() + ", \"newStepIndex\": 3}"));
+        assertStatements(11, post("/api/update-steps").contentType(MediaType.APPLICATION_JSON).content(updates.toString()));
+
+        Long withLine = createOrder(itemIds.subList(0, LINES_PER_ORDER));
+        assertStatements(8, delete("/api/delete-item-from-order/{itemId}/{orderId}", itemIds.get(0), withLine));
+        assertStatements(9, delete("/api/delete-order/{orderId}", createOrder(itemIds.subList(0, LINES_PER_ORDER))));
+    }
+
+    @Test
+    void genericProductTypeChange() throws Exception {
+        // One item in many orders, as a webhook product would be
+        Long genericItem = saveItem(0L);
+        for (int i = 0; i < 10; i++) {
+            createOrder(List.of(genericItem));
+        }
+        assertStatements(12, post("/api/update-generic-product-type").contentType(MediaType.APPLICATION_JSON)
+            .content(json(new UpdateProductTypeDTO(productTypeId, genericItem))));
+    }
+
+    @Test
+    void webhooks() throws Exception {
+        assertStatements(2, post("/webhooks/wooOrder").contentType(MediaType.APPLICATION_JSON)
+            .content(json(webhookPayload())));
+        assertStatements(6, get("/webhooks/inbox/stats"));
+        assertStatements(2, get("/webhooks/inbox/dead"));
+        assertStatements(2, post("/webhooks/inbox/dead/replay"));
+    }
+
+    @Test
+    void statementCounts_RecordedAsMetrics() throws Exception {
+        assertStatements(3, get("/api/orders/{orderId}", orderId));
+
+        DistributionSummary statements = meterRegistry.find("http.server.requests.sql.statements")
+            .tag("uri", "/api/orders/{orderId}")
+            .summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() > 0);
+        assertNotNull(meterRegistry.find("hibernate.statements").functionCounter());
+    }
+
+    private void assertStatements(int max, MockHttpServletRequestBuilder request) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(request).andReturn().getResponse();
+        String path = request.buildRequest(new MockServletContext()).getRequestURI();
+        assertTrue(response.getStatus() < 300, path + " returned " + response.getStatus());
+        String header = response.getHeader(SqlStatementCountFilter.HEADER);
+        assertNotNull(header, "No statement count for " + path);
+        assertTrue(Integer.parseInt(header) <= max, path + " executed " + header + " statements, at most " + max + " expected");
+    }
+
+    private Long saveItem(Long productTypeId) {
+        long itemId = NEXT_ID.incrementAndGet();
+        itemRepository.save(new Item(itemId, "Budget item " + itemId, productTypeId));
+        return itemId;
+    }
+
+    private Long createOrder(List<Long> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        items.forEach(itemId -> quantities.put(itemId, 1));
+        return orderCreationPipeline.create(new OrderDTO(null, "Budget customer", false, "", quantities, null)).getId();
+    }
+
+    private OrderDetails firstLine(Long orderId) {
+        return orderProductTypeRepository.findByOrderId(orderId).get(0);
+    }
+
+    private WebhookPayload webhookPayload() {
+        WebhookPayload payload = new WebhookPayload();
+        payload.setId(NEXT_ID.incrementAndGet());
+        BillingInfo billing = new BillingInfo();
+        billing.setFirstName("Budget");
+        billing.setLastName("Customer");
+        payload.setBilling(billing);
+        List<LineItem> lineItems = new ArrayList<>();
+        for (int i = 0; i < LINES_PER_ORDER; i++) {
+            lineItems.add(new LineItem("Webhook product " + i, 1, NEXT_ID.incrementAndGet(), new Img(1, "http://example.com/image.jpg")));
+        }
+        payload.setItems(lineItems);
+        return payload;
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -1,6 +1,7 @@
 package gruppe2.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gruppe2.backend.service.WebhookInboxService;
 import gruppe2.backend.service.WebhookService;
 import gruppe2.backend.service.webhook.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -36,6 +37,9 @@ public class WebhookControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @MockBean
+    private WebhookInboxService webhookInboxService;
+
     @MockBean
     private WebhookService webhookService;
 
@@ -67,18 +71,15 @@ public class WebhookControllerTest {
     }
 
     @Test
-    @DisplayName("Handle webhook with valid payload successfully")
-    void handleWebhook_WithValidPayload_ShouldProcess() throws Exception {
-        // Arrange
-        doNothing().when(webhookService).createOrderInDatabase(any(WebhookPayload.class));
-
+    @DisplayName("Handle webhook with valid payload by queueing it")
+    void handleWebhook_WithValidPayload_ShouldQueue() throws Exception {
         // Act
         ResultActions result = mockMvc.perform(post("/webhooks/wooOrder")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testPayload)));
 
         // Assert
-        result.andExpect(status().isOk())
+        result.andExpect(status().isAccepted())
               .andExpect(content().contentType(MediaType.APPLICATION_JSON))
               .andExpect(jsonPath("$.id").value(123))
               .andExpect(jsonPath("$.billing.first_name").value("John"))
@@ -88,7 +89,23 @@ public class WebhookControllerTest {
               .andExpect(jsonPath("$.line_items[0].product_id").value(1))
               .andExpect(jsonPath("$.line_items[0].image.src").value("http://example.com/image.jpg"));
 
-        verify(webhookService, times(1)).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, times(1)).enqueue(any(WebhookPayload.class));
+    }
+
+    @Test
+    @DisplayName("Handle redelivered webhook without queueing it again")
+    void handleWebhook_WithAlreadyProcessedPayload_ShouldReturn200() throws Exception {
+        // Arrange
+        when(webhookService.isAlreadyProcessed(any(WebhookPayload.class))).thenReturn(true);
+
+        // Act & Assert
+        mockMvc.perform(post("/webhooks/wooOrder")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testPayload)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(123));
+
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -100,7 +117,7 @@ public class WebhookControllerTest {
                 .content("{invalid json syntax"))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -112,7 +129,7 @@ public class WebhookControllerTest {
                 .content("{\"key\": []}"))  // Valid JSON but wrong structure
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -120,9 +137,7 @@ public class WebhookControllerTest {
     void handleWebhook_WhenServiceThrowsException_ShouldReturn500() throws Exception {
         // Arrange
         RuntimeException testException = new RuntimeException("Database error");
-        doThrow(testException)
-            .when(webhookService)
-            .createOrderInDatabase(any(WebhookPayload.class));
+        when(webhookInboxService.enqueue(any(WebhookPayload.class))).thenThrow(testException);
 
         // Act
         ResultActions result = mockMvc.perform(post("/webhooks/wooOrder")
@@ -133,7 +148,7 @@ public class WebhookControllerTest {
         result.andExpect(status().isInternalServerError())
               .andExpect(jsonPath("$").doesNotExist());
 
-        verify(webhookService, times(1)).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, times(1)).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -144,7 +159,7 @@ public class WebhookControllerTest {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -156,7 +171,7 @@ public class WebhookControllerTest {
                 .content("{}"))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -172,7 +187,7 @@ public class WebhookControllerTest {
                 .content(objectMapper.writeValueAsString(invalidPayload)))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -185,7 +200,7 @@ public class WebhookControllerTest {
                 .andExpect(status().isUnsupportedMediaType())
                 .andExpect(header().string("Accept", "application/json, application/*+json"));
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -201,7 +216,7 @@ public class WebhookControllerTest {
                 .content(objectMapper.writeValueAsString(testPayload)))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -216,7 +231,7 @@ public class WebhookControllerTest {
                 .content(objectMapper.writeValueAsString(testPayload)))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -231,7 +246,7 @@ public class WebhookControllerTest {
                 .content(objectMapper.writeValueAsString(testPayload)))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -250,20 +265,17 @@ public class WebhookControllerTest {
                 .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
     @DisplayName("Handle webhook with all valid fields returning payload")
     void handleWebhook_WithAllValidFields_ShouldReturnPayload() throws Exception {
-        // Arrange
-        doNothing().when(webhookService).createOrderInDatabase(any(WebhookPayload.class));
-
         // Act & Assert
         mockMvc.perform(post("/webhooks/wooOrder")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(testPayload)))
-                .andExpect(status().isOk())
+                .andExpect(status().isAccepted())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$").exists())
                 .andExpect(jsonPath("$.id").value(123))
@@ -271,7 +283,7 @@ public class WebhookControllerTest {
                 .andExpect(jsonPath("$.line_items").isArray())
                 .andExpect(jsonPath("$.line_items[0]").exists());
 
-        verify(webhookService, times(1)).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, times(1)).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -289,7 +301,7 @@ public class WebhookControllerTest {
                 .content(jsonContent))
                 .andExpect(status().isBadRequest());
 
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 
     @Test
@@ -301,6 +313,6 @@ public class WebhookControllerTest {
         // Assert
         assertEquals(400, response.getStatusCode().value());
         assertNull(response.getBody());
-        verify(webhookService, never()).createOrderInDatabase(any(WebhookPayload.class));
+        verify(webhookInboxService, never()).enqueue(any(WebhookPayload.class));
     }
 }
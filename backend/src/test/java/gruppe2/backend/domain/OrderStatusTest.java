@@ -0,0 +1,62 @@
+package gruppe2.backend.domain;
+
+import gruppe2.backend.model.Item;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderStatusTest {
+
+    private final List<Long> steps = List.of(1L, 7L, 3L, 9L);
+
+    @Test
+    void moveToStep_ForwardJump_StampsIntermediateSteps() {
+        OrderStatus status = new OrderStatus(steps, 0, Map.of(1L, LocalDateTime.now().minusDays(1)));
+
+        status.moveToStep(3);
+
+        assertEquals(3, status.getCurrentStepIndex());
+        assertEquals(9L, status.getCurrentStepId());
+        Map<Long, LocalDateTime> updates = status.getStatusUpdates();
+        assertEquals(4, updates.size());
+        assertEquals(updates.get(7L), updates.get(9L));
+        assertEquals(updates.get(3L), updates.get(9L));
+    }
+
+    @Test
+    void moveToStep_BackwardJump_MovesToTarget() {
+        OrderStatus status = new OrderStatus(steps, 3, Map.of());
+
+        status.moveToStep(1);
+
+        assertEquals(1, status.getCurrentStepIndex());
+        assertTrue(status.getStatusUpdates().containsKey(3L));
+        assertTrue(status.getStatusUpdates().containsKey(7L));
+    }
+
+    @Test
+    void moveToStep_OutOfRange_Throws() {
+        OrderStatus status = new OrderStatus(steps, 0, Map.of());
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> status.moveToStep(4));
+
+        assertEquals("Cannot move to step 4: product type has 4 steps", exception.getMessage());
+        assertEquals(0, status.getCurrentStepIndex());
+    }
+
+    @Test
+    void canChangeStatus_AllowsJumpWithinSameSteps() {
+        Item item = new Item();
+        item.setId(1L);
+        item.setProductTypeId(1L);
+        OrderItem orderItem = new OrderItem(item, 1, "T-shirt", new OrderStatus(steps, 0, Map.of()));
+
+        assertTrue(orderItem.canChangeStatus(new OrderStatus(steps, 3, Map.of())));
+        assertFalse(orderItem.canChangeStatus(new OrderStatus(steps, 0, Map.of())));
+        assertFalse(orderItem.canChangeStatus(new OrderStatus(List.of(1L, 2L, 3L, 4L), 2, Map.of())));
+    }
+}
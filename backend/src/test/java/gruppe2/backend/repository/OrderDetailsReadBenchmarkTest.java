@@ -0,0 +1,139 @@
+package gruppe2.backend.repository;
+
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.OrderDetailsDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.ProductType;
+import gruppe2.backend.service.OrderCreationPipeline;
+import gruppe2.backend.service.OrderService;
+import gruppe2.backend.service.ProductTypeService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares reading dashboard order lines through managed entities with the JDBC read path.
+ * Only runs when asked for: mvn test -Dtest=OrderDetailsReadBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class OrderDetailsReadBenchmarkTest {
+    private static final int ORDERS = 500;
+    private static final int LINES_PER_ORDER = 5;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private OrderDetailsReadRepository orderDetailsReadRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void jdbcReadPathAgainstEntityPath() {
+        List<Long> orderIds = createOrders();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Entity path: hydrate managed OrderDetails, then copy them into DTOs
+        Supplier<Map<Long, List<OrderDetailsDTO>>> entityPath = () -> readOnly.execute(status ->
+            entityManager.createQuery("""
+                    SELECT od FROM OrderDetails od
+                    LEFT JOIN FETCH od.item
+                    LEFT JOIN FETCH od.stepPlan
+                    WHERE od.orderId IN :orderIds
+                    ORDER BY od.id""", OrderDetails.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList().stream()
+                .map(od -> new OrderDetailsDTO(
+                    od.getId(),
+                    od.getOrderId(),
+                    od.getItem(),
+                    od.getItemAmount(),
+                    od.getProduct_type(),
+                    od.getCurrentStepIndex(),
+                    od.getDifferentSteps(),
+                    od.getUpdated()
+                ))
+                .collect(Collectors.groupingBy(OrderDetailsDTO::orderId)));
+        Supplier<Map<Long, List<OrderDetailsDTO>>> jdbcPath = () ->
+            orderDetailsReadRepository.findByOrderIdsGrouped(orderIds);
+
+        assertEquals(summarize(entityPath.get()), summarize(jdbcPath.get()));
+
+        Result entity = measure(entityPath);
+        Result jdbc = measure(jdbcPath);
+        System.out.printf("%n%d orders, %d lines, %d iterations%n", ORDERS, ORDERS * LINES_PER_ORDER, ITERATIONS);
+        System.out.printf("%-8s %12s %16s%n", "path", "ms/op", "bytes/op");
+        System.out.printf("%-8s %12.2f %16d%n", "entity", entity.millisPerOp(), entity.bytesPerOp());
+        System.out.printf("%-8s %12.2f %16d%n", "jdbc", jdbc.millisPerOp(), jdbc.bytesPerOp());
+    }
+
+    private List<Long> createOrders() {
+        List<Long> steps = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            steps.add(orderService.createStatusDefinition(new StatusDefinitionDTO("Step " + i, "", null)).getId());
+        }
+        ProductType productType = productTypeService.createProductType(new ProductTypeDTO("Benchmark", steps));
+        Map<Long, Integer> items = new HashMap<>();
+        for (long itemId = 1; itemId <= LINES_PER_ORDER; itemId++) {
+            itemRepository.save(new Item(itemId, "Item " + itemId, productType.getId()));
+            items.put(itemId, 1);
+        }
+
+        List<Long> orderIds = new ArrayList<>();
+        for (long orderId = 1; orderId <= ORDERS; orderId++) {
+            orderIds.add(orderCreationPipeline.create(new OrderDTO(orderId, "Customer " + orderId, false, "", items, null)).getId());
+        }
+        return orderIds;
+    }
+
+    private static Result measure(Supplier<?> read) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP; i++) {
+            read.get();
+        }
+        long bytesBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            read.get();
+        }
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(threadId) - bytesBefore;
+        return new Result(nanos / 1_000_000.0 / ITERATIONS, bytes / ITERATIONS);
+    }
+
+    // Items are not comparable by value, so compare the lines by their ids and progress
+    private static Map<Long, List<String>> summarize(Map<Long, List<OrderDetailsDTO>> lines) {
+        return lines.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().stream()
+            .map(line -> line.id() + ":" + line.item().getId() + ":" + line.productType() + ":"
+                + line.currentStepIndex() + ":" + line.differentSteps() + ":" + new TreeMap<>(line.updated()))
+            .collect(Collectors.toList())));
+    }
+
+    private record Result(double millisPerOp, long bytesPerOp) {}
+}
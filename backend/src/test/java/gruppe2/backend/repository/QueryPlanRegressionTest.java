@@ -0,0 +1,280 @@
+package gruppe2.backend.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gruppe2.backend.dto.DashboardCursor;
+import gruppe2.backend.dto.DashboardFilterDTO;
+import gruppe2.backend.dto.DashboardStatusFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot-path repository queries against PostgreSQL, with the schema built by the Flyway
+ * migrations, and fails when the plan of any statement they send contains a sequential scan.
+ * <p>
+ * The statements are captured at the JDBC level, so the SQL generated by Hibernate and the
+ * JDBC readers is checked as it is sent. Each one is explained as a generic plan with sequential
+ * scans disabled: the planner then only falls back to one when no index can serve the query,
+ * which makes the check independent of how much data the database holds.
+ * <p>
+ * Needs PostgreSQL 16 or later with pg_trgm and an empty or previously migrated database:
+ * mvn test -Dtest=QueryPlanRegressionTest -Dqueryplans.url=jdbc:postgresql://localhost:5432/queryplans
+ * Whole-table reads (statistics, product type counts, the full dashboard list, the active lines
+ * read by the delay monitor on startup) are not checked.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=${queryplans.url}",
+    "spring.datasource.username=${queryplans.username:postgres}",
+    "spring.datasource.password=${queryplans.password:}",
+    "spring.datasource.driverClassName=org.postgresql.Driver",
+    "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+    "spring.flyway.enabled=true",
+    // The migrations alone have to produce the schema the entities expect
+    "spring.jpa.hibernate.ddl-auto=validate",
+    "webhook.inbox.poll-interval-ms=3600000"
+})
+@EnabledIfSystemProperty(named = "queryplans.url", matches = ".+")
+class QueryPlanRegressionTest {
+    private static final List<String> CAPTURED = Collections.synchronizedList(new ArrayList<>());
+    private static volatile boolean capturing;
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+        @Bean
+        static BeanPostProcessor statementCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? capture(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+    @Autowired
+    private OrderDetailsReadRepository orderDetailsReadRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private ItemStatusEventRepository itemStatusEventRepository;
+    @Autowired
+    private WebhookInboxRepository webhookInboxRepository;
+    @Autowired
+    private ProcessedStepChangeRepository processedStepChangeRepository;
+    @Autowired
+    private SearchReadRepository searchReadRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Value("${queryplans.url}")
+    private String url;
+    @Value("${queryplans.username:postgres}")
+    private String username;
+    @Value("${queryplans.password:}")
+    private String password;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void orderLinesByOrder() {
+        assertNoSequentialScan(() -> orderProductTypeRepository.findByOrderId(1L));
+        assertNoSequentialScan(() -> orderProductTypeRepository.findAllForUpdateByOrderId(1L));
+        assertNoSequentialScan(() -> orderDetailsReadRepository.findByOrderId(1L));
+        assertNoSequentialScan(() -> orderDetailsReadRepository.findByOrderIdsGrouped(List.of(1L, 2L, 3L)));
+        assertNoSequentialScan(() -> orderDetailsReadRepository.findActiveLinesByOrderIds(List.of(1L, 2L, 3L)));
+        assertNoSequentialScan(() -> orderProductTypeRepository.deleteAllItemsByOrderId(1L));
+    }
+
+    @Test
+    void orderLinesByItem() {
+        assertNoSequentialScan(() -> orderProductTypeRepository.findByItemId(1L));
+        assertNoSequentialScan(() -> orderProductTypeRepository.findAllWithPlanByIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void itemsByProductType() {
+        assertNoSequentialScan(() -> itemRepository.findByProductTypeId(1L));
+    }
+
+    @Test
+    void dashboardPages() {
+        DashboardFilterDTO everything = new DashboardFilterDTO(null, null, null, DashboardStatusFilter.ALL);
+        DashboardCursor cursor = new DashboardCursor(LocalDateTime.now(), 1L);
+        assertNoSequentialScan(() -> orderRepository.findDashboardPage(everything, null, 50));
+        assertNoSequentialScan(() -> orderRepository.findDashboardPage(everything, cursor, 50));
+        assertNoSequentialScan(() -> orderRepository.findDashboardPage(everything, new DashboardCursor(null, 1L), 50));
+        assertNoSequentialScan(() -> orderRepository.findDashboardPage(
+            new DashboardFilterDTO(null, "hansen", null, DashboardStatusFilter.ALL), null, 50));
+        assertNoSequentialScan(() -> orderRepository.findDashboardPage(
+            new DashboardFilterDTO(null, null, 1L, DashboardStatusFilter.ACTIVE), cursor, 50));
+        assertNoSequentialScan(() -> orderRepository.findDashboardRowsByIds(List.of(1L, 2L)));
+        assertNoSequentialScan(() -> orderRepository.lockAllById(List.of(1L, 2L)));
+    }
+
+    @Test
+    void statusEventRanges() {
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(1);
+        assertNoSequentialScan(() -> itemStatusEventRepository.findInRange(from, to, PageRequest.of(0, 100)));
+        assertNoSequentialScan(() -> itemStatusEventRepository.findByStatusInRange(1L, from, to, PageRequest.of(0, 100)));
+        assertNoSequentialScan(() -> itemStatusEventRepository.findByOrderIdOrderByOccurredAtAscIdAsc(1L));
+    }
+
+    @Test
+    void webhookInboxPolling() {
+        assertNoSequentialScan(() -> webhookInboxRepository.findDueIds(LocalDateTime.now(), PageRequest.of(0, 4)));
+        assertNoSequentialScan(() -> webhookInboxRepository.releaseAbandoned(0, LocalDateTime.now(), LocalDateTime.now().minusMinutes(5)));
+        assertNoSequentialScan(() -> webhookInboxRepository.deleteDoneBefore(LocalDateTime.now().minusDays(7)));
+    }
+
+    @Test
+    void stepChangeIdempotencyKeys() {
+        assertNoSequentialScan(() -> processedStepChangeRepository.findById("key"));
+        assertNoSequentialScan(() -> processedStepChangeRepository.deleteProcessedBefore(LocalDateTime.now()));
+    }
+
+    @Test
+    void search() {
+        assertNoSequentialScan(() -> searchReadRepository.searchOrders("hansen", null, 0, 21));
+        assertNoSequentialScan(() -> searchReadRepository.searchOrders("1001", 1001L, 0, 21));
+        assertNoSequentialScan(() -> searchReadRepository.searchOrders(null, 12L, 0, 21));
+        assertNoSequentialScan(() -> searchReadRepository.searchItems("t-shirt", null, 0, 21));
+        assertNoSequentialScan(() -> searchReadRepository.searchItems("1001", 1001L, 0, 21));
+        assertNoSequentialScan(() -> searchReadRepository.findMatchingOrderIds("hansen", null));
+        assertNoSequentialScan(() -> searchReadRepository.findMatchingItemIds("t-shirt", null));
+    }
+
+    private void assertNoSequentialScan(Runnable repositoryCall) {
+        List<String> statements;
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CAPTURED.clear();
+        capturing = true;
+        try {
+            // Rolled back, so modifying queries leave the database as it was
+            transaction.executeWithoutResult(status -> {
+                repositoryCall.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            capturing = false;
+            statements = new ArrayList<>(new LinkedHashSet<>(CAPTURED));
+        }
+
+        statements.removeIf(sql -> sql.trim().toLowerCase().startsWith("insert"));
+        assertFalse(statements.isEmpty(), "The repository call did not send a statement");
+        for (String sql : statements) {
+            List<String> scanned = sequentiallyScannedTables(sql);
+            assertTrue(scanned.isEmpty(), "Sequential scan on " + scanned + " for: " + sql);
+        }
+    }
+
+    private List<String> sequentiallyScannedTables(String sql) {
+        List<String> tables = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, explainConnectionProperties());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numberParameters(sql))) {
+                plan.next();
+                collectSequentialScans(objectMapper.readTree(plan.getString(1)).get(0).get("Plan"), tables);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not explain: " + sql, e);
+        }
+        return tables;
+    }
+
+    // The simple query protocol sends $1, $2, ... as part of the text instead of expecting values for them
+    private Properties explainConnectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("preferQueryMode", "simple");
+        return properties;
+    }
+
+    private static void collectSequentialScans(JsonNode node, List<String> tables) {
+        String nodeType = node.path("Node Type").asText();
+        // With sequential scans disabled, the planner falls back to reading a whole index and
+        // filtering the rows instead, which is just as much a full scan
+        boolean fullIndexScan = nodeType.startsWith("Index") && !node.has("Index Cond") && node.has("Filter");
+        if (nodeType.equals("Seq Scan") || fullIndexScan) {
+            tables.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, tables);
+        }
+    }
+
+    // JDBC placeholders (?) become $1, $2, ... which EXPLAIN (GENERIC_PLAN) accepts without values
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static DataSource capture(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(
+            QueryPlanRegressionTest.class.getClassLoader(),
+            new Class<?>[] { DataSource.class },
+            (proxy, method, args) -> {
+                Object result = invoke(dataSource, method, args);
+                return result instanceof Connection connection ? capture(connection) : result;
+            });
+    }
+
+    private static Connection capture(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            QueryPlanRegressionTest.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, method, args) -> {
+                if (capturing && method.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                    CAPTURED.add(sql);
+                }
+                return invoke(connection, method, args);
+            });
+    }
+
+    private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.DashboardCursor;
+import gruppe2.backend.dto.DashboardFilterDTO;
+import gruppe2.backend.dto.DashboardPageDTO;
+import gruppe2.backend.dto.DashboardStatusFilter;
+import gruppe2.backend.dto.OrderDashboardDTO;
+import gruppe2.backend.model.Order;
+import gruppe2.backend.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class DashboardPagingTest {
+    private static final AtomicLong NEXT_ID = new AtomicLong(900_000);
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void getDashboardPage_OrdersWithoutCreationTime_PagedLastById() {
+        // Unique, so orders saved by other tests never match
+        String customer = "Paging " + NEXT_ID.incrementAndGet();
+        LocalDateTime created = LocalDateTime.of(2024, 11, 5, 12, 0);
+        Long undated = saveOrder(customer, null);
+        Long later = saveOrder(customer, created.plusHours(1));
+        Long first = saveOrder(customer, created);
+        Long sameTime = saveOrder(customer, created);
+        Long undatedToo = saveOrder(customer, null);
+
+        DashboardFilterDTO filter = new DashboardFilterDTO(null, customer, null, DashboardStatusFilter.ALL);
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            DashboardPageDTO page = orderService.getDashboardPage(filter, DashboardCursor.decode(cursor), 2);
+            page.orders().stream().map(OrderDashboardDTO::getOrderId).forEach(ids::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(first, sameTime, later, undated, undatedToo), ids);
+    }
+
+    @Test
+    void decode_CursorWithoutCreationTime_RoundTrips() {
+        DashboardCursor cursor = new DashboardCursor(null, 42L);
+
+        assertEquals(cursor, DashboardCursor.decode(cursor.encode()));
+    }
+
+    private Long saveOrder(String customerName, LocalDateTime orderCreated) {
+        Order order = new Order();
+        order.setId(NEXT_ID.incrementAndGet());
+        order.setCustomerName(customerName);
+        order.setOrderCreated(orderCreated);
+        return orderRepository.save(order).getId();
+    }
+}
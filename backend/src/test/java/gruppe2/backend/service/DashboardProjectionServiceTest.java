@@ -0,0 +1,192 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.OrderDashboardDTO;
+import gruppe2.backend.dto.OrderDetailsWithStatusDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.dto.UpdateStepDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.repository.DashboardOrderViewRepository;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.service.webhook.BillingInfo;
+import gruppe2.backend.service.webhook.Img;
+import gruppe2.backend.service.webhook.LineItem;
+import gruppe2.backend.service.webhook.WebhookPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:dashboardprojection")
+public class DashboardProjectionServiceTest {
+    private static final AtomicLong NEXT_ITEM_ID = new AtomicLong(700_000);
+
+    @Autowired
+    private DashboardProjectionService dashboardProjectionService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private OrderProgressService orderProgressService;
+    @Autowired
+    private WebhookService webhookService;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+    @Autowired
+    private DashboardOrderViewRepository viewRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Long> steps;
+    private Long productTypeId;
+    private Long orderId;
+
+    @BeforeEach
+    void createOrder() {
+        steps = List.of(
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Printing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Packing", "", null)).getId());
+        productTypeId = productTypeService.createProductType(new ProductTypeDTO("Projection", steps)).getId();
+        long itemId = NEXT_ITEM_ID.incrementAndGet();
+        itemRepository.save(new Item(itemId, "Item " + itemId, productTypeId));
+        orderId = orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(itemId, 1), null)).getId();
+    }
+
+    @Test
+    void moveToNextStep_ProjectionShowsNewStep() {
+        orderProgressService.moveToNextStep(lineId());
+
+        assertEquals(1, projectedLine().currentStepIndex());
+        assertTrue(dashboardProjectionService.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void moveToSteps_ProjectionShowsNewSteps() {
+        UpdateStepDTO update = new UpdateStepDTO();
+        update.setOrderDetailsId(lineId());
+        update.setNewStepIndex(1);
+
+        orderProgressService.moveToSteps(List.of(update));
+
+        assertEquals(1, projectedLine().currentStepIndex());
+        assertTrue(dashboardProjectionService.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void processWebhook_ChangedQuantityAndNewLine_ProjectionShowsBoth() {
+        createGenericProductType();
+        long webhookOrderId = NEXT_ITEM_ID.incrementAndGet();
+        long firstProduct = NEXT_ITEM_ID.incrementAndGet();
+        long secondProduct = NEXT_ITEM_ID.incrementAndGet();
+        webhookService.processWebhook(payload(webhookOrderId, lineItem("First", 1, firstProduct)));
+
+        // Same customer, so the order row itself is unchanged
+        webhookService.processWebhook(payload(webhookOrderId,
+            lineItem("First", 3, firstProduct), lineItem("Second", 1, secondProduct)));
+
+        Map<Long, Integer> amounts = projectedOrder(webhookOrderId).getItems().stream()
+            .collect(Collectors.toMap(line -> line.item().getId(), OrderDetailsWithStatusDTO::itemAmount));
+        assertEquals(Map.of(firstProduct, 3, secondProduct, 1), amounts);
+        assertTrue(dashboardProjectionService.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void updateItemProductType_GenericItem_ProjectionShowsNewProductType() {
+        createGenericProductType();
+        long webhookOrderId = NEXT_ITEM_ID.incrementAndGet();
+        long product = NEXT_ITEM_ID.incrementAndGet();
+        webhookService.processWebhook(payload(webhookOrderId, lineItem("Generic", 1, product)));
+
+        productTypeService.updateItemProductType(product, productTypeId);
+
+        OrderDetailsWithStatusDTO line = projectedOrder(webhookOrderId).getItems().get(0);
+        assertEquals("Projection", line.productTypeName());
+        assertEquals(steps.size(), line.differentSteps().length);
+        assertTrue(dashboardProjectionService.checkConsistency().isConsistent());
+    }
+
+    @Test
+    void repair_RowWithStaleContent_Refreshed() {
+        jdbcTemplate.update("UPDATE dashboard_order_view SET customer_name = 'Stale' WHERE order_id = ?", orderId);
+        assertFalse(dashboardProjectionService.checkConsistency().isConsistent());
+
+        assertTrue(dashboardProjectionService.repair() >= 1);
+
+        assertTrue(dashboardProjectionService.checkConsistency().isConsistent());
+        assertEquals("Customer", viewRepository.findById(orderId).orElseThrow().getCustomerName());
+    }
+
+    @Test
+    void deleteStatusDefinition_StepOfOrderLine_ProjectionRefreshed() {
+        productTypeService.deleteStatusDefinition(steps.get(1));
+
+        OrderDetailsWithStatusDTO line = projectedLine();
+        assertTrue(dashboardProjectionService.checkConsistency().staleOrderIds().isEmpty());
+        assertEquals(1, Arrays.stream(line.differentSteps()).filter(Objects::nonNull).count());
+    }
+
+    @Test
+    void deleteProductType_ProductTypeOfOrderLine_ProjectionRefreshed() {
+        productTypeService.deleteProductType(productTypeId);
+
+        assertTrue(dashboardProjectionService.checkConsistency().staleOrderIds().isEmpty());
+    }
+
+    private Long lineId() {
+        return orderProductTypeRepository.findByOrderId(orderId).get(0).getId();
+    }
+
+    private OrderDetailsWithStatusDTO projectedLine() {
+        return projectedOrder(orderId).getItems().get(0);
+    }
+
+    private OrderDashboardDTO projectedOrder(Long id) {
+        return dashboardProjectionService.findAll().stream()
+            .filter(order -> order.getOrderId().equals(id))
+            .findFirst().orElseThrow();
+    }
+
+    private void createGenericProductType() {
+        // The generic product type items from webhooks start out with
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_types WHERE id = 0", Integer.class) == 0) {
+            jdbcTemplate.update("INSERT INTO product_types (id, name) VALUES (0, 'Generic')");
+            jdbcTemplate.update("INSERT INTO product_type_steps (product_type_id, step_id, step_order, different_steps_order) VALUES (0, ?, 0, 0)", steps.get(0));
+            referenceDataCache.evictProductTypes();
+        }
+    }
+
+    private static LineItem lineItem(String name, int quantity, long productId) {
+        return new LineItem(name, quantity, productId, new Img(1, "http://example.com/image.jpg"));
+    }
+
+    private static WebhookPayload payload(long webhookOrderId, LineItem... lineItems) {
+        WebhookPayload payload = new WebhookPayload();
+        payload.setId(webhookOrderId);
+        BillingInfo billing = new BillingInfo();
+        billing.setFirstName("Webhook");
+        billing.setLastName("Customer");
+        billing.setCompany("");
+        payload.setBilling(billing);
+        payload.setItems(List.of(lineItems));
+        return payload;
+    }
+}
@@ -0,0 +1,74 @@
+package gruppe2.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineWheelTest {
+    private static final long TICK = 1_000;
+    private static final int SLOTS = 8;
+
+    @Test
+    void advance_ExpiresDeadlinesWhenTheirTickIsReached() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, SLOTS, 0);
+        wheel.schedule(1, 2_500);
+        wheel.schedule(2, 4_000);
+
+        assertEquals(List.of(), wheel.advance(2_999));
+        assertEquals(List.of(1L), wheel.advance(3_000));
+        assertEquals(List.of(2L), wheel.advance(4_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_DeadlinesBeyondOneRevolution_WaitForTheirOwnRound() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, SLOTS, 0);
+        // Same slot as tick 2, but three revolutions later
+        wheel.schedule(1, (2 + 3 * SLOTS) * TICK);
+        wheel.schedule(2, 2 * TICK);
+
+        assertEquals(List.of(2L), wheel.advance(2 * TICK));
+        for (long now = 3 * TICK; now < (2 + 3 * SLOTS) * TICK; now += TICK) {
+            assertEquals(List.of(), wheel.advance(now));
+        }
+        assertEquals(List.of(1L), wheel.advance((2 + 3 * SLOTS) * TICK));
+    }
+
+    @Test
+    void advance_AfterLongPause_ExpiresEverythingDue() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, SLOTS, 0);
+        for (long id = 1; id <= 20; id++) {
+            wheel.schedule(id, id * TICK);
+        }
+
+        List<Long> expired = wheel.advance(15 * TICK);
+
+        assertEquals(15, expired.size());
+        assertEquals(5, wheel.size());
+        assertFalse(wheel.contains(15));
+        assertTrue(wheel.contains(16));
+    }
+
+    @Test
+    void scheduleAndCancel_ReplaceEarlierDeadlines() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, SLOTS, 10_000);
+        wheel.schedule(1, 12_000);
+        wheel.schedule(1, 15_000);
+        wheel.schedule(2, 12_000);
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+
+        assertEquals(List.of(), wheel.advance(12_000));
+        assertEquals(List.of(1L), wheel.advance(15_000));
+    }
+
+    @Test
+    void schedule_DeadlineInThePast_ExpiresOnNextAdvance() {
+        DeadlineWheel wheel = new DeadlineWheel(TICK, SLOTS, 10_000);
+        wheel.schedule(1, 5_000);
+
+        assertEquals(List.of(1L), wheel.advance(11_000));
+    }
+}
@@ -0,0 +1,50 @@
+package gruppe2.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurationStatisticsTest {
+
+    @Test
+    void snapshot_ExponentialDurations_QuantilesCloseToExact() {
+        DurationStatistics statistics = new DurationStatistics(0.2);
+        Random random = new Random(42);
+        double mean = 12;
+        for (int i = 0; i < 20_000; i++) {
+            statistics.add(-mean * Math.log(1 - random.nextDouble()));
+        }
+
+        DurationStatistics.Snapshot snapshot = statistics.snapshot();
+        assertEquals(20_000, snapshot.count());
+        assertEquals(mean * Math.log(2), snapshot.median(), 0.5);
+        assertEquals(mean * Math.log(10), snapshot.p90(), 1.0);
+    }
+
+    @Test
+    void snapshot_PaceChanges_AverageFollowsRecentDurations() {
+        DurationStatistics statistics = new DurationStatistics(0.2);
+        for (int i = 0; i < 50; i++) {
+            statistics.add(30);
+        }
+        for (int i = 0; i < 30; i++) {
+            statistics.add(10);
+        }
+
+        assertEquals(10, statistics.snapshot().average(), 0.1);
+    }
+
+    @Test
+    void snapshot_FewerThanFiveDurations_UsesObservedValues() {
+        DurationStatistics statistics = new DurationStatistics(0.2);
+        statistics.add(4);
+        statistics.add(8);
+        statistics.add(6);
+
+        DurationStatistics.Snapshot snapshot = statistics.snapshot();
+        assertEquals(6, snapshot.median());
+        assertEquals(8, snapshot.p90());
+    }
+}
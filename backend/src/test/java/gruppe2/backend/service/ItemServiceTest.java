@@ -30,6 +30,9 @@ public class ItemServiceTest {
     @Mock
     private ProductTypeRepository productTypeRepository;
 
+    @Mock
+    private DashboardProjectionService dashboardProjectionService;
+
 
     @Test
     void findById_WithValidId_ShouldReturnItem() {
@@ -0,0 +1,154 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.ItemStatusEventDTO;
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.dto.UpdateStepDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.ItemStatusEvent;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.ItemStatusEventRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:itemstatuseventlog")
+public class ItemStatusEventLogTest {
+    private static final AtomicLong NEXT_ID = new AtomicLong(950_000);
+
+    @Autowired
+    private ItemStatusEventLog itemStatusEventLog;
+    @Autowired
+    private ItemStatusEventRepository itemStatusEventRepository;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private OrderProgressService orderProgressService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+
+    private List<Long> steps;
+
+    @BeforeEach
+    void createSteps() {
+        steps = List.of(
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Printing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Pressing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Packing", "", null)).getId());
+    }
+
+    @Test
+    void moveToSteps_JumpOverSteps_OneEventPerStepEntered() {
+        Long orderId = createOrder();
+        UpdateStepDTO update = new UpdateStepDTO();
+        update.setOrderDetailsId(lineId(orderId));
+        update.setNewStepIndex(2);
+
+        orderProgressService.moveToSteps(List.of(update));
+
+        List<ItemStatusEventDTO> history = itemStatusEventLog.findByOrder(orderId);
+        assertEquals(steps, history.stream().map(ItemStatusEventDTO::statusDefinitionId).toList());
+        assertEquals(Arrays.asList(null, steps.get(0), steps.get(1)),
+            history.stream().map(ItemStatusEventDTO::previousStatusDefinitionId).toList());
+        assertEquals(List.of(0, 1, 2), history.stream().map(ItemStatusEventDTO::stepIndex).toList());
+        // Both steps of the jump carry the same timestamp
+        assertEquals(history.get(1).occurredAt(), history.get(2).occurredAt());
+    }
+
+    @Test
+    void moveToPreviousStep_EventRecordsStepLeft() {
+        Long orderId = createOrder();
+        orderProgressService.moveToNextStep(lineId(orderId));
+
+        orderProgressService.moveToPreviousStep(lineId(orderId));
+
+        ItemStatusEventDTO last = itemStatusEventLog.findByOrder(orderId).get(2);
+        assertEquals(steps.get(0), last.statusDefinitionId());
+        assertEquals(0, last.stepIndex());
+        assertEquals(steps.get(1), last.previousStatusDefinitionId());
+    }
+
+    @Test
+    void findBetween_LowerBoundInclusiveUpperBoundExclusive() {
+        LocalDateTime start = LocalDateTime.of(2001, 3, 1, 10, 0);
+        record(steps.get(0), start.minusNanos(1000));
+        Long second = record(steps.get(0), start);
+        Long third = record(steps.get(1), start.plusHours(1));
+        record(steps.get(2), start.plusHours(2));
+
+        List<ItemStatusEventDTO> events = itemStatusEventLog.findBetween(start, start.plusHours(2), 10);
+
+        assertEquals(List.of(second, third), ids(events));
+    }
+
+    @Test
+    void findBetween_Limit_EarliestEventsFirst() {
+        LocalDateTime start = LocalDateTime.of(2001, 4, 1, 10, 0);
+        Long first = record(steps.get(0), start.plusMinutes(1));
+        Long second = record(steps.get(1), start.plusMinutes(2));
+        record(steps.get(2), start.plusMinutes(3));
+
+        assertEquals(List.of(first, second), ids(itemStatusEventLog.findBetween(start, start.plusHours(1), 2)));
+    }
+
+    @Test
+    void findBetween_InvertedOrEmptyRange_Rejected() {
+        LocalDateTime start = LocalDateTime.of(2001, 5, 1, 10, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> itemStatusEventLog.findBetween(start, start.minusHours(1), 10));
+        assertThrows(IllegalArgumentException.class, () -> itemStatusEventLog.findBetween(start, start, 10));
+        assertThrows(IllegalArgumentException.class, () -> itemStatusEventLog.findBetween(null, start, 10));
+    }
+
+    @Test
+    void findTransitionsInto_OnlyGivenStepOnGivenDay() {
+        LocalDate day = LocalDate.of(2001, 6, 1);
+        record(steps.get(0), day.atStartOfDay().minusNanos(1000));
+        Long morning = record(steps.get(0), day.atStartOfDay());
+        record(steps.get(1), day.atTime(12, 0));
+        Long evening = record(steps.get(0), day.atTime(23, 59));
+        record(steps.get(0), day.plusDays(1).atStartOfDay());
+
+        List<ItemStatusEventDTO> events = itemStatusEventLog.findTransitionsInto(steps.get(0), day, 10);
+
+        assertEquals(List.of(morning, evening), ids(events));
+    }
+
+    private Long createOrder() {
+        Long productTypeId = productTypeService.createProductType(new ProductTypeDTO("History", steps)).getId();
+        long itemId = NEXT_ID.incrementAndGet();
+        itemRepository.save(new Item(itemId, "Item " + itemId, productTypeId));
+        return orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(itemId, 1), null)).getId();
+    }
+
+    private Long lineId(Long orderId) {
+        return orderProductTypeRepository.findByOrderId(orderId).get(0).getId();
+    }
+
+    private Long record(Long statusDefinitionId, LocalDateTime occurredAt) {
+        long id = NEXT_ID.incrementAndGet();
+        return itemStatusEventRepository.save(new ItemStatusEvent(id, id, statusDefinitionId, 0, null, occurredAt)).getId();
+    }
+
+    private static List<Long> ids(List<ItemStatusEventDTO> events) {
+        return events.stream().map(ItemStatusEventDTO::id).toList();
+    }
+}
@@ -0,0 +1,161 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.OrderCatalog;
+import gruppe2.backend.dto.DelayedOrderDTO;
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.OrderStreamEventDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:orderdelaymonitor",
+    "orders.delay.tick=PT0.05S"
+})
+public class OrderDelayMonitorTest {
+    private static final AtomicLong NEXT_ITEM_ID = new AtomicLong(900_000);
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Autowired
+    private OrderDelayMonitor orderDelayMonitor;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private OrderProgressService orderProgressService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+    @SpyBean
+    private OrderStreamHub orderStreamHub;
+
+    private List<Long> steps;
+    private Long orderId;
+
+    @BeforeEach
+    void createOrder() {
+        // Fresh steps and product type per test, so no learned durations change the estimate
+        steps = List.of(
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Printing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Pressing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Packing", "", null)).getId());
+        Long productTypeId = productTypeService.createProductType(new ProductTypeDTO("Delay", steps)).getId();
+        long itemId = NEXT_ITEM_ID.incrementAndGet();
+        itemRepository.save(new Item(itemId, "Item " + itemId, productTypeId));
+        orderId = orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(itemId, 1), null)).getId();
+    }
+
+    @Test
+    void deadlinePasses_OrderDelayedAndAnnounced() {
+        startFirstStepAgo(estimate().minusSeconds(1));
+        assertFalse(orderDelayMonitor.isDelayed(orderId));
+
+        awaitUntil(() -> orderDelayMonitor.isDelayed(orderId));
+
+        DelayedOrderDTO delayed = orderDelayMonitor.getDelayedOrders().stream()
+            .filter(order -> order.orderId().equals(orderId))
+            .findFirst().orElseThrow();
+        assertEquals(List.of(lineId()), delayed.lines().stream().map(line -> line.orderDetailsId()).toList());
+        verify(orderStreamHub, timeout(WAIT.toMillis())).broadcast(argThat(delayedEvent()));
+    }
+
+    @Test
+    void moveToFinalStep_DelayedOrder_DelayCleared() {
+        startFirstStepAgo(estimate().plusMinutes(1));
+        awaitUntil(() -> orderDelayMonitor.isDelayed(orderId));
+
+        orderProgressService.moveToNextStep(lineId());
+        orderProgressService.moveToNextStep(lineId());
+
+        awaitUntil(() -> !orderDelayMonitor.isDelayed(orderId));
+    }
+
+    @Test
+    void moveToPreviousStep_FromFinalStepPastDeadline_DelayedAgain() {
+        startFirstStepAgo(estimate().plusMinutes(1));
+        awaitUntil(() -> orderDelayMonitor.isDelayed(orderId));
+        orderProgressService.moveToNextStep(lineId());
+        orderProgressService.moveToNextStep(lineId());
+        awaitUntil(() -> !orderDelayMonitor.isDelayed(orderId));
+
+        // The first step keeps its old timestamp, so the deadline is still in the past
+        orderProgressService.moveToPreviousStep(lineId());
+
+        awaitUntil(() -> orderDelayMonitor.isDelayed(orderId));
+        verify(orderStreamHub, timeout(WAIT.toMillis()).times(2)).broadcast(argThat(delayedEvent()));
+    }
+
+    @Test
+    void deleteOrder_DelayedOrder_DelayCleared() {
+        startFirstStepAgo(estimate().plusMinutes(1));
+        awaitUntil(() -> orderDelayMonitor.isDelayed(orderId));
+
+        orderService.deleteOrder(orderId);
+
+        awaitUntil(() -> !orderDelayMonitor.isDelayed(orderId));
+        assertTrue(orderDelayMonitor.getDelayedOrders().stream().noneMatch(order -> order.orderId().equals(orderId)));
+    }
+
+    /**
+     * @return The estimated processing time of the single unit on the line, with nothing learned yet
+     */
+    private Duration estimate() {
+        return Duration.ofMinutes((long) steps.size() * OrderCatalog.MINUTES_PER_STEP);
+    }
+
+    private void startFirstStepAgo(Duration ago) {
+        OrderDetails line = orderProductTypeRepository.findById(lineId()).orElseThrow();
+        Map<Long, LocalDateTime> updated = line.getUpdated();
+        updated.put(steps.get(0), LocalDateTime.now().minus(ago));
+        line.setUpdated(updated);
+        orderProductTypeRepository.save(line);
+        // Backdating raises no order event
+        orderDelayMonitor.orderChanged(orderId);
+    }
+
+    private Long lineId() {
+        return orderProductTypeRepository.findByOrderId(orderId).get(0).getId();
+    }
+
+    private ArgumentMatcher<OrderStreamEventDTO> delayedEvent() {
+        return event -> event != null && "ITEM_DELAYED".equals(event.type()) && orderId.equals(event.orderId());
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + WAIT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met within " + WAIT);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
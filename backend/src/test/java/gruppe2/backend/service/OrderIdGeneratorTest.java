@@ -0,0 +1,81 @@
+package gruppe2.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OrderIdGeneratorTest {
+    private static final long MAX_SAFE_JS_INTEGER = (1L << 53) - 1;
+
+    @Test
+    void nextId_ManyThreadsOnSeveralNodes_NoCollisions() throws Exception {
+        int nodes = 4;
+        int threadsPerNode = 8;
+        int idsPerThread = 50_000;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(nodes * threadsPerNode);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int node = 0; node < nodes; node++) {
+                OrderIdGenerator generator = new OrderIdGenerator(node);
+                for (int thread = 0; thread < threadsPerNode; thread++) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        long previous = 0;
+                        for (int i = 0; i < idsPerThread; i++) {
+                            long id = generator.nextId();
+                            assertTrue(id > previous, "Ids of one node must increase");
+                            assertTrue(ids.add(id), "Duplicate id " + id);
+                            previous = id;
+                        }
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(nodes * threadsPerNode * idsPerThread, ids.size());
+        ids.forEach(id -> {
+            assertTrue(OrderIdGenerator.isGenerated(id));
+            assertTrue(id <= MAX_SAFE_JS_INTEGER);
+        });
+    }
+
+    @Test
+    void nextId_ClockMovesBackwards_StaysUniqueAndIncreasing() {
+        AtomicLong now = new AtomicLong(System.currentTimeMillis());
+        OrderIdGenerator generator = new OrderIdGenerator(3, now::get);
+
+        long first = generator.nextId();
+        now.addAndGet(-5_000);
+        long second = generator.nextId();
+
+        assertTrue(second > first);
+    }
+
+    @Test
+    void isGenerated_WooCommerceAndLegacyIds_AreOutsideGeneratedRange() {
+        assertFalse(OrderIdGenerator.isGenerated(Integer.MAX_VALUE));
+        // Manual orders used to get System.currentTimeMillis() as id
+        assertFalse(OrderIdGenerator.isGenerated(System.currentTimeMillis()));
+        assertTrue(OrderIdGenerator.isGenerated(new OrderIdGenerator(0).nextId()));
+    }
+
+    @Test
+    void constructor_NodeIdOutOfRange_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderIdGenerator(OrderIdGenerator.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,158 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.ProductType;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.ItemStatusEventRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Many clients clicking "next step" on the same order line at once, through the controller.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class OrderProgressConcurrencyTest {
+    private static final int STEPS = 50;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+    @Autowired
+    private ItemStatusEventRepository itemStatusEventRepository;
+
+    private static final AtomicInteger NEXT_ITEM_ID = new AtomicInteger(900_000);
+    private Long orderId;
+    private Long orderDetailsId;
+
+    @BeforeEach
+    void createOrderLine() {
+        List<Long> steps = new ArrayList<>();
+        for (int i = 0; i < STEPS; i++) {
+            steps.add(orderService.createStatusDefinition(new StatusDefinitionDTO("Step " + i, "", null)).getId());
+        }
+        ProductType productType = productTypeService.createProductType(new ProductTypeDTO("Concurrency", steps));
+        long itemId = NEXT_ITEM_ID.incrementAndGet();
+        itemRepository.save(new Item(itemId, "Item " + itemId, productType.getId()));
+
+        orderId = orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(itemId, 1), null)).getId();
+        orderDetailsId = orderProductTypeRepository.findByOrderId(orderId).get(0).getId();
+    }
+
+    @Test
+    void nextStep_ConcurrentClicksRetriedByClients_EveryClickAppliedOnce() throws Exception {
+        int clicksPerThread = 5;
+        Set<String> appliedKeys = ConcurrentHashMap.newKeySet();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            for (int click = 0; click < clicksPerThread; click++) {
+                String key = UUID.randomUUID().toString();
+                // Every click is sent twice, as a client would after a timed-out response
+                for (int send = 0; send < 2; send++) {
+                    int status = nextStep(key);
+                    if (status == 200) {
+                        appliedKeys.add(key);
+                    } else if (status == 409) {
+                        conflicts.incrementAndGet();
+                    } else {
+                        fail("Unexpected status " + status);
+                    }
+                }
+            }
+        });
+
+        OrderDetails line = orderProductTypeRepository.findById(orderDetailsId).orElseThrow();
+        // No click is lost and no retried click moves the line twice
+        assertEquals(appliedKeys.size(), line.getCurrentStepIndex());
+        assertEquals(appliedKeys.size(), itemStatusEventRepository.findByOrderIdOrderByOccurredAtAscIdAsc(orderId).size() - 1);
+        assertTrue(appliedKeys.size() >= THREADS * clicksPerThread - conflicts.get());
+    }
+
+    @Test
+    void nextStep_ConcurrentRequestsWithSameKey_AdvanceOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger succeeded = new AtomicInteger();
+
+        runConcurrently(thread -> {
+            int status = nextStep(key);
+            assertNotEquals(500, status);
+            if (status == 200) {
+                succeeded.incrementAndGet();
+            }
+        });
+
+        assertTrue(succeeded.get() > 0);
+        assertEquals(1, orderProductTypeRepository.findById(orderDetailsId).orElseThrow().getCurrentStepIndex());
+    }
+
+    @Test
+    void nextStep_KeyReusedForAnotherLine_Rejected() throws Exception {
+        String key = UUID.randomUUID().toString();
+        assertEquals(200, nextStep(key));
+        Long otherLine = orderDetailsId;
+        createOrderLine();
+        assertNotEquals(otherLine, orderDetailsId);
+
+        assertEquals(400, nextStep(key));
+        assertEquals(0, orderProductTypeRepository.findById(orderDetailsId).orElseThrow().getCurrentStepIndex());
+    }
+
+    private int nextStep(String idempotencyKey) throws Exception {
+        return mockMvc.perform(put("/api/order-product-types/{id}/next-step", orderDetailsId)
+                .header("Idempotency-Key", idempotencyKey))
+            .andReturn().getResponse().getStatus();
+    }
+
+    private void runConcurrently(ThreadTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadNumber = thread;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    task.run(threadNumber);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface ThreadTask {
+        void run(int thread) throws Exception;
+    }
+}
@@ -0,0 +1,90 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.OrderDTO;
+import gruppe2.backend.dto.ProductTypeDTO;
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.dto.StepUpdateResultDTO;
+import gruppe2.backend.dto.UpdateStepDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Which failures make a step change start over.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:orderprogressretry")
+public class OrderProgressRetryTest {
+    private static final AtomicLong NEXT_ITEM_ID = new AtomicLong(960_000);
+
+    @Autowired
+    private OrderProgressService orderProgressService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private ProductTypeService productTypeService;
+    @Autowired
+    private OrderCreationPipeline orderCreationPipeline;
+    @Autowired
+    private ItemRepository itemRepository;
+    @SpyBean
+    private OrderProductTypeRepository orderProductTypeRepository;
+
+    private UpdateStepDTO update;
+
+    @BeforeEach
+    void createOrderLine() {
+        List<Long> steps = List.of(
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Printing", "", null)).getId(),
+            orderService.createStatusDefinition(new StatusDefinitionDTO("Packing", "", null)).getId());
+        Long productTypeId = productTypeService.createProductType(new ProductTypeDTO("Retry", steps)).getId();
+        long itemId = NEXT_ITEM_ID.incrementAndGet();
+        itemRepository.save(new Item(itemId, "Item " + itemId, productTypeId));
+        Long orderId = orderCreationPipeline.create(new OrderDTO(null, "Customer", false, "", Map.of(itemId, 1), null)).getId();
+
+        update = new UpdateStepDTO();
+        update.setOrderDetailsId(orderProductTypeRepository.findByOrderId(orderId).get(0).getId());
+        update.setNewStepIndex(1);
+    }
+
+    @Test
+    void moveToSteps_ConcurrencyFailure_Retried() {
+        List<OrderDetails> lines = orderProductTypeRepository.findAllWithPlanByIdIn(List.of(update.getOrderDetailsId()));
+        clearInvocations(orderProductTypeRepository);
+        doThrow(new ConcurrencyFailureException("Lost race"))
+            .doReturn(lines)
+            .when(orderProductTypeRepository).findAllWithPlanByIdIn(anyCollection());
+
+        List<StepUpdateResultDTO> results = orderProgressService.moveToSteps(List.of(update));
+
+        assertTrue(results.get(0).success());
+        assertEquals(1, orderProductTypeRepository.findById(update.getOrderDetailsId()).orElseThrow().getCurrentStepIndex());
+        verify(orderProductTypeRepository, times(2)).findAllWithPlanByIdIn(anyCollection());
+    }
+
+    @Test
+    void moveToSteps_IntegrityViolation_NotRetried() {
+        // The batch stores no idempotency key, so a violated constraint is no lost race
+        doThrow(new DataIntegrityViolationException("Broken constraint"))
+            .when(orderProductTypeRepository).findAllWithPlanByIdIn(anyCollection());
+
+        assertThrows(DataIntegrityViolationException.class, () -> orderProgressService.moveToSteps(List.of(update)));
+
+        verify(orderProductTypeRepository, times(1)).findAllWithPlanByIdIn(anyCollection());
+    }
+}
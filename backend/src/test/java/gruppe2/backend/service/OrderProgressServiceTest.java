@@ -4,6 +4,7 @@ import gruppe2.backend.domain.OrderProgress;
 import gruppe2.backend.model.Item;
 import gruppe2.backend.model.Order;
 import gruppe2.backend.model.OrderDetails;
+import gruppe2.backend.model.StepPlan;
 import gruppe2.backend.repository.OrderRepository;
 import gruppe2.backend.repository.OrderProductTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -34,6 +35,12 @@ public class OrderProgressServiceTest {
     @Mock
     private OrderProductTypeRepository orderProductTypeRepository;
 
+    @Mock
+    private DashboardProjectionService dashboardProjectionService;
+
+    @Mock
+    private OrderEventPublisher orderEventPublisher;
+
     @InjectMocks
     private OrderProgressService orderProgressService;  // Update this to the correct service class if needed
 
@@ -47,7 +54,7 @@ public class OrderProgressServiceTest {
         orderDetails = new OrderDetails(); // Create order details
         orderDetails.setId(1L);
         orderDetails.setCurrentStepIndex(1);
-        orderDetails.setDifferentSteps(Arrays.asList(1L, 7L, 3L));
+        orderDetails.setStepPlan(StepPlan.of(Arrays.asList(1L, 7L, 3L)));
         updates = new HashMap<>();
         updates.put(1L, LocalDateTime.now());
         orderDetails.setUpdated(updates);
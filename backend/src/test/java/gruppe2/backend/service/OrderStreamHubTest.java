@@ -0,0 +1,61 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.OrderStreamEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OrderStreamHubTest {
+    // One dispatcher thread, so a blocked write would hold up every other subscriber
+    private final OrderStreamHub hub = new OrderStreamHub(
+        Duration.ofMinutes(30), 16, 1, Duration.ofMinutes(30), Duration.ofMillis(200));
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        unblock.countDown();
+        hub.shutdown();
+    }
+
+    @Test
+    void broadcast_SubscriberStopsReading_DisconnectedWithoutDelayingOthers() throws Exception {
+        CountDownLatch stalledWriteStarted = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(2);
+        hub.subscribe(new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> message) {
+                stalledWriteStarted.countDown();
+                try {
+                    unblock.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, 1L);
+        hub.subscribe(new SseEmitter() {
+            @Override
+            public synchronized void send(Set<DataWithMediaType> message) {
+                delivered.countDown();
+            }
+        }, null);
+
+        hub.broadcast(event(1L));
+        assertTrue(stalledWriteStarted.await(5, TimeUnit.SECONDS));
+        hub.broadcast(event(2L));
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS), "Events were held up by the blocked write");
+        assertEquals(1, hub.getSubscriberCount());
+    }
+
+    private static OrderStreamEventDTO event(Long orderId) {
+        return new OrderStreamEventDTO("ORDER_UPDATED", orderId, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,64 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.domain.OrderEstimation;
+import gruppe2.backend.domain.OrderStatus;
+import gruppe2.backend.domain.event.ItemStatusChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProcessingTimeEstimatorTest {
+    private static final Long PRODUCT_TYPE = 7L;
+    private static final List<Long> STEPS = List.of(1L, 2L, 3L);
+
+    private final ProcessingTimeEstimator estimator = new ProcessingTimeEstimator(null, 0.2, Duration.ofDays(30));
+
+    @Test
+    void minutesPerUnit_NothingLearned_TenMinutesPerStep() {
+        assertEquals(30, estimator.minutesPerUnit(PRODUCT_TYPE, STEPS));
+        assertEquals(OrderEstimation.DEFAULT_PRIORITY_MULTIPLIER, estimator.priorityMultiplier());
+    }
+
+    @Test
+    void minutesPerUnit_StepDurationsLearned_SumsStepsPerUnit() {
+        // Two units spending 8 and 4 minutes in the first two steps, so 4 and 2 per unit
+        for (int i = 0; i < ProcessingTimeEstimator.MIN_SAMPLES; i++) {
+            completeLine(2, false, 8, 4);
+        }
+        // Product type estimates take over from the steps once enough lines have finished
+        assertEquals(6, estimator.minutesPerUnit(PRODUCT_TYPE, STEPS));
+        assertEquals(4 + 2 + 10, estimator.minutesPerUnit(99L, STEPS));
+    }
+
+    @Test
+    void priorityMultiplier_PriorityLinesFinishFaster_Learned() {
+        for (int i = 0; i < ProcessingTimeEstimator.MIN_SAMPLES; i++) {
+            completeLine(1, false, 10, 10);
+        }
+        for (int i = 0; i < ProcessingTimeEstimator.MIN_SAMPLES; i++) {
+            completeLine(1, true, 5, 5);
+        }
+
+        assertEquals(0.5, estimator.priorityMultiplier(), 0.01);
+        // Priority lines do not count towards the regular estimate
+        assertEquals(20, estimator.minutesPerUnit(PRODUCT_TYPE, STEPS));
+    }
+
+    private void completeLine(int quantity, boolean priority, int... minutesPerStep) {
+        LocalDateTime entered = LocalDateTime.now().minusMinutes(100);
+        Map<Long, LocalDateTime> updates = new HashMap<>(Map.of(STEPS.get(0), entered));
+        for (int step = 0; step < minutesPerStep.length; step++) {
+            OrderStatus before = new OrderStatus(STEPS, step, updates);
+            entered = entered.plusMinutes(minutesPerStep[step]);
+            updates.put(STEPS.get(step + 1), entered);
+            OrderStatus after = new OrderStatus(STEPS, step + 1, updates);
+            estimator.onItemStatusChanged(new ItemStatusChangedEvent(1L, 1L, PRODUCT_TYPE, quantity, priority, before, after));
+        }
+    }
+}
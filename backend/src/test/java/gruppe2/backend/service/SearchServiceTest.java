@@ -0,0 +1,136 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.dto.ItemSearchHitDTO;
+import gruppe2.backend.dto.OrderSearchHitDTO;
+import gruppe2.backend.dto.SearchMatchesDTO;
+import gruppe2.backend.dto.SearchPageDTO;
+import gruppe2.backend.model.Item;
+import gruppe2.backend.model.Order;
+import gruppe2.backend.repository.ItemRepository;
+import gruppe2.backend.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SearchServiceTest {
+    private static final AtomicLong NEXT_ID = new AtomicLong(800_000);
+
+    @Autowired
+    private SearchService searchService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    // Unique per test, so orders saved by other tests never match
+    private String token;
+
+    @BeforeEach
+    void createToken() {
+        token = "qx" + NEXT_ID.incrementAndGet();
+    }
+
+    @Test
+    void searchOrders_MatchesAnywhereIgnoringCase_BestMatchFirst() {
+        Long inNotes = saveOrder("Jens Hansen", "Ring to " + token.toUpperCase());
+        Long inside = saveOrder("Firma" + token + " ApS", null);
+        Long wordStart = saveOrder("Hansen " + token.toUpperCase() + "sen", null);
+        Long nameStart = saveOrder(token + " Jensen", null);
+        Long exact = saveOrder(token, null);
+        saveOrder("Someone else", null);
+
+        List<Long> ids = searchService.searchOrders(token.toUpperCase(), 0, 10).results().stream()
+            .map(OrderSearchHitDTO::orderId)
+            .toList();
+
+        assertEquals(List.of(exact, nameStart, wordStart, inside, inNotes), ids);
+    }
+
+    @Test
+    void searchOrders_OrderId_MatchedExactlyAndFirst() {
+        Long orderId = saveOrder("Customer " + token, null);
+
+        List<OrderSearchHitDTO> results = searchService.searchOrders(orderId.toString(), 0, 10).results();
+
+        assertEquals(orderId, results.get(0).orderId());
+    }
+
+    @Test
+    void searchOrders_MoreMatchesThanPageSize_Paginated() {
+        for (int i = 0; i < 5; i++) {
+            saveOrder("Customer " + token, null);
+        }
+
+        SearchPageDTO<OrderSearchHitDTO> first = searchService.searchOrders(token, 0, 2);
+        SearchPageDTO<OrderSearchHitDTO> last = searchService.searchOrders(token, 2, 2);
+
+        assertEquals(2, first.results().size());
+        assertTrue(first.hasMore());
+        assertEquals(1, last.results().size());
+        assertFalse(last.hasMore());
+    }
+
+    @Test
+    void searchOrders_PageFarBeyondResults_Empty() {
+        saveOrder("Customer " + token, null);
+
+        SearchPageDTO<OrderSearchHitDTO> page = searchService.searchOrders(token, Integer.MAX_VALUE, SearchService.MAX_PAGE_SIZE);
+
+        assertTrue(page.results().isEmpty());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void findMatches_MoreMatchesThanPageSize_AllIds() {
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i <= SearchService.MAX_PAGE_SIZE; i++) {
+            orderIds.add(saveOrder("Customer " + token, null));
+        }
+        Item item = itemRepository.save(new Item(NEXT_ID.incrementAndGet(), "T-shirt " + token, null));
+
+        SearchMatchesDTO matches = searchService.findMatches(token);
+
+        assertEquals(orderIds, matches.orderIds().stream().sorted().toList());
+        assertEquals(List.of(item.getId()), matches.itemIds());
+        assertThrows(IllegalArgumentException.class, () -> searchService.findMatches("ab"));
+    }
+
+    @Test
+    void searchOrders_ShortTextOrBadPaging_Rejected() {
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchOrders("ab", 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchOrders(token, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> searchService.searchOrders(token, 0, SearchService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void searchItems_DeletedItemsLeftOut() {
+        Item item = itemRepository.save(new Item(NEXT_ID.incrementAndGet(), "T-shirt " + token, null));
+        Item deleted = new Item(NEXT_ID.incrementAndGet(), "Mug " + token, null);
+        deleted.setDeleted(true);
+        itemRepository.save(deleted);
+
+        List<Long> ids = searchService.searchItems(token, 0, 10).results().stream()
+            .map(ItemSearchHitDTO::id)
+            .toList();
+
+        assertEquals(List.of(item.getId()), ids);
+    }
+
+    private Long saveOrder(String customerName, String notes) {
+        Order order = new Order();
+        order.setId(NEXT_ID.incrementAndGet());
+        order.setCustomerName(customerName);
+        order.setNotes(notes);
+        order.setOrderCreated(LocalDateTime.now());
+        return orderRepository.save(order).getId();
+    }
+}
@@ -0,0 +1,88 @@
+package gruppe2.backend.service;
+
+import gruppe2.backend.model.WebhookInboxEntry;
+import gruppe2.backend.model.WebhookInboxStatus;
+import gruppe2.backend.repository.WebhookInboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Claims of inbox entries, with this instance running as node 0 and a five minute lease.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:webhookinbox",
+    "orders.id.node-id=0",
+    "webhook.inbox.poll-interval-ms=3600000",
+    "webhook.inbox.lease=PT5M",
+    "webhook.inbox.lease-check-interval-ms=3600000",
+    "webhook.inbox.done-retention=P7D"
+})
+public class WebhookInboxServiceTest {
+    @Autowired
+    private WebhookInboxService webhookInboxService;
+    @Autowired
+    private WebhookInboxRepository inboxRepository;
+
+    @BeforeEach
+    void clearInbox() {
+        inboxRepository.deleteAll();
+    }
+
+    @Test
+    void releaseInterruptedEntries_ClaimOfRunningInstance_KeepsClaim() {
+        LocalDateTime now = LocalDateTime.now();
+        Long otherNode = claimed(1, now.minusMinutes(4));
+        Long thisNode = claimed(0, now);
+
+        webhookInboxService.releaseInterruptedEntries();
+
+        assertEquals(WebhookInboxStatus.PROCESSING, inboxRepository.findById(otherNode).orElseThrow().getStatus());
+        assertEquals(WebhookInboxStatus.PROCESSING, inboxRepository.findById(thisNode).orElseThrow().getStatus());
+    }
+
+    @Test
+    void releaseInterruptedEntries_ExpiredLeaseOrOwnClaimFromBeforeRestart_Requeued() {
+        LocalDateTime now = LocalDateTime.now();
+        Long expired = claimed(1, now.minusMinutes(6));
+        // Claimed by this node before it was started, within the lease
+        Long previousRun = claimed(0, now.minusMinutes(4));
+
+        webhookInboxService.releaseInterruptedEntries();
+
+        for (Long id : new Long[] {expired, previousRun}) {
+            WebhookInboxEntry entry = inboxRepository.findById(id).orElseThrow();
+            assertEquals(WebhookInboxStatus.PENDING, entry.getStatus());
+            assertNull(entry.getClaimedBy());
+        }
+    }
+
+    @Test
+    void purgeProcessedEntries_DoneAfterRetention_Deleted() {
+        LocalDateTime now = LocalDateTime.now();
+        Long old = done(now.minusDays(8));
+        Long recent = done(now.minusDays(1));
+
+        webhookInboxService.purgeProcessedEntries();
+
+        assertFalse(inboxRepository.existsById(old));
+        assertTrue(inboxRepository.existsById(recent));
+    }
+
+    private Long claimed(int node, LocalDateTime claimedAt) {
+        WebhookInboxEntry entry = inboxRepository.save(new WebhookInboxEntry(1L, "{}", claimedAt));
+        assertEquals(1, inboxRepository.claim(entry.getId(), node, claimedAt));
+        return entry.getId();
+    }
+
+    private Long done(LocalDateTime processedAt) {
+        WebhookInboxEntry entry = new WebhookInboxEntry(1L, "{}", processedAt);
+        entry.markDone(processedAt);
+        return inboxRepository.save(entry).getId();
+    }
+}
@@ -1,4 +1,103 @@
 package gruppe2.backend.service;
 
+import gruppe2.backend.dto.StatusDefinitionDTO;
+import gruppe2.backend.model.ItemStatusEvent;
+import gruppe2.backend.repository.ItemStatusEventRepository;
+import gruppe2.backend.repository.OrderProductTypeRepository;
+import gruppe2.backend.repository.OrderRepository;
+import gruppe2.backend.service.webhook.BillingInfo;
+import gruppe2.backend.service.webhook.Img;
+import gruppe2.backend.service.webhook.LineItem;
+import gruppe2.backend.service.webhook.WebhookDelivery;
+import gruppe2.backend.service.webhook.WebhookPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:webhookservice")
 public class WebhookServiceTest {
+    private static final AtomicLong NEXT_ID = new AtomicLong(800_000);
+    private static final LocalDateTime MODIFIED = LocalDateTime.of(2024, 11, 5, 12, 0);
+
+    @Autowired
+    private WebhookService webhookService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OrderProductTypeRepository orderProductTypeRepository;
+    @Autowired
+    private ItemStatusEventRepository itemStatusEventRepository;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void createGenericProductType() {
+        // The generic product type items from webhooks start out with
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM product_types WHERE id = 0", Integer.class) == 0) {
+            Long step = orderService.createStatusDefinition(new StatusDefinitionDTO("Webhook step", "", null)).getId();
+            jdbcTemplate.update("INSERT INTO product_types (id, name) VALUES (0, 'Generic')");
+            jdbcTemplate.update("INSERT INTO product_type_steps (product_type_id, step_id, step_order, different_steps_order) VALUES (0, ?, 0, 0)", step);
+            referenceDataCache.evictProductTypes();
+        }
+    }
+
+    @Test
+    void processWebhook_ChangedPayload_LinesAddedAndRemovedWithEventsAndEstimateRecalculated() {
+        long orderId = NEXT_ID.incrementAndGet();
+        LineItem kept = lineItem(2);
+        LineItem removed = lineItem(1);
+        assertEquals(WebhookDelivery.NEW, webhookService.processWebhook(payload(orderId, MODIFIED, kept, removed)));
+        int estimate = orderRepository.findById(orderId).orElseThrow().getTotalEstimatedTime();
+
+        LineItem added = lineItem(3);
+        assertEquals(WebhookDelivery.CHANGED, webhookService.processWebhook(payload(orderId, MODIFIED.plusMinutes(1), kept, added)));
+
+        assertEquals(List.of(kept.getProduct_id(), added.getProduct_id()), orderProductTypeRepository.findByOrderId(orderId).stream()
+            .map(line -> line.getItem().getId()).sorted().toList());
+        assertEquals(List.of(kept.getProduct_id(), removed.getProduct_id(), added.getProduct_id()),
+            itemStatusEventRepository.findByOrderIdOrderByOccurredAtAscIdAsc(orderId).stream()
+                .map(ItemStatusEvent::getItemId).sorted().toList());
+        assertEquals(estimate / 3 * 5, orderRepository.findById(orderId).orElseThrow().getTotalEstimatedTime());
+    }
+
+    @Test
+    void processWebhook_OlderThanApplied_SkippedAsOutdated() {
+        long orderId = NEXT_ID.incrementAndGet();
+        LineItem line = lineItem(1);
+        webhookService.processWebhook(payload(orderId, MODIFIED, line));
+
+        assertEquals(WebhookDelivery.OUTDATED, webhookService.processWebhook(payload(orderId, MODIFIED.minusMinutes(1), line, lineItem(1))));
+
+        assertEquals(1, orderProductTypeRepository.findByOrderId(orderId).size());
+    }
+
+    private static WebhookPayload payload(long orderId, LocalDateTime dateModified, LineItem... lineItems) {
+        WebhookPayload payload = new WebhookPayload();
+        payload.setId(orderId);
+        BillingInfo billing = new BillingInfo();
+        billing.setFirstName("Webhook");
+        billing.setLastName("Customer");
+        billing.setCompany("");
+        payload.setBilling(billing);
+        payload.setItems(List.of(lineItems));
+        payload.setDateModified(dateModified);
+        return payload;
+    }
+
+    private static LineItem lineItem(int quantity) {
+        long productId = NEXT_ID.incrementAndGet();
+        return new LineItem("Webhook product " + productId, quantity, productId, new Img(1, "http://example.com/image.jpg"));
+    }
 }
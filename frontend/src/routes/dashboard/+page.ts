@@ -15,11 +15,17 @@ export const load = (async ({ fetch }) => {
         }));
 
         console.log('Fetched orders:', orders); // Debug log
-        return { orders };
+
+        // Statistics are aggregated on the server; the cards stay hidden if they are unavailable
+        const statisticsResponse = await fetch('/api/orders/statistics');
+        const statistics = statisticsResponse.ok ? await statisticsResponse.json() : null;
+
+        return { orders, statistics };
     } catch (e) {
         console.error('Error loading orders:', e);
         return {
             orders: [],
+            statistics: null,
             error: e instanceof Error ? e.message : 'An error occurred loading orders'
         };
     }